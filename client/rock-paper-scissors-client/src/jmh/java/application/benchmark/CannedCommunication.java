@@ -0,0 +1,57 @@
+package application.benchmark;
+
+import application.communication.Communication;
+import application.dto.GameFrameCodec;
+
+/**
+ * Communication stub that discards everything sent and answers every read with the same response frame.
+ * Isolates encoding and parsing in {@link application.controller.GameController} from any transport.
+ * The binary handshake is accepted.
+ */
+class CannedCommunication implements Communication {
+    private final byte[] response;
+    private boolean handshakePending;
+
+    CannedCommunication(byte[] response) {
+        this.response = response;
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        handshakePending = GameFrameCodec.HANDSHAKE_REQUEST.equals(message);
+    }
+
+    @Override
+    public void sendBytes(byte[] data, int offset, int length) {
+    }
+
+    @Override
+    public String receiveMessage() {
+        return new String(response);
+    }
+
+    @Override
+    public String receiveMessageUntil(String delimiter) {
+        if (handshakePending) {
+            handshakePending = false;
+            return GameFrameCodec.HANDSHAKE_ACCEPTED;
+        }
+        return new String(response);
+    }
+
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) {
+        if (handshakePending) {
+            handshakePending = false;
+            byte[] accepted = GameFrameCodec.HANDSHAKE_ACCEPTED.getBytes();
+            System.arraycopy(accepted, 0, destination, 0, accepted.length);
+            return accepted.length;
+        }
+        System.arraycopy(response, 0, destination, 0, response.length);
+        return response.length;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,61 @@
+package application.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import application.communication.ServerEmulator;
+import application.controller.GameController;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rounds per second of many threads sharing one {@link GameController} through
+ * {@link GameController#playRoundAsync(GameMode, Player.Move, Player.Move)}, serialized on a CSV link and
+ * multiplexed with correlation tags on a binary link. With a baud rate, the emulator paces the link like a serial
+ * line, which is where keeping several rounds in flight pays off.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcurrentRoundsBenchmark {
+    @Param({"CSV", "BINARY"})
+    private WireFormat wireFormat;
+
+    @Param({"0", "115200"})
+    private int baudRate;
+
+    private GameController gameController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameController = new GameController(new ServerEmulator(42, baudRate), wireFormat);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gameController.close();
+    }
+
+    @Benchmark
+    public GameResponseDto sharedController() {
+        return gameController.playRoundAsync(GameMode.MAN_VS_MAN, Player.Move.ROCK, Player.Move.SCISSORS).join();
+    }
+}
@@ -0,0 +1,70 @@
+package application.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fazecast.jSerialComm.SerialPort;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import application.communication.SerialCommunication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures frame extraction in {@link SerialCommunication} over an in-memory stream
+ * for several frame sizes and delimiters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FramingBenchmark {
+    @Param({"8", "24", "128"})
+    private int frameSize;
+
+    @Param({"|", "\r\n"})
+    private String delimiter;
+
+    private SerialCommunication serialCommunication;
+    private byte[] delimiterBytes;
+    private byte[] destination;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        delimiterBytes = delimiter.getBytes(StandardCharsets.US_ASCII);
+        byte[] content = new byte[frameSize + delimiterBytes.length];
+        Arrays.fill(content, 0, frameSize, (byte) 'x');
+        System.arraycopy(delimiterBytes, 0, content, frameSize, delimiterBytes.length);
+        destination = new byte[frameSize];
+
+        SerialPort serialPort = mock(SerialPort.class);
+        when(serialPort.getInputStream()).thenReturn(new RepeatingInputStream(content));
+        when(serialPort.getOutputStream()).thenReturn(OutputStream.nullOutputStream());
+        serialCommunication = new SerialCommunication(serialPort);
+    }
+
+    @Benchmark
+    public String receiveMessageUntil() throws IOException {
+        return serialCommunication.receiveMessageUntil(delimiter);
+    }
+
+    @Benchmark
+    public int receiveFrame() throws IOException {
+        return serialCommunication.receiveFrame(delimiterBytes, destination);
+    }
+}
@@ -0,0 +1,67 @@
+package application.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import application.controller.GameController;
+import application.dto.GameFrameCodec;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures response parsing and request encoding in {@link GameController} against a canned link.
+ * <p>
+ * {@code receiveResult} parses one response. {@code sendModeAndMovesAndReceiveResult} encodes one request and parses
+ * its response, since every sent request has to be consumed to keep the controller state bounded; the encoding cost
+ * is the difference between the two.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameControllerBenchmark {
+    @Param({"CSV", "BINARY"})
+    private WireFormat wireFormat;
+
+    private GameController gameController;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] response = wireFormat == WireFormat.BINARY
+                ? new byte[] {GameFrameCodec.encodeResponse(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS)}
+                : "Player 1,ROCK,SCISSORS".getBytes(StandardCharsets.US_ASCII);
+        gameController = new GameController(new CannedCommunication(response), wireFormat);
+        if (wireFormat == WireFormat.BINARY && gameController.negotiateWireFormat() != WireFormat.BINARY) {
+            throw new IllegalStateException("Wire format " + wireFormat + " was not negotiated");
+        }
+    }
+
+    @Benchmark
+    public GameResponseDto receiveResult() throws IOException {
+        return gameController.receiveResult();
+    }
+
+    @Benchmark
+    public GameResponseDto sendModeAndMovesAndReceiveResult() throws IOException {
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.SCISSORS);
+        return gameController.receiveResult();
+    }
+}
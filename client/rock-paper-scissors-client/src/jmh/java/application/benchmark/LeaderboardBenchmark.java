@@ -0,0 +1,75 @@
+package application.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import application.game.GameResult;
+import application.leaderboard.Leaderboard;
+import application.leaderboard.Standing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures feeding a round result to a leaderboard of many players and asking it for the top ten.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeaderboardBenchmark {
+    private static final GameResult[] RESULTS = GameResult.values();
+    private static final int ROUNDS = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    private int players;
+
+    private Leaderboard leaderboard;
+    private int[] player1s;
+    private int[] player2s;
+    private GameResult[] results;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        leaderboard = new Leaderboard();
+        for (int i = 0; i < players; i++) {
+            leaderboard.intern("player-" + i);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        player1s = new int[ROUNDS];
+        player2s = new int[ROUNDS];
+        results = new GameResult[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            player1s[i] = random.nextInt(players);
+            player2s[i] = random.nextInt(players);
+            results[i] = RESULTS[random.nextInt(RESULTS.length)];
+        }
+        for (int i = 0; i < ROUNDS; i++) {
+            leaderboard.record(player1s[i], player2s[i], results[i]);
+        }
+    }
+
+    @Benchmark
+    public void recordRound() {
+        int round = next;
+        next = next + 1 & ROUNDS - 1;
+        leaderboard.record(player1s[round], player2s[round], results[round]);
+    }
+
+    @Benchmark
+    public List<Standing> topTen() {
+        return leaderboard.top(10);
+    }
+}
@@ -0,0 +1,65 @@
+package application.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import application.ai.MarkovOpponentModel;
+import application.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one round of the adaptive AI, choosing a counter move and recording the move of the player, while
+ * thousands of players are tracked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpponentModelBenchmark {
+    private static final Player.Move[] MOVES = Player.Move.values();
+
+    @Param({"1", "3", "6"})
+    private int order;
+
+    @Param({"10000"})
+    private int players;
+
+    private MarkovOpponentModel model;
+    private String[] names;
+    private SplittableRandom random;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new MarkovOpponentModel(order, players);
+        names = new String[players];
+        random = new SplittableRandom(42);
+        for (int i = 0; i < players; i++) {
+            names[i] = "player-" + i;
+            for (int round = 0; round < 20; round++) {
+                model.record(names[i], MOVES[random.nextInt(MOVES.length)]);
+            }
+        }
+    }
+
+    @Benchmark
+    public Player.Move playRound() {
+        String name = names[next];
+        next = next + 1 == names.length ? 0 : next + 1;
+        Player.Move aiMove = model.counterMove(name, random);
+        model.record(name, MOVES[random.nextInt(MOVES.length)]);
+        return aiMove;
+    }
+}
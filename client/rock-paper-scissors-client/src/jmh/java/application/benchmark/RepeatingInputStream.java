@@ -0,0 +1,31 @@
+package application.benchmark;
+
+import java.io.InputStream;
+
+/**
+ * In-memory stream that returns the same content over and over, standing in for a serial port
+ * that receives an endless sequence of identical frames.
+ */
+class RepeatingInputStream extends InputStream {
+    private final byte[] content;
+    private int position;
+
+    RepeatingInputStream(byte[] content) {
+        this.content = content;
+    }
+
+    @Override
+    public int read() {
+        int value = content[position] & 0xFF;
+        position = (position + 1) % content.length;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        int count = Math.min(length, content.length - position);
+        System.arraycopy(content, position, buffer, offset, count);
+        position = (position + count) % content.length;
+        return count;
+    }
+}
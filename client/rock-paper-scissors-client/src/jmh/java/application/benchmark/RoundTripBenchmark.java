@@ -0,0 +1,79 @@
+package application.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import application.communication.ServerEmulator;
+import application.controller.GameController;
+import application.dto.GameRequestDto;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures end-to-end rounds per second of {@link GameController} against the in-process {@link ServerEmulator},
+ * both one round at a time and as pipelined batches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundTripBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"CSV", "BINARY"})
+    private WireFormat wireFormat;
+
+    @Param({"MAN_VS_MAN", "AI_VS_AI"})
+    private GameMode mode;
+
+    private GameController gameController;
+    private List<GameRequestDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        gameController = new GameController(new ServerEmulator(42, 0), wireFormat);
+        if (wireFormat == WireFormat.BINARY) {
+            gameController.negotiateWireFormat();
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new GameRequestDto(mode, Player.Move.values()[i % 3], Player.Move.values()[i / 3 % 3]));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gameController.close();
+    }
+
+    @Benchmark
+    public GameResponseDto singleRound() throws IOException {
+        gameController.sendModeAndMoves(mode.name(), Player.Move.ROCK, Player.Move.SCISSORS);
+        return gameController.receiveResult();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<GameResponseDto> pipelinedBatch() throws IOException {
+        return gameController.playRounds(batch);
+    }
+}
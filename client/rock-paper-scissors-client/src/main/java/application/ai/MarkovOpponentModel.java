@@ -0,0 +1,200 @@
+package application.ai;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import application.game.GameRules;
+import application.game.Player;
+import application.game.RulesEngine;
+
+/**
+ * Predicts the next move of human players from order-k Markov models over their move history, and picks the move
+ * that beats the prediction.
+ * <p>
+ * For every tracked player, the model counts which move followed each context of the last 0 to k moves. The
+ * counters of all orders live in one fixed-size row of a shared {@code short} array, {@code 3 * (3^(k+1) - 1) / 2}
+ * counters per player, and the current context is kept as a base-3 number whose last digit is the latest move.
+ * Recording a move therefore updates k + 1 counters, and a prediction reads k + 1 rows of three counters, without
+ * allocating. The prediction comes from the longest context that has been seen before.
+ * </p>
+ * <p>
+ * Counters are halved when one reaches {@link #MAX_COUNT}, so recent habits weigh more than old ones. At most
+ * {@code maxPlayers} players are tracked; when a new player arrives at a full model, the player that was least
+ * recently seen is forgotten and its row is reused. The model is thread-safe.
+ * </p>
+ */
+public class MarkovOpponentModel {
+    /**
+     * The longest context supported, which keeps the row of a player below 30,000 counters.
+     */
+    public static final int MAX_ORDER = 8;
+
+    /**
+     * The count at which all counters of a context are halved.
+     */
+    static final int MAX_COUNT = 255;
+
+    private static final Player.Move[] MOVES = Player.Move.values();
+    private static final int MOVE_COUNT = MOVES.length;
+    private static final Player.Move[] BEATEN_BY = new Player.Move[MOVE_COUNT];
+
+    static {
+        for (Player.Move move : MOVES) {
+            for (Player.Move counter : MOVES) {
+                if (RulesEngine.CLASSIC.outcome(counter, move) == GameRules.PLAYER_1_WINS) {
+                    BEATEN_BY[move.ordinal()] = counter;
+                }
+            }
+        }
+    }
+
+    private final int order;
+    private final int maxPlayers;
+    private final int contextCount;
+    private final int rowLength;
+    private final int[] orderOffsets;
+    private final short[] counts;
+    private final int[] contexts;
+    private final byte[] historyLengths;
+    private final LinkedHashMap<String, Integer> slots;
+    private int nextSlot;
+
+    /**
+     * Creates an empty model.
+     *
+     * @param order the number of previous moves a prediction is conditioned on
+     * @param maxPlayers the number of players tracked at the same time
+     * @throws IllegalArgumentException if the order is negative or above {@link #MAX_ORDER}, or no player can be tracked
+     */
+    public MarkovOpponentModel(int order, int maxPlayers) {
+        if (order < 0 || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Order must be between 0 and " + MAX_ORDER + ", got " + order);
+        }
+        if (maxPlayers <= 0) {
+            throw new IllegalArgumentException("At least one player must be tracked");
+        }
+        this.order = order;
+        this.maxPlayers = maxPlayers;
+
+        orderOffsets = new int[order + 1];
+        int contexts = 1;
+        int offset = 0;
+        for (int k = 0; k <= order; k++) {
+            orderOffsets[k] = offset;
+            offset += contexts * MOVE_COUNT;
+            contexts *= MOVE_COUNT;
+        }
+        contextCount = contexts / MOVE_COUNT;
+        rowLength = offset;
+        counts = new short[maxPlayers * rowLength];
+        this.contexts = new int[maxPlayers];
+        historyLengths = new byte[maxPlayers];
+        slots = new LinkedHashMap<>(Math.min(maxPlayers, 1 << 16) * 4 / 3 + 1, 0.75f, true);
+    }
+
+    /**
+     * Records a move a player made.
+     *
+     * @param player the name of the player
+     * @param move the move the player made
+     */
+    public synchronized void record(String player, Player.Move move) {
+        int slot = slotOf(player);
+        int row = slot * rowLength;
+        int context = contexts[slot];
+        int history = historyLengths[slot];
+        int contextsOfOrder = 1;
+        for (int k = 0; k <= Math.min(order, history); k++) {
+            int counter = row + orderOffsets[k] + context % contextsOfOrder * MOVE_COUNT;
+            if (++counts[counter + move.ordinal()] >= MAX_COUNT) {
+                for (int i = counter; i < counter + MOVE_COUNT; i++) {
+                    counts[i] >>= 1;
+                }
+            }
+            contextsOfOrder *= MOVE_COUNT;
+        }
+        if (order > 0) {
+            contexts[slot] = (context * MOVE_COUNT + move.ordinal()) % contextCount;
+        }
+        if (history < order) {
+            historyLengths[slot]++;
+        }
+    }
+
+    /**
+     * Predicts the next move of a player from the longest context of their history that was seen before.
+     *
+     * @param player the name of the player
+     * @return the most likely next move, or {@code null} if nothing is known about the player
+     */
+    public synchronized Player.Move predict(String player) {
+        Integer slot = slots.get(player);
+        if (slot == null) {
+            return null;
+        }
+        int row = slot * rowLength;
+        int context = contexts[slot];
+        int contextsOfOrder = contextCount;
+        for (int k = order; k >= 0; k--) {
+            if (k <= historyLengths[slot]) {
+                int counter = row + orderOffsets[k] + context % contextsOfOrder * MOVE_COUNT;
+                int best = 0;
+                for (int move = 1; move < MOVE_COUNT; move++) {
+                    if (counts[counter + move] > counts[counter + best]) {
+                        best = move;
+                    }
+                }
+                if (counts[counter + best] > 0) {
+                    return MOVES[best];
+                }
+            }
+            contextsOfOrder /= MOVE_COUNT;
+        }
+        return null;
+    }
+
+    /**
+     * Chooses the move against a player: the move that beats the predicted move, or a random move while nothing is
+     * known about the player.
+     *
+     * @param player the name of the player
+     * @param random the generator for moves against unknown players
+     * @return the move to play against the player
+     */
+    public Player.Move counterMove(String player, SplittableRandom random) {
+        Player.Move predicted = predict(player);
+        return predicted == null ? MOVES[random.nextInt(MOVE_COUNT)] : BEATEN_BY[predicted.ordinal()];
+    }
+
+    /**
+     * Returns the number of players currently tracked.
+     *
+     * @return the number of tracked players, at most {@code maxPlayers}
+     */
+    public synchronized int trackedPlayers() {
+        return slots.size();
+    }
+
+    private int slotOf(String player) {
+        Integer slot = slots.get(player);
+        if (slot != null) {
+            return slot;
+        }
+
+        int newSlot;
+        if (nextSlot < maxPlayers) {
+            newSlot = nextSlot++;
+        } else {
+            Iterator<Map.Entry<String, Integer>> eldest = slots.entrySet().iterator();
+            newSlot = eldest.next().getValue();
+            eldest.remove();
+            Arrays.fill(counts, newSlot * rowLength, (newSlot + 1) * rowLength, (short) 0);
+            contexts[newSlot] = 0;
+            historyLengths[newSlot] = 0;
+        }
+        slots.put(player, newSlot);
+        return newSlot;
+    }
+}
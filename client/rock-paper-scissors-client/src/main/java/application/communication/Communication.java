@@ -1,7 +1,7 @@
 package application.communication;
 
 import java.io.IOException;
-
+import java.time.Duration;
 
 /**
  * Interface for communication operations.
@@ -16,6 +16,16 @@ public interface Communication {
      */
     void sendMessage(String message) throws IOException;
 
+    /**
+     * Sends raw bytes without any character encoding.
+     *
+     * @param data the array holding the bytes to be sent
+     * @param offset the index of the first byte to send
+     * @param length the number of bytes to send
+     * @throws IOException if an I/O error occurs during message sending
+     */
+    void sendBytes(byte[] data, int offset, int length) throws IOException;
+
     /**
      * Receives a message.
      *
@@ -33,8 +43,93 @@ public interface Communication {
      */
     String receiveMessageUntil(String delimiter) throws IOException;
 
+    /**
+     * Receives a frame terminated by a delimiter into a caller-supplied buffer.
+     * <p>
+     * Unlike {@link #receiveMessageUntil(String)} the frame content is neither decoded nor trimmed,
+     * which allows a caller to reuse the same buffer for every frame.
+     * </p>
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws FrameTooLongException if the frame does not fit into {@code destination}
+     * @throws IOException if an I/O error occurs during message reception
+     */
+    int receiveFrame(byte[] delimiter, byte[] destination) throws IOException;
+
+    /**
+     * Receives a frame terminated by a delimiter, giving up if it is not complete within a timeout.
+     * <p>
+     * Bytes of an incomplete frame stay buffered after a timeout. Channels that cannot time out wait like
+     * {@link #receiveFrame(byte[], byte[])}.
+     * </p>
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @param timeout the time to wait for the frame to complete
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if the frame is not complete within the timeout
+     * @throws FrameTooLongException if the frame does not fit into {@code destination}
+     * @throws IOException if an I/O error occurs during message reception
+     */
+    default int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        return receiveFrame(delimiter, destination);
+    }
+
+    /**
+     * Cancels the receive call in progress, or the next one if none is in progress, which then throws an
+     * {@link java.io.InterruptedIOException}. May be called from any thread. Does nothing for channels that
+     * cannot be cancelled.
+     */
+    default void cancelReceive() {
+    }
+
+    /**
+     * Drops received bytes that have not been returned as part of a frame yet, such as the start of a frame
+     * whose end was lost.
+     */
+    default void discardInput() {
+    }
+
+    /**
+     * Returns the number of independent servers that answer requests sent through this channel.
+     * Callers that pipeline requests may keep proportionally more of them in flight.
+     *
+     * @return the number of servers behind this channel, 1 unless the channel spreads requests over several boards
+     */
+    default int parallelism() {
+        return 1;
+    }
+
+    /**
+     * Returns the baud rate the client side of the channel currently uses.
+     *
+     * @return the baud rate, or 0 if the channel is not a serial line whose rate can be changed
+     */
+    default int baudRate() {
+        return 0;
+    }
+
+    /**
+     * Switches the client side of the channel to another baud rate. Bytes received at the old rate should be
+     * discarded afterwards.
+     *
+     * @param baudRate the new baud rate
+     * @throws IOException if the rate cannot be set
+     * @throws UnsupportedOperationException if the channel has no baud rate
+     */
+    default void setBaudRate(int baudRate) throws IOException {
+        throw new UnsupportedOperationException("Channel has no baud rate");
+    }
+
     /**
      * Closes the communication channel.
+     * <p>
+     * A channel that cannot release the port or socket it talks through throws an unchecked exception. Resources
+     * that only serve the caller, such as a recording, are closed on a best-effort basis and a failure to close them
+     * is logged instead.
+     * </p>
      */
     void close();
 }
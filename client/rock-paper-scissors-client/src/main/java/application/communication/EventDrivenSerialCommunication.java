@@ -0,0 +1,304 @@
+package application.communication;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.fazecast.jSerialComm.SerialPortEvent;
+import com.fazecast.jSerialComm.SerialPortMessageListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import application.dto.GameFrameCodec;
+import application.metrics.ClientMetrics;
+
+/**
+ * Implements the Communication interface with a jSerialComm message listener instead of polling the port.
+ * <p>
+ * The event thread of jSerialComm assembles the incoming bytes into {@code '|'}-terminated frames and puts every
+ * complete frame into a bounded queue, from which receive calls take it with an optional timeout. Reading the
+ * port therefore overlaps with writing and with the processing of earlier frames. When the queue is full the
+ * event thread waits, the operating system buffer fills up and the board is slowed down, so a slow consumer
+ * cannot make the client buffer without limit.
+ * </p>
+ * <p>
+ * Frames can only be received with the delimiter given to the constructor. An incomplete frame is held by
+ * jSerialComm until its delimiter arrives; {@link #discardInput()} re-registers the listener so that such a partial
+ * frame is dropped as well instead of being prepended to the next frame. Traffic and timeouts are recorded in {@link ClientMetrics#global()}.
+ * </p>
+ */
+public class EventDrivenSerialCommunication implements Communication {
+    /**
+     * The number of complete frames buffered before the event thread waits for the consumer.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static final byte[] DEFAULT_DELIMITER = {'|'};
+    private static final long WAIT_SLICE_NANOS = SerialCommunication.READ_SLICE_MILLIS * 1_000_000L;
+
+    private final SerialPort serialPort;
+    private final byte[] delimiter;
+    private final BlockingQueue<byte[]> frames;
+    private final FrameListener listener = new FrameListener();
+    private final ClientMetrics metrics = ClientMetrics.global();
+    private volatile boolean cancelled;
+    private volatile boolean closed;
+
+    /**
+     * Opens the given serial port and starts listening for {@code '|'}-terminated frames.
+     *
+     * @param serialPort the serial port to use for communication
+     */
+    public EventDrivenSerialCommunication(SerialPort serialPort) {
+        this(serialPort, DEFAULT_DELIMITER, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Opens the given serial port and starts listening for frames.
+     *
+     * @param serialPort the serial port to use for communication
+     * @param delimiter the bytes that terminate a frame
+     * @param queueCapacity the number of complete frames buffered before the event thread waits
+     */
+    public EventDrivenSerialCommunication(SerialPort serialPort, byte[] delimiter, int queueCapacity) {
+        this.serialPort = serialPort;
+        this.delimiter = delimiter.clone();
+        this.frames = new ArrayBlockingQueue<>(queueCapacity);
+        this.serialPort.openPort();
+        this.serialPort.setComPortParameters(GameFrameCodec.DEFAULT_BAUD_RATE, 8, SerialPort.ONE_STOP_BIT, SerialPort.NO_PARITY);
+        this.serialPort.setComPortTimeouts(SerialPort.TIMEOUT_WRITE_BLOCKING, 0, 0);
+        this.serialPort.addDataListener(listener);
+    }
+
+    /**
+     * Sends a message over the serial connection.
+     *
+     * @param message the message to be sent
+     * @throws IOException if the port rejects the write
+     */
+    @Override
+    public void sendMessage(String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.US_ASCII);
+        sendBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Sends raw bytes over the serial connection.
+     *
+     * @param data the array holding the bytes to be sent
+     * @param offset the index of the first byte to send
+     * @param length the number of bytes to send
+     * @throws IOException if the port rejects the write
+     */
+    @Override
+    public void sendBytes(byte[] data, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Serial port is closed");
+        }
+        int written = serialPort.writeBytes(data, length, offset);
+        if (written != length) {
+            throw new IOException("Failed to write to serial port, " + written + " of " + length + " bytes written");
+        }
+        metrics.recordSent(data, offset, length);
+    }
+
+    /**
+     * Receives the next complete frame including its delimiter.
+     *
+     * @return the received frame as a string
+     * @throws IOException if the port was closed or the receive was cancelled
+     */
+    @Override
+    public String receiveMessage() throws IOException {
+        byte[] frame = takeFrame(-1);
+        return new String(frame, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives the next frame.
+     *
+     * @param delimiter the delimiter to stop receiving the message, must be the delimiter the listener uses
+     * @return the received message as a string, excluding the delimiter
+     * @throws IOException if the port was closed or the receive was cancelled
+     */
+    @Override
+    public String receiveMessageUntil(String delimiter) throws IOException {
+        byte[] bytes = delimiter.getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = new byte[FrameDecoder.DEFAULT_CAPACITY];
+        int frameLength = receiveFrame(bytes, frame);
+
+        return new String(frame, 0, frameLength, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives the next frame into the given buffer, waiting as long as it takes.
+     *
+     * @param delimiter the bytes that terminate the frame, must be the delimiter the listener uses
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if the port was closed, the receive was cancelled or the frame does not fit
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return receiveFrame(delimiter, destination, -1);
+    }
+
+    /**
+     * Receives the next frame into the given buffer, giving up if none is complete within a timeout.
+     *
+     * @param delimiter the bytes that terminate the frame, must be the delimiter the listener uses
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @param timeout the time to wait for a frame
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if no frame is complete within the timeout
+     * @throws IOException if the port was closed, the receive was cancelled or the frame does not fit
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        return receiveFrame(delimiter, destination, timeout.toNanos());
+    }
+
+    /**
+     * Cancels the receive call in progress within {@link SerialCommunication#READ_SLICE_MILLIS} milliseconds.
+     */
+    @Override
+    public void cancelReceive() {
+        cancelled = true;
+    }
+
+    /**
+     * Drops the complete frames that have not been received yet, the partial frame jSerialComm is assembling and the
+     * bytes still waiting in the operating system buffer.
+     * <p>
+     * jSerialComm keeps the partial frame in the event thread of the listener, so the listener is removed and added
+     * again, which starts a new event thread with an empty message buffer. The queue is cleared before the removal as
+     * well, so an event thread waiting for room in a full queue can finish its frame and stop.
+     * </p>
+     */
+    @Override
+    public void discardInput() {
+        if (closed) {
+            return;
+        }
+        frames.clear();
+        serialPort.removeDataListener();
+        serialPort.flushIOBuffers();
+        frames.clear();
+        serialPort.addDataListener(listener);
+    }
+
+    /**
+     * Returns the baud rate of the serial port.
+     *
+     * @return the current baud rate
+     */
+    @Override
+    public int baudRate() {
+        return serialPort.getBaudRate();
+    }
+
+    /**
+     * Switches the serial port to another baud rate.
+     *
+     * @param baudRate the new baud rate
+     * @throws IOException if the port does not accept the rate
+     */
+    @Override
+    public void setBaudRate(int baudRate) throws IOException {
+        if (!serialPort.setBaudRate(baudRate)) {
+            throw new IOException("Serial port does not accept " + baudRate + " baud");
+        }
+    }
+
+    /**
+     * Stops listening and closes the serial port. Blocked receive calls fail within
+     * {@link SerialCommunication#READ_SLICE_MILLIS} milliseconds.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        serialPort.removeDataListener();
+        serialPort.closePort();
+        frames.clear();
+    }
+
+    private int receiveFrame(byte[] delimiter, byte[] destination, long timeoutNanos) throws IOException {
+        if (!Arrays.equals(delimiter, this.delimiter)) {
+            throw new IllegalArgumentException("Frames are delimited by " + new String(this.delimiter, StandardCharsets.US_ASCII));
+        }
+
+        byte[] frame = takeFrame(timeoutNanos);
+        int frameLength = frame.length - delimiter.length;
+        if (frameLength > destination.length) {
+            throw new FrameTooLongException("Frame of " + frameLength + " bytes does not fit into the destination");
+        }
+        System.arraycopy(frame, 0, destination, 0, frameLength);
+        return frameLength;
+    }
+
+    private byte[] takeFrame(long timeoutNanos) throws IOException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            while (true) {
+                if (cancelled) {
+                    cancelled = false;
+                    throw new InterruptedIOException("Receive was cancelled");
+                }
+                byte[] frame = frames.poll(WAIT_SLICE_NANOS, TimeUnit.NANOSECONDS);
+                if (frame != null) {
+                    return frame;
+                }
+                if (closed) {
+                    throw new IOException("Serial port is closed");
+                }
+                if (timeoutNanos >= 0 && System.nanoTime() - deadline >= 0) {
+                    metrics.recordTimeout();
+                    throw new ReadTimeoutException("No complete frame received within the timeout");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a frame");
+        }
+    }
+
+    /**
+     * Receives complete frames on the event thread of jSerialComm.
+     */
+    private class FrameListener implements SerialPortMessageListener {
+        @Override
+        public int getListeningEvents() {
+            return SerialPort.LISTENING_EVENT_DATA_RECEIVED | SerialPort.LISTENING_EVENT_PORT_DISCONNECTED;
+        }
+
+        @Override
+        public byte[] getMessageDelimiter() {
+            return delimiter;
+        }
+
+        @Override
+        public boolean delimiterIndicatesEndOfMessage() {
+            return true;
+        }
+
+        @Override
+        public void serialEvent(SerialPortEvent event) {
+            if (event.getEventType() == SerialPort.LISTENING_EVENT_PORT_DISCONNECTED) {
+                closed = true;
+                return;
+            }
+
+            byte[] frame = event.getReceivedData();
+            metrics.recordFrameReceived(frame.length);
+            try {
+                while (!closed && !frames.offer(frame, WAIT_SLICE_NANOS, TimeUnit.NANOSECONDS)) {
+                    // The consumer is behind; waiting here stops jSerialComm from reading the port.
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package application.communication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Splits a byte stream into delimiter-terminated frames.
+ * <p>
+ * Bytes are read from the underlying stream in bulk into a reusable ring buffer and scanned for the
+ * delimiter incrementally, so every received byte is examined only once. Bytes that follow a complete
+ * frame stay in the buffer and are used for the next frame. The decoder does not allocate while decoding
+ * frames and is not thread-safe, except for {@link #cancel()}.
+ * </p>
+ * <p>
+ * Deadlines and cancellation rely on the stream giving up a blocking read after a short slice of time by throwing
+ * an {@link InterruptedIOException}, as a serial port with a read timeout or a socket with {@code SO_TIMEOUT} does.
+ * The decoder then checks the deadline and the cancellation flag and reads again. An {@link InterruptedIOException}
+ * thrown while the current thread is interrupted is passed on.
+ * </p>
+ */
+public class FrameDecoder {
+    /**
+     * The default capacity of the ring buffer in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The timeout value that makes a read wait until a frame is complete.
+     */
+    public static final long NO_TIMEOUT = -1;
+
+    private final InputStream inputStream;
+    private final byte[] ring;
+    private final int mask;
+    private int head;
+    private int size;
+    private int scanned;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a decoder with the default buffer capacity.
+     *
+     * @param inputStream the stream to read frames from
+     */
+    public FrameDecoder(InputStream inputStream) {
+        this(inputStream, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a decoder with the given buffer capacity.
+     *
+     * @param inputStream the stream to read frames from
+     * @param capacity the ring buffer capacity, rounded up to the next power of two
+     */
+    public FrameDecoder(InputStream inputStream, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.inputStream = inputStream;
+        this.ring = new byte[Integer.highestOneBit(Math.max(1, capacity - 1)) << 1];
+        this.mask = ring.length - 1;
+    }
+
+    /**
+     * Reads the next frame terminated by the given delimiter.
+     *
+     * @param delimiter the bytes that terminate a frame
+     * @param destination the array the frame content (without the delimiter) is copied to
+     * @return the length of the frame copied into {@code destination}
+     * @throws FrameTooLongException if the frame does not fit into the buffer or the destination
+     * @throws IOException if the stream ends
+     */
+    public int readFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return readFrame(delimiter, destination, NO_TIMEOUT);
+    }
+
+    /**
+     * Reads the next frame terminated by the given delimiter, giving up after a timeout.
+     *
+     * @param delimiter the bytes that terminate a frame
+     * @param destination the array the frame content (without the delimiter) is copied to
+     * @param timeoutNanos the time to wait for the frame to complete, or {@link #NO_TIMEOUT}
+     * @return the length of the frame copied into {@code destination}
+     * @throws ReadTimeoutException if the frame is not complete within the timeout
+     * @throws InterruptedIOException if the read was cancelled or the thread interrupted
+     * @throws FrameTooLongException if the frame does not fit into the buffer or the destination; the buffered bytes
+     *         of the frame are dropped, so the decoder does not fail on the same bytes again
+     * @throws IOException if the stream ends
+     */
+    public int readFrame(byte[] delimiter, byte[] destination, long timeoutNanos) throws IOException {
+        if (delimiter.length == 0) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        int frameEnd;
+        while ((frameEnd = scan(delimiter)) < 0) {
+            if (size == ring.length) {
+                clear();
+                throw new FrameTooLongException("Frame exceeds buffer capacity of " + ring.length + " bytes");
+            }
+            fill(timeoutNanos >= 0, deadline);
+        }
+
+        int frameLength = frameEnd - delimiter.length;
+        if (frameLength > destination.length) {
+            discard(frameEnd);
+            throw new FrameTooLongException("Frame of " + frameLength + " bytes does not fit into the destination");
+        }
+
+        copyOut(destination, frameLength);
+        discard(frameEnd);
+        return frameLength;
+    }
+
+    /**
+     * Reads whatever bytes are buffered, or waits for at least one byte when the buffer is empty.
+     *
+     * @param destination the array the bytes are copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if the stream ends
+     */
+    public int readAvailable(byte[] destination) throws IOException {
+        if (size == 0) {
+            fill(false, 0);
+        }
+
+        int length = Math.min(size, destination.length);
+        copyOut(destination, length);
+        discard(length);
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes buffered but not yet returned as part of a frame.
+     *
+     * @return the number of buffered bytes
+     */
+    public int buffered() {
+        return size;
+    }
+
+    /**
+     * Makes the read in progress, or the next read if none is in progress, throw an {@link InterruptedIOException}
+     * once the stream returns from its current slice. May be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Drops all buffered bytes.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        scanned = 0;
+    }
+
+    private int scan(byte[] delimiter) {
+        byte last = delimiter[delimiter.length - 1];
+
+        while (scanned < size) {
+            int position = scanned++;
+            if (ring[(head + position) & mask] == last && endsWith(delimiter, position + 1)) {
+                return position + 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean endsWith(byte[] delimiter, int end) {
+        if (end < delimiter.length) {
+            return false;
+        }
+        int start = end - delimiter.length;
+        for (int i = 0; i < delimiter.length - 1; i++) {
+            if (ring[(head + start + i) & mask] != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void fill(boolean timed, long deadline) throws IOException {
+        int tail = (head + size) & mask;
+        int contiguous = tail >= head ? ring.length - tail : head - tail;
+
+        while (true) {
+            if (cancelled) {
+                cancelled = false;
+                throw new InterruptedIOException("Receive was cancelled");
+            }
+            if (timed && System.nanoTime() - deadline >= 0) {
+                throw new ReadTimeoutException("No complete frame received within the timeout");
+            }
+
+            int bytesRead;
+            try {
+                bytesRead = inputStream.read(ring, tail, contiguous);
+            } catch (InterruptedIOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                continue;
+            }
+
+            if (bytesRead < 0) {
+                throw new IOException("No data received from server");
+            }
+            if (bytesRead > 0) {
+                size += bytesRead;
+                return;
+            }
+        }
+    }
+
+    private void copyOut(byte[] destination, int length) {
+        int firstPart = Math.min(length, ring.length - head);
+        System.arraycopy(ring, head, destination, 0, firstPart);
+        System.arraycopy(ring, 0, destination, firstPart, length - firstPart);
+    }
+
+    private void discard(int length) {
+        head = (head + length) & mask;
+        size -= length;
+        scanned = 0;
+    }
+}
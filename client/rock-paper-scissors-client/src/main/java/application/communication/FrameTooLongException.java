@@ -0,0 +1,19 @@
+package application.communication;
+
+import java.io.IOException;
+
+/**
+ * Signals that a frame was longer than the buffer or destination it had to fit into.
+ * The bytes of the frame have been dropped, so the next receive starts after it, or with the rest of it if its
+ * delimiter had not arrived yet.
+ */
+public class FrameTooLongException extends IOException {
+    /**
+     * Creates an exception with a detail message.
+     *
+     * @param message the detail message
+     */
+    public FrameTooLongException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,537 @@
+package application.communication;
+
+import com.fazecast.jSerialComm.SerialPort;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import application.dto.GameFrameCodec;
+
+/**
+ * Implements the Communication interface on top of several boards, each behind its own Communication.
+ * <p>
+ * Every request line is given to the healthy board with the fewest outstanding requests, so idle boards are
+ * preferred and pipelined batches are spread evenly. Responses are read back in the order the requests were sent,
+ * each from the board that received the request. A board whose channel fails is taken out of rotation; requests it
+ * still owed an answer for fail with an {@link IOException}. A board that does not answer within the timeout of a
+ * receive call stays in rotation and is still owed its answer, so the next receive reads the late answer from the
+ * same board. An answer that is more than {@link #LATE_ANSWER_LIMIT} late is given up, and {@link #discardInput()}
+ * gives up on every answer still owed, as a caller does before it sends a request again. The handshakes are sent
+ * to every healthy board and only count as accepted if all of them give the same reply.
+ * </p>
+ * <p>
+ * A board whose channel is open but that has stopped answering would otherwise attract the next request as soon
+ * as its answers are given up, since it then looks idle. After {@link #MAX_GIVEN_UP_ANSWERS} answers in a row are
+ * given up, the board is taken out of rotation and probed with a heartbeat every {@link #PROBE_INTERVAL} on a
+ * background thread; it is put back into rotation once it answers one.
+ * </p>
+ * <p>
+ * One thread may send while another thread receives.
+ * </p>
+ */
+public class PooledCommunication implements Communication {
+    /**
+     * How long receives keep waiting for an answer that has missed the timeout of a receive call.
+     */
+    public static final Duration LATE_ANSWER_LIMIT = Duration.ofSeconds(5);
+
+    /**
+     * The number of answers in a row a board may owe without ever giving them before it is taken out of rotation.
+     */
+    public static final int MAX_GIVEN_UP_ANSWERS = 3;
+
+    /**
+     * How often a board that was taken out of rotation for not answering is probed with a heartbeat.
+     */
+    public static final Duration PROBE_INTERVAL = Duration.ofSeconds(5);
+
+    private static final int LINE_CAPACITY = 32;
+    private static final long WAIT_SLICE_NANOS = SerialCommunication.READ_SLICE_MILLIS * 1_000_000L;
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(1);
+    private static final byte[] RESPONSE_DELIMITER = {'|'};
+    private static final byte[][] HANDSHAKE_LINES = {
+            GameFrameCodec.HANDSHAKE_REQUEST.trim().getBytes(StandardCharsets.US_ASCII),
+            GameFrameCodec.TAG_HANDSHAKE_REQUEST.trim().getBytes(StandardCharsets.US_ASCII)
+    };
+
+    private final Member[] members;
+    private final BlockingDeque<Member[]> awaitingResponse = new LinkedBlockingDeque<>();
+    private final byte[] line = new byte[LINE_CAPACITY + 1];
+    private final byte[] frameBuffer = new byte[FrameDecoder.DEFAULT_CAPACITY];
+    private final byte[] broadcastBuffer = new byte[FrameDecoder.DEFAULT_CAPACITY];
+    private final Duration probeInterval;
+    private int lineLength;
+    private boolean lineOverflow;
+    private int nextMember;
+    private volatile boolean cancelled;
+    private volatile Member receiving;
+    private volatile long lateSince;
+    private ScheduledExecutorService prober;
+    private int probeSequence;
+
+    /**
+     * Creates a pool over the given channels.
+     *
+     * @param communications the channels to the boards, one per board
+     */
+    public PooledCommunication(List<? extends Communication> communications) {
+        this(communications, PROBE_INTERVAL);
+    }
+
+    /**
+     * Creates a pool over the given channels that probes unresponsive boards at a custom interval.
+     *
+     * @param communications the channels to the boards, one per board
+     * @param probeInterval how often a board taken out of rotation for not answering is probed
+     */
+    public PooledCommunication(List<? extends Communication> communications, Duration probeInterval) {
+        this.probeInterval = probeInterval;
+        if (communications.isEmpty()) {
+            throw new IllegalArgumentException("Pool needs at least one channel");
+        }
+        members = new Member[communications.size()];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new Member(communications.get(i));
+        }
+    }
+
+    /**
+     * Opens every serial port returned by {@link SerialPort#getCommPorts()}.
+     *
+     * @return a pool over all attached boards
+     */
+    public static PooledCommunication openAll() {
+        return new PooledCommunication(Arrays.stream(SerialPort.getCommPorts())
+                .map(SerialCommunication::new)
+                .toList());
+    }
+
+    /**
+     * Opens the serial ports with the given indexes in {@link SerialPort#getCommPorts()}.
+     *
+     * @param portNumbers the indexes of the serial ports to pool
+     * @return a pool over the selected boards
+     */
+    public static PooledCommunication open(int... portNumbers) {
+        SerialPort[] ports = SerialPort.getCommPorts();
+        return new PooledCommunication(Arrays.stream(portNumbers)
+                .mapToObj(portNumber -> new SerialCommunication(ports[portNumber]))
+                .toList());
+    }
+
+    /**
+     * Sends a message, dispatching each complete request line to a board.
+     *
+     * @param message the message to be sent
+     * @throws IOException if no healthy board is left or the selected board fails
+     */
+    @Override
+    public void sendMessage(String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.US_ASCII);
+        sendBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Sends raw bytes, dispatching each complete request line to a board.
+     *
+     * @param data the array holding the bytes to be sent
+     * @param offset the index of the first byte to send
+     * @param length the number of bytes to send
+     * @throws IOException if no healthy board is left or the selected board fails
+     */
+    @Override
+    public synchronized void sendBytes(byte[] data, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            byte value = data[i];
+            if (value == '\n') {
+                boolean complete = !lineOverflow;
+                int completeLength = lineLength;
+                lineLength = 0;
+                lineOverflow = false;
+                if (complete) {
+                    line[completeLength] = '\n';
+                    dispatch(completeLength + 1);
+                }
+            } else if (lineLength < LINE_CAPACITY) {
+                line[lineLength++] = value;
+            } else {
+                lineOverflow = true;
+            }
+        }
+    }
+
+    /**
+     * Receives whatever the board that owes the next response has available.
+     *
+     * @return the received message as a string
+     * @throws IOException if the board fails or has been taken out of rotation
+     */
+    @Override
+    public String receiveMessage() throws IOException {
+        Member[] owners = awaitingResponse.peek();
+        Member member = owners == null ? firstHealthy() : owners[0];
+        try {
+            return member.communication.receiveMessage();
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
+            member.healthy = false;
+            throw e;
+        }
+    }
+
+    /**
+     * Receives the next response until a specified delimiter is encountered.
+     *
+     * @param delimiter the delimiter to stop receiving the message
+     * @return the received message as a string, excluding the delimiter
+     * @throws IOException if the board fails or has been taken out of rotation
+     */
+    @Override
+    public String receiveMessageUntil(String delimiter) throws IOException {
+        int frameLength = receiveFrame(delimiter.getBytes(StandardCharsets.US_ASCII), frameBuffer);
+
+        return new String(frameBuffer, 0, frameLength, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives the next response frame from the board that received the matching request.
+     * Blocks until a request is outstanding.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if the board fails or has been taken out of rotation
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return receiveFrame(delimiter, destination, (Duration) null);
+    }
+
+    /**
+     * Receives the next response frame, giving up if it is not complete within a timeout.
+     * The board that missed the timeout stays in rotation, and the next receive waits for its answer again.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @param timeout the time to wait for a request to be outstanding and for its response to complete,
+     *                or {@code null} to wait indefinitely
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if no response is complete within the timeout
+     * @throws IOException if the board fails, has been taken out of rotation or the receive was cancelled
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        Member[] owners = takeOwners(timeout);
+
+        int received = 0;
+        try {
+            int frameLength = receiveFrom(owners[0], delimiter, destination, timeout);
+            boolean unanimous = true;
+            for (received = 1; received < owners.length; received++) {
+                int length = receiveFrom(owners[received], delimiter, broadcastBuffer, timeout);
+                unanimous &= Arrays.equals(broadcastBuffer, 0, length, destination, 0, frameLength);
+            }
+            lateSince = 0;
+            return unanimous ? frameLength : 0;
+        } catch (InterruptedIOException e) {
+            // the boards that have not answered yet still owe their answers to the next receive, unless too late
+            long now = System.nanoTime();
+            if (lateSince == 0) {
+                lateSince = now;
+            }
+            if (now - lateSince < LATE_ANSWER_LIMIT.toNanos()) {
+                awaitingResponse.offerFirst(
+                        received == 0 ? owners : Arrays.copyOfRange(owners, received, owners.length));
+            } else {
+                lateSince = 0;
+                for (int i = received; i < owners.length; i++) {
+                    giveUp(owners[i]);
+                }
+            }
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            lateSince = 0;
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels the receive call in progress, whether it waits for a request or for a board.
+     */
+    @Override
+    public void cancelReceive() {
+        cancelled = true;
+        Member member = receiving;
+        if (member != null) {
+            member.communication.cancelReceive();
+        }
+    }
+
+    /**
+     * Drops the buffered bytes of incomplete frames on every board and forgets the answers still owed, so the next
+     * receive waits for the answer to the next request.
+     */
+    @Override
+    public void discardInput() {
+        lateSince = 0;
+        for (Member[] owners = awaitingResponse.poll(); owners != null; owners = awaitingResponse.poll()) {
+            for (Member member : owners) {
+                giveUp(member);
+            }
+        }
+        for (Member member : members) {
+            member.communication.discardInput();
+        }
+    }
+
+    /**
+     * Returns the number of boards still in rotation.
+     *
+     * @return the number of healthy boards
+     */
+    @Override
+    public int parallelism() {
+        return healthyCount();
+    }
+
+    /**
+     * Returns the number of boards still in rotation.
+     *
+     * @return the number of healthy boards
+     */
+    public int healthyCount() {
+        int count = 0;
+        for (Member member : members) {
+            if (member.healthy) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns how many rounds each board has answered, in the order the channels were given.
+     *
+     * @return the number of responses received per board
+     */
+    public long[] completedCounts() {
+        long[] counts = new long[members.length];
+        for (int i = 0; i < members.length; i++) {
+            counts[i] = members[i].completed;
+        }
+        return counts;
+    }
+
+    /**
+     * Stops probing and closes every channel of the pool.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (prober != null) {
+                prober.shutdownNow();
+            }
+        }
+        for (Member member : members) {
+            member.communication.close();
+        }
+    }
+
+    private void dispatch(int length) throws IOException {
+        if (isHandshake(length - 1)) {
+            Member[] healthy = Arrays.stream(members).filter(member -> member.healthy).toArray(Member[]::new);
+            if (healthy.length == 0) {
+                throw new IOException("No healthy serial port available");
+            }
+            awaitingResponse.add(healthy);
+            for (Member member : healthy) {
+                sendTo(member, length);
+            }
+            return;
+        }
+
+        Member member = leastLoaded();
+        awaitingResponse.add(member.asOwner);
+        sendTo(member, length);
+    }
+
+    private boolean isHandshake(int lineLength) {
+        for (byte[] handshakeLine : HANDSHAKE_LINES) {
+            if (Arrays.equals(line, 0, lineLength, handshakeLine, 0, handshakeLine.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Member leastLoaded() throws IOException {
+        Member best = null;
+        for (int i = 0; i < members.length; i++) {
+            Member candidate = members[(nextMember + i) % members.length];
+            if (candidate.healthy && (best == null || candidate.outstanding.get() < best.outstanding.get())) {
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            throw new IOException("No healthy serial port available");
+        }
+        nextMember = (nextMember + 1) % members.length;
+        return best;
+    }
+
+    private Member firstHealthy() throws IOException {
+        for (Member member : members) {
+            if (member.healthy) {
+                return member;
+            }
+        }
+        throw new IOException("No healthy serial port available");
+    }
+
+    private void sendTo(Member member, int length) throws IOException {
+        member.outstanding.incrementAndGet();
+        try {
+            member.communication.sendBytes(line, 0, length);
+        } catch (IOException | RuntimeException e) {
+            member.healthy = false;
+            throw e instanceof IOException ioException ? ioException : new IOException(e);
+        }
+    }
+
+    private Member[] takeOwners(Duration timeout) throws IOException {
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        try {
+            while (true) {
+                if (cancelled) {
+                    cancelled = false;
+                    throw new InterruptedIOException("Receive was cancelled");
+                }
+                Member[] owners = awaitingResponse.poll(WAIT_SLICE_NANOS, TimeUnit.NANOSECONDS);
+                if (owners != null) {
+                    cancelled = false;
+                    return owners;
+                }
+                if (timeout != null && System.nanoTime() - deadline >= 0) {
+                    throw new ReadTimeoutException("No request outstanding within the timeout");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response");
+        }
+    }
+
+    private int receiveFrom(Member member, byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        member.outstanding.decrementAndGet();
+        if (!member.healthy) {
+            throw new IOException("Serial port was taken out of rotation");
+        }
+        receiving = member;
+        try {
+            int frameLength = timeout == null
+                    ? member.communication.receiveFrame(delimiter, destination)
+                    : member.communication.receiveFrame(delimiter, destination, timeout);
+            member.completed++;
+            member.givenUp = 0;
+            return frameLength;
+        } catch (InterruptedIOException e) {
+            // a timeout or cancelled receive is no fault of the board, and its answer may still arrive
+            member.outstanding.incrementAndGet();
+            throw e;
+        } catch (FrameTooLongException e) {
+            // line noise in place of the answer, which the board's channel has already dropped
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            member.healthy = false;
+            throw e instanceof IOException ioException ? ioException : new IOException(e);
+        } finally {
+            receiving = null;
+        }
+    }
+
+    /**
+     * Forgets an answer a board still owed, and takes the board out of rotation once it has owed too many in a row.
+     */
+    private void giveUp(Member member) {
+        member.outstanding.decrementAndGet();
+        if (++member.givenUp >= MAX_GIVEN_UP_ANSWERS && member.healthy) {
+            member.suspended = true;
+            member.healthy = false;
+            startProbing();
+        }
+    }
+
+    private synchronized void startProbing() {
+        if (prober != null) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, probeInterval.toMillis());
+        prober.scheduleWithFixedDelay(this::probeSuspended, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends a heartbeat to every board taken out of rotation for not answering, and puts those that answer back.
+     * A board whose channel fails while it is probed stays out of rotation for good.
+     */
+    private void probeSuspended() {
+        byte[] ping = new byte[GameFrameCodec.MAX_PING_LENGTH];
+        byte[] frame = new byte[FrameDecoder.DEFAULT_CAPACITY];
+        for (Member member : members) {
+            if (!member.suspended) {
+                continue;
+            }
+            int sequence = probeSequence++ & (GameFrameCodec.PING_SEQUENCE_COUNT - 1);
+            try {
+                member.communication.discardInput();
+                member.communication.sendBytes(ping, 0, GameFrameCodec.encodePing(sequence, ping, 0));
+                long deadline = System.nanoTime() + PROBE_TIMEOUT.toNanos();
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    int frameLength = member.communication.receiveFrame(
+                            RESPONSE_DELIMITER, frame, Duration.ofNanos(remaining));
+                    if (GameFrameCodec.decodePong(frame, frameLength) == sequence) {
+                        member.givenUp = 0;
+                        member.suspended = false;
+                        member.healthy = true;
+                        break;
+                    }
+                }
+            } catch (InterruptedIOException e) {
+                // still not answering, or the pool is closing
+            } catch (IOException | RuntimeException e) {
+                member.suspended = false;
+            }
+        }
+    }
+
+    /**
+     * One board of the pool together with its load and health.
+     */
+    private static class Member {
+        private final Communication communication;
+        private final Member[] asOwner = {this};
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+        private volatile boolean suspended;
+        private volatile int givenUp;
+        private volatile long completed;
+
+        Member(Communication communication) {
+            this.communication = communication;
+        }
+    }
+}
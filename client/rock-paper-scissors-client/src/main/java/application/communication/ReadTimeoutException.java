@@ -0,0 +1,18 @@
+package application.communication;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Signals that no complete frame arrived before the deadline of a receive call.
+ * The bytes received so far stay buffered, so a caller may retry or discard them.
+ */
+public class ReadTimeoutException extends InterruptedIOException {
+    /**
+     * Creates an exception with a detail message.
+     *
+     * @param message the detail message
+     */
+    public ReadTimeoutException(String message) {
+        super(message);
+    }
+}
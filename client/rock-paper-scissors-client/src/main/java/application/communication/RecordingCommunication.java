@@ -0,0 +1,200 @@
+package application.communication;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Decorates a Communication and records the traffic that passes through it into a binary log, which
+ * {@link ReplayCommunication} can play back without a board.
+ * <p>
+ * The log starts with a header of the magic number {@code RPSR}, a version byte and the wall-clock start of the
+ * recording in epoch milliseconds. Every sent request, every received frame and every receive that timed out
+ * follows as one event:
+ * </p>
+ * <pre>
+ * byte   type: {@value #SEND}, {@value #FRAME} or {@value #TIMEOUT}
+ * varint nanoseconds since the previous event
+ * varint payload length, sent or received bytes (sends and frames only)
+ * </pre>
+ * <p>
+ * Variable-length integers use seven bits per byte, least significant group first, so an event of a short frame
+ * usually takes fewer than ten bytes. Timestamps come from {@link System#nanoTime()} and are taken when a send
+ * returns or a frame has been received. Events are buffered and written when the buffer is full, on
+ * {@link #flush()} and on {@link #close()}. One thread may send while another thread receives.
+ * </p>
+ */
+public class RecordingCommunication implements Communication {
+    static final int MAGIC = 0x52505352;
+    static final int VERSION = 1;
+    static final int SEND = 1;
+    static final int FRAME = 2;
+    static final int TIMEOUT = 3;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Communication delegate;
+    private final DataOutputStream log;
+    private long lastEventNanos = System.nanoTime();
+    private long events;
+
+    /**
+     * Starts recording the traffic of a channel into a new log file, replacing an existing file.
+     *
+     * @param delegate the channel whose traffic is recorded
+     * @param logFile the file the log is written to
+     * @throws IOException if the log file cannot be created
+     */
+    public RecordingCommunication(Communication delegate, Path logFile) throws IOException {
+        this.delegate = delegate;
+        log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile), BUFFER_SIZE));
+        log.writeInt(MAGIC);
+        log.writeByte(VERSION);
+        log.writeLong(System.currentTimeMillis());
+    }
+
+    @Override
+    public void sendMessage(String message) throws IOException {
+        delegate.sendMessage(message);
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        record(SEND, bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void sendBytes(byte[] data, int offset, int length) throws IOException {
+        delegate.sendBytes(data, offset, length);
+        record(SEND, data, offset, length);
+    }
+
+    @Override
+    public String receiveMessage() throws IOException {
+        try {
+            return recordMessage(delegate.receiveMessage());
+        } catch (ReadTimeoutException e) {
+            record(TIMEOUT, null, 0, 0);
+            throw e;
+        }
+    }
+
+    @Override
+    public String receiveMessageUntil(String delimiter) throws IOException {
+        try {
+            return recordMessage(delegate.receiveMessageUntil(delimiter));
+        } catch (ReadTimeoutException e) {
+            record(TIMEOUT, null, 0, 0);
+            throw e;
+        }
+    }
+
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        int length = delegate.receiveFrame(delimiter, destination);
+        record(FRAME, destination, 0, length);
+        return length;
+    }
+
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        int length;
+        try {
+            length = delegate.receiveFrame(delimiter, destination, timeout);
+        } catch (ReadTimeoutException e) {
+            record(TIMEOUT, null, 0, 0);
+            throw e;
+        }
+        record(FRAME, destination, 0, length);
+        return length;
+    }
+
+    @Override
+    public void cancelReceive() {
+        delegate.cancelReceive();
+    }
+
+    @Override
+    public void discardInput() {
+        delegate.discardInput();
+    }
+
+    @Override
+    public int parallelism() {
+        return delegate.parallelism();
+    }
+
+    @Override
+    public int baudRate() {
+        return delegate.baudRate();
+    }
+
+    @Override
+    public void setBaudRate(int baudRate) throws IOException {
+        delegate.setBaudRate(baudRate);
+    }
+
+    /**
+     * Returns the number of events recorded so far.
+     *
+     * @return the number of sends, frames and timeouts in the log
+     */
+    public synchronized long events() {
+        return events;
+    }
+
+    /**
+     * Writes the buffered events to the log file.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        log.flush();
+    }
+
+    /**
+     * Closes the recorded channel and the log. A log that cannot be written is reported and the events still
+     * buffered are lost.
+     */
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            synchronized (this) {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close the recording: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private String recordMessage(String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        record(FRAME, bytes, 0, bytes.length);
+        return message;
+    }
+
+    private synchronized void record(int type, byte[] payload, int offset, int length) throws IOException {
+        long now = System.nanoTime();
+        log.writeByte(type);
+        writeVarLong(now - lastEventNanos);
+        lastEventNanos = now;
+        if (payload != null) {
+            writeVarLong(length);
+            log.write(payload, offset, length);
+        }
+        events++;
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            log.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        log.writeByte((int) value);
+    }
+}
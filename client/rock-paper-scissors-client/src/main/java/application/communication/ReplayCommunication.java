@@ -0,0 +1,352 @@
+package application.communication;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements the Communication interface by playing back a log written by {@link RecordingCommunication}, standing
+ * in for the board that was recorded.
+ * <p>
+ * Received frames are returned in the recorded order, and a receive that timed out during the recording times out
+ * again. Each frame is delivered as long after the request that preceded it as it was during the recording, divided
+ * by the speed factor: {@link #REAL_SPEED} reproduces the recorded latencies, a factor of N plays the log N times as
+ * fast, and {@link #MAX_SPEED} delivers every frame at once. Frames are timed from the requests of the replay rather
+ * than from its start, so a slower client does not pile up frames that are already due.
+ * </p>
+ * <p>
+ * Sent bytes are not interpreted. They are compared with the recorded requests, and every difference is counted in
+ * {@link #mismatchedSends()}, so a replay can check that the client still sends what it used to. The whole log is
+ * read into memory when the replay is created. One thread may send while another thread receives.
+ * </p>
+ */
+public class ReplayCommunication implements Communication {
+    /**
+     * The speed factor that reproduces the recorded latencies.
+     */
+    public static final double REAL_SPEED = 1;
+
+    /**
+     * The speed factor that delivers every frame without waiting.
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private static final int HEADER_SIZE = 13;
+
+    private final byte[] log;
+    private final Instant recordedAt;
+    private final double speed;
+    private final long[] sendTimes;
+    private final int[] sendOffsets;
+    private final int[] sendLengths;
+    private final long[] receiveTimes;
+    private final int[] receiveOffsets;
+    private final int[] receiveLengths;
+    private final int[] precedingSends;
+    private final long[] replaySendTimes;
+    private final long replayStart = System.nanoTime();
+    private int sendCount;
+    private int receiveCount;
+    private int sendCursor;
+    private int receiveCursor;
+    private long mismatchedSends;
+    private boolean cancelled;
+
+    /**
+     * Loads a log for playback.
+     *
+     * @param logFile the log written by {@link RecordingCommunication}
+     * @param speed the factor by which the replay is faster than the recording, {@link #REAL_SPEED} to
+     *              {@link #MAX_SPEED}
+     * @throws IOException if the log cannot be read or is damaged
+     * @throws IllegalArgumentException if the speed is not positive
+     */
+    public ReplayCommunication(Path logFile, double speed) throws IOException {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive, got " + speed);
+        }
+        this.speed = speed;
+        log = Files.readAllBytes(logFile);
+        ByteBuffer buffer = ByteBuffer.wrap(log);
+        if (log.length < HEADER_SIZE || buffer.getInt() != RecordingCommunication.MAGIC
+                || buffer.get() != RecordingCommunication.VERSION) {
+            throw new IOException("Not a communication recording: " + logFile);
+        }
+        recordedAt = Instant.ofEpochMilli(buffer.getLong());
+
+        int capacity = 16;
+        long[] sendTimes = new long[capacity];
+        int[] sendOffsets = new int[capacity];
+        int[] sendLengths = new int[capacity];
+        long[] receiveTimes = new long[capacity];
+        int[] receiveOffsets = new int[capacity];
+        int[] receiveLengths = new int[capacity];
+        int[] precedingSends = new int[capacity];
+
+        long time = 0;
+        while (buffer.hasRemaining()) {
+            int type;
+            int length;
+            try {
+                type = buffer.get();
+                time += readVarLong(buffer);
+                length = type == RecordingCommunication.TIMEOUT ? -1 : (int) readVarLong(buffer);
+            } catch (BufferUnderflowException e) {
+                throw new EOFException("Truncated communication recording: " + logFile);
+            }
+            if (length > buffer.remaining()) {
+                throw new EOFException("Truncated communication recording: " + logFile);
+            }
+            switch (type) {
+                case RecordingCommunication.SEND -> {
+                    if (sendCount == sendTimes.length) {
+                        sendTimes = Arrays.copyOf(sendTimes, sendCount * 2);
+                        sendOffsets = Arrays.copyOf(sendOffsets, sendCount * 2);
+                        sendLengths = Arrays.copyOf(sendLengths, sendCount * 2);
+                    }
+                    sendTimes[sendCount] = time;
+                    sendOffsets[sendCount] = buffer.position();
+                    sendLengths[sendCount++] = length;
+                }
+                case RecordingCommunication.FRAME, RecordingCommunication.TIMEOUT -> {
+                    if (receiveCount == receiveTimes.length) {
+                        receiveTimes = Arrays.copyOf(receiveTimes, receiveCount * 2);
+                        receiveOffsets = Arrays.copyOf(receiveOffsets, receiveCount * 2);
+                        receiveLengths = Arrays.copyOf(receiveLengths, receiveCount * 2);
+                        precedingSends = Arrays.copyOf(precedingSends, receiveCount * 2);
+                    }
+                    receiveTimes[receiveCount] = time;
+                    receiveOffsets[receiveCount] = buffer.position();
+                    receiveLengths[receiveCount] = length;
+                    precedingSends[receiveCount++] = sendCount - 1;
+                }
+                default -> throw new IOException("Unknown event type " + type + " in " + logFile);
+            }
+            buffer.position(buffer.position() + Math.max(0, length));
+        }
+
+        this.sendTimes = sendTimes;
+        this.sendOffsets = sendOffsets;
+        this.sendLengths = sendLengths;
+        this.receiveTimes = receiveTimes;
+        this.receiveOffsets = receiveOffsets;
+        this.receiveLengths = receiveLengths;
+        this.precedingSends = precedingSends;
+        replaySendTimes = new long[sendCount];
+    }
+
+    /**
+     * Compares a request with the next recorded one.
+     *
+     * @param message the request
+     */
+    @Override
+    public void sendMessage(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        sendBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Compares raw bytes with the next recorded request.
+     *
+     * @param data the array holding the bytes of the request
+     * @param offset the index of the first byte of the request
+     * @param length the number of bytes of the request
+     */
+    @Override
+    public synchronized void sendBytes(byte[] data, int offset, int length) {
+        if (sendCursor == sendCount) {
+            mismatchedSends++;
+            return;
+        }
+        int recordedOffset = sendOffsets[sendCursor];
+        if (!Arrays.equals(data, offset, offset + length, log, recordedOffset, recordedOffset + sendLengths[sendCursor])) {
+            mismatchedSends++;
+        }
+        replaySendTimes[sendCursor++] = System.nanoTime();
+        notifyAll();
+    }
+
+    /**
+     * Returns the next recorded frame as text.
+     *
+     * @return the frame content
+     * @throws IOException if the log is exhausted, the recorded receive timed out or the receive was cancelled
+     */
+    @Override
+    public String receiveMessage() throws IOException {
+        return receiveMessageUntil("");
+    }
+
+    /**
+     * Returns the next recorded frame as text.
+     *
+     * @param delimiter ignored, since the recorded frames are already split
+     * @return the frame content
+     * @throws IOException if the log is exhausted, the recorded receive timed out or the receive was cancelled
+     */
+    @Override
+    public synchronized String receiveMessageUntil(String delimiter) throws IOException {
+        int frame = nextFrame(Long.MAX_VALUE);
+        return new String(log, receiveOffsets[frame], receiveLengths[frame], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the next recorded frame into the given buffer.
+     *
+     * @param delimiter ignored, since the recorded frames are already split
+     * @param destination the buffer the frame content is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if the log is exhausted, the recorded receive timed out or the receive was cancelled
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return receiveFrame(delimiter, destination, Long.MAX_VALUE);
+    }
+
+    /**
+     * Copies the next recorded frame into the given buffer, giving up if it is not due within the timeout.
+     *
+     * @param delimiter ignored, since the recorded frames are already split
+     * @param destination the buffer the frame content is copied to
+     * @param timeout the time to wait for the frame
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if the frame is not due within the timeout, or the recorded receive timed out
+     * @throws IOException if the log is exhausted or the receive was cancelled
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        return receiveFrame(delimiter, destination, timeout.toNanos());
+    }
+
+    /**
+     * Cancels the receive call in progress, or the next one if none is in progress.
+     */
+    @Override
+    public synchronized void cancelReceive() {
+        cancelled = true;
+        notifyAll();
+    }
+
+    /**
+     * Returns the number of requests that differed from the recorded ones, including requests beyond the end of
+     * the recording.
+     *
+     * @return the number of mismatched requests
+     */
+    public synchronized long mismatchedSends() {
+        return mismatchedSends;
+    }
+
+    /**
+     * Returns whether every recorded frame and timeout has been played back.
+     *
+     * @return {@code true} if the next receive fails because the log is exhausted
+     */
+    public synchronized boolean isExhausted() {
+        return receiveCursor == receiveCount;
+    }
+
+    /**
+     * Returns when the recording was started.
+     *
+     * @return the wall-clock start of the recording
+     */
+    public Instant recordedAt() {
+        return recordedAt;
+    }
+
+    /**
+     * Does nothing, since the log decides which frame is delivered next and there are no stray bytes to drop.
+     */
+    @Override
+    public void discardInput() {
+    }
+
+    /**
+     * Does nothing, since the log has nothing to release.
+     */
+    @Override
+    public void close() {
+    }
+
+    private synchronized int receiveFrame(byte[] delimiter, byte[] destination, long timeoutNanos) throws IOException {
+        int frame = nextFrame(timeoutNanos);
+        int length = receiveLengths[frame];
+        System.arraycopy(log, receiveOffsets[frame], destination, 0, length);
+        return length;
+    }
+
+    /**
+     * Waits until the next recorded receive is due and consumes it.
+     */
+    private int nextFrame(long timeoutNanos) throws IOException {
+        if (receiveCursor == receiveCount) {
+            throw new EOFException("Replay log exhausted");
+        }
+        long start = System.nanoTime();
+        long deadline = timeoutNanos >= Long.MAX_VALUE - start ? Long.MAX_VALUE : start + timeoutNanos;
+        while (true) {
+            if (cancelled) {
+                cancelled = false;
+                throw new InterruptedIOException("Receive cancelled");
+            }
+            long now = System.nanoTime();
+            if (speed == MAX_SPEED) {
+                break;
+            }
+            long dueAt = dueAt(receiveCursor);
+            if (dueAt - now <= 0) {
+                break;
+            }
+            if (deadline != Long.MAX_VALUE && deadline - now <= 0) {
+                throw new ReadTimeoutException("Replayed frame not due within the timeout");
+            }
+            long wait = deadline == Long.MAX_VALUE ? dueAt - now : Math.min(dueAt, deadline) - now;
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a replayed frame");
+            }
+        }
+
+        int frame = receiveCursor++;
+        if (receiveLengths[frame] < 0) {
+            throw new ReadTimeoutException("Recorded receive timed out");
+        }
+        return frame;
+    }
+
+    /**
+     * Returns when a recorded receive is due in the replay: as long after the last request that preceded it and was
+     * already replayed as it was after that request in the recording, scaled by the speed.
+     */
+    private long dueAt(int receive) {
+        int send = Math.min(precedingSends[receive], sendCursor - 1);
+        long recordedAnchor = send < 0 ? 0 : sendTimes[send];
+        long replayAnchor = send < 0 ? replayStart : replaySendTimes[send];
+        return replayAnchor + (long) ((receiveTimes[receive] - recordedAnchor) / speed);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer in communication recording");
+    }
+}
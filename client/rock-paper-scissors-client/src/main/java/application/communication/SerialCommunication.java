@@ -4,15 +4,34 @@ import com.fazecast.jSerialComm.SerialPort;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import application.dto.GameFrameCodec;
+import application.metrics.ClientMetrics;
 
 /**
  * Implements the Communication interface using serial port communication.
  * Provides methods to send and receive messages via a serial port.
+ * Traffic, frames and read timeouts are recorded in {@link ClientMetrics#global()}.
+ * <p>
+ * The port returns from a blocking read every {@link #READ_SLICE_MILLIS} milliseconds, so receive calls can honour
+ * a timeout and be cancelled from another thread with {@link #cancelReceive()}.
+ * </p>
+ *
+ * @see EventDrivenSerialCommunication
  */
 public class SerialCommunication implements Communication {
+    /**
+     * The time after which a blocking read of the port returns to check the deadline and the cancellation flag.
+     */
+    public static final int READ_SLICE_MILLIS = 50;
+
     private final SerialPort serialPort;
     private final InputStream inputStream;
     private final OutputStream outputStream;
+    private final FrameDecoder frameDecoder;
+    private final byte[] frameBuffer = new byte[FrameDecoder.DEFAULT_CAPACITY];
+    private final ClientMetrics metrics = ClientMetrics.global();
 
     /**
      * Initializes the serial communication with the given serial port.
@@ -22,9 +41,11 @@ public class SerialCommunication implements Communication {
     public SerialCommunication(SerialPort serialPort) {
         this.serialPort = serialPort;
         this.serialPort.openPort();
-        this.serialPort.setComPortTimeouts(SerialPort.TIMEOUT_READ_SEMI_BLOCKING, 0, 0);
+        this.serialPort.setComPortParameters(GameFrameCodec.DEFAULT_BAUD_RATE, 8, SerialPort.ONE_STOP_BIT, SerialPort.NO_PARITY);
+        this.serialPort.setComPortTimeouts(SerialPort.TIMEOUT_READ_SEMI_BLOCKING, READ_SLICE_MILLIS, 0);
         inputStream = serialPort.getInputStream();
         outputStream = serialPort.getOutputStream();
+        frameDecoder = new FrameDecoder(inputStream);
     }
 
     /**
@@ -35,8 +56,25 @@ public class SerialCommunication implements Communication {
      */
     @Override
     public void sendMessage(String message) throws IOException {
-        outputStream.write(message.getBytes());
+        byte[] bytes = message.getBytes();
+        outputStream.write(bytes);
+        outputStream.flush();
+        metrics.recordSent(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Sends raw bytes over the serial connection.
+     *
+     * @param data the array holding the bytes to be sent
+     * @param offset the index of the first byte to send
+     * @param length the number of bytes to send
+     * @throws IOException if an I/O error occurs during message transmission
+     */
+    @Override
+    public void sendBytes(byte[] data, int offset, int length) throws IOException {
+        outputStream.write(data, offset, length);
         outputStream.flush();
+        metrics.recordSent(data, offset, length);
     }
 
     /**
@@ -47,14 +85,10 @@ public class SerialCommunication implements Communication {
      */
     @Override
     public String receiveMessage() throws IOException {
-        byte[] buffer = new byte[10];
-        int bytesRead = inputStream.read(buffer);
-
-        if (bytesRead < 0) {
-            throw new IOException("No data received from server");
-        }
+        int bytesRead = frameDecoder.readAvailable(frameBuffer);
+        metrics.recordBytesReceived(bytesRead);
 
-        return new String(buffer, 0, bytesRead).trim();
+        return new String(frameBuffer, 0, bytesRead).trim();
     }
 
     /**
@@ -66,25 +100,88 @@ public class SerialCommunication implements Communication {
      */
     @Override
     public String receiveMessageUntil(String delimiter) throws IOException {
-        StringBuilder messageBuffer = new StringBuilder();
-        byte[] buffer = new byte[1];
-        int bytesRead;
+        int frameLength = receiveFrame(delimiter.getBytes(StandardCharsets.US_ASCII), frameBuffer);
+
+        return new String(frameBuffer, 0, frameLength).trim();
+    }
+
+    /**
+     * Receives a frame terminated by a delimiter into the given buffer.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if an I/O error occurs or if no data is received
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return receiveFrame(delimiter, destination, FrameDecoder.NO_TIMEOUT);
+    }
 
-        while (true) {
-            bytesRead = inputStream.read(buffer);
+    /**
+     * Receives a frame terminated by a delimiter, giving up if it is not complete within a timeout.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @param timeout the time to wait for the frame to complete
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if the frame is not complete within the timeout
+     * @throws IOException if an I/O error occurs or the receive was cancelled
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        return receiveFrame(delimiter, destination, timeout.toNanos());
+    }
 
-            if (bytesRead < 0) {
-                throw new IOException("No data received from server");
-            }
+    /**
+     * Cancels the receive call in progress within {@link #READ_SLICE_MILLIS} milliseconds.
+     */
+    @Override
+    public void cancelReceive() {
+        frameDecoder.cancel();
+    }
 
-            messageBuffer.append((char) buffer[0]);
+    /**
+     * Drops the buffered bytes of an incomplete frame.
+     */
+    @Override
+    public void discardInput() {
+        frameDecoder.clear();
+    }
 
-            if (messageBuffer.toString().endsWith(delimiter)) {
-                break;
-            }
+    private int receiveFrame(byte[] delimiter, byte[] destination, long timeoutNanos) throws IOException {
+        int frameLength;
+        try {
+            frameLength = frameDecoder.readFrame(delimiter, destination, timeoutNanos);
+        } catch (ReadTimeoutException e) {
+            metrics.recordTimeout();
+            throw e;
         }
+        metrics.recordFrameReceived(frameLength + delimiter.length);
+        return frameLength;
+    }
+
+    /**
+     * Returns the baud rate of the serial port.
+     *
+     * @return the current baud rate
+     */
+    @Override
+    public int baudRate() {
+        return serialPort.getBaudRate();
+    }
 
-        return messageBuffer.substring(0, messageBuffer.length() - delimiter.length()).trim();
+    /**
+     * Switches the serial port to another baud rate.
+     *
+     * @param baudRate the new baud rate
+     * @throws IOException if the port does not accept the rate
+     */
+    @Override
+    public void setBaudRate(int baudRate) throws IOException {
+        if (!serialPort.setBaudRate(baudRate)) {
+            throw new IOException("Serial port does not accept " + baudRate + " baud");
+        }
     }
 
     /**
@@ -0,0 +1,623 @@
+package application.communication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import application.dto.GameFrameCodec;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.RulesEngine;
+import application.game.Player;
+
+/**
+ * In-process implementation of the Communication interface that behaves like the server sketch.
+ * <p>
+ * Requests are parsed line by line exactly as {@code loop()} does, rounds are decided by {@link RulesEngine#CLASSIC}
+ * and AI moves are drawn uniformly like {@code generateAIMove()}. Responses use the {@code convertResponse}
+ * format including the {@code |} terminator, and binary frames, tagged or not, are answered after the handshake.
+ * Heartbeat lines are answered with the echoed sequence number. Like the sketch, the emulator answers every line
+ * it cannot understand (an overlong line, an invalid binary frame, or a CSV line with an unknown mode or without a
+ * known move for every human player) with an empty frame and counts it as invalid. There is no
+ * artificial delay unless a baud rate is given, in which case every byte takes the time it would need on a
+ * serial line with 10 bits per byte, with requests and responses travelling in parallel like on a
+ * full-duplex link.
+ * </p>
+ * <p>
+ * A paced emulator also emulates the baud rate handshake of the sketch, starting at the given rate and falling
+ * back to it like the sketch falls back to its default rate. While the client and the emulator disagree on the
+ * rate, or the rate is above the highest rate the simulated cable carries intact, requests arrive as invalid
+ * lines and responses are lost.
+ * </p>
+ * <p>
+ * Writes and reads may happen on different threads. Reads block until a response is available, unless a timeout
+ * is given or the receive is cancelled.
+ * </p>
+ */
+public class ServerEmulator implements Communication {
+    private static final int LINE_CAPACITY = 32;
+    private static final long READ_SLICE_NANOS = SerialCommunication.READ_SLICE_MILLIS * 1_000_000L;
+    private static final byte[] HANDSHAKE_LINE = GameFrameCodec.HANDSHAKE_REQUEST.trim().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HANDSHAKE_REPLY = (GameFrameCodec.HANDSHAKE_ACCEPTED + "|").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TAG_HANDSHAKE_LINE = GameFrameCodec.TAG_HANDSHAKE_REQUEST.trim().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TAG_HANDSHAKE_REPLY = (GameFrameCodec.TAG_HANDSHAKE_ACCEPTED + "|").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EMPTY_REPLY = {'|'};
+    private static final byte[] PONG_PREFIX = GameFrameCodec.PONG_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final int PING_PREFIX_LENGTH = GameFrameCodec.PING_PREFIX.length();
+    private static final byte[] BAUD_PREFIX = GameFrameCodec.BAUD_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BAUD_REFUSED_REPLY = (GameFrameCodec.BAUD_REFUSED + "|").getBytes(StandardCharsets.US_ASCII);
+    private static final int[] SUPPORTED_BAUD_RATES = {GameFrameCodec.DEFAULT_BAUD_RATE, 115_200, 250_000, 500_000, 1_000_000};
+    private static final int MAX_INVALID_LINES = 2;
+    private static final GameMode[] MODES = GameMode.values();
+    private static final Player.Move[] MOVES = Player.Move.values();
+    private static final byte[][] MODE_NAMES = names(MODES);
+    private static final byte[][] MOVE_NAMES = names(MOVES);
+    private static final byte[][][][][] TEXT_RESPONSES = textResponses();
+
+    private final SplittableRandom random;
+    private final int defaultBaudRate;
+    private final int maxReliableBaudRate;
+    private long nanosPerByte;
+    private final ResponseStream responseStream;
+    private final FrameDecoder frameDecoder;
+    private final byte[] frameBuffer = new byte[FrameDecoder.DEFAULT_CAPACITY];
+    private final byte[] line = new byte[LINE_CAPACITY];
+    private final byte[] binaryResponse = new byte[3];
+    private final byte[] echoResponse = new byte[LINE_CAPACITY + 1];
+    private int lineLength;
+    private boolean lineOverflow;
+    private long uplinkFreeAt;
+    private long downlinkFreeAt;
+    private int clientBaudRate;
+    private int serverBaudRate;
+    private boolean baudPending;
+    private long baudSwitchedAt;
+    private int invalidLines;
+
+    /**
+     * Creates an emulator without transfer delays and with a random seed.
+     */
+    public ServerEmulator() {
+        this(new SplittableRandom().nextLong(), 0);
+    }
+
+    /**
+     * Creates an emulator with a fixed seed for the AI moves and optional baud rate pacing.
+     *
+     * @param seed the seed of the AI move generator
+     * @param baudRate the simulated baud rate, or 0 to deliver responses without delay
+     */
+    public ServerEmulator(long seed, int baudRate) {
+        this(seed, baudRate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an emulator with a fixed seed for the AI moves, baud rate pacing and a cable that garbles bytes
+     * above a given rate.
+     *
+     * @param seed the seed of the AI move generator
+     * @param baudRate the simulated baud rate after a reset, or 0 to deliver responses without delay
+     * @param maxReliableBaudRate the highest baud rate at which requests and responses arrive intact
+     */
+    public ServerEmulator(long seed, int baudRate, int maxReliableBaudRate) {
+        if (baudRate < 0) {
+            throw new IllegalArgumentException("Baud rate must not be negative");
+        }
+        random = new SplittableRandom(seed);
+        defaultBaudRate = baudRate;
+        this.maxReliableBaudRate = maxReliableBaudRate;
+        clientBaudRate = baudRate;
+        serverBaudRate = baudRate;
+        nanosPerByte = baudRate == 0 ? 0 : 10_000_000_000L / baudRate;
+        responseStream = new ResponseStream(nanosPerByte > 0);
+        frameDecoder = new FrameDecoder(responseStream);
+    }
+
+    /**
+     * Processes a request message as if it had been sent to the board.
+     *
+     * @param message the message to be sent
+     * @throws IOException if the emulator has been closed
+     */
+    @Override
+    public void sendMessage(String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.US_ASCII);
+        sendBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Processes raw request bytes as if they had been sent to the board.
+     *
+     * @param data the array holding the bytes to be sent
+     * @param offset the index of the first byte to send
+     * @param length the number of bytes to send
+     * @throws IOException if the emulator has been closed
+     */
+    @Override
+    public synchronized void sendBytes(byte[] data, int offset, int length) throws IOException {
+        if (responseStream.isClosed()) {
+            throw new IOException("Emulator is closed");
+        }
+        if (baudPending && System.nanoTime() - baudSwitchedAt > GameFrameCodec.BAUD_VERIFY_MILLIS * 1_000_000L) {
+            switchBaudRate(defaultBaudRate);
+        }
+        if (!isLinkIntact()) {
+            for (int i = offset; i < offset + length; i++) {
+                if (data[i] == '\n') {
+                    countInvalidLine();
+                }
+            }
+            lineLength = 0;
+            lineOverflow = false;
+            return;
+        }
+
+        for (int i = offset; i < offset + length; i++) {
+            byte value = data[i];
+            if (value == '\n') {
+                if (!lineOverflow) {
+                    handleLine(lineLength + 1);
+                } else {
+                    rejectLine(LINE_CAPACITY + 1);
+                }
+                lineLength = 0;
+                lineOverflow = false;
+            } else if (lineLength < LINE_CAPACITY) {
+                line[lineLength++] = value;
+            } else {
+                lineOverflow = true;
+            }
+        }
+    }
+
+    /**
+     * Receives the bytes of the emulator output that are available.
+     *
+     * @return the received message as a string
+     * @throws IOException if the emulator has been closed
+     */
+    @Override
+    public String receiveMessage() throws IOException {
+        int bytesRead = frameDecoder.readAvailable(frameBuffer);
+
+        return new String(frameBuffer, 0, bytesRead, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives a message until a specified delimiter is encountered.
+     *
+     * @param delimiter the delimiter to stop receiving the message
+     * @return the received message as a string, excluding the delimiter
+     * @throws IOException if the emulator has been closed
+     */
+    @Override
+    public String receiveMessageUntil(String delimiter) throws IOException {
+        int frameLength = frameDecoder.readFrame(delimiter.getBytes(StandardCharsets.US_ASCII), frameBuffer);
+
+        return new String(frameBuffer, 0, frameLength, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives a frame terminated by a delimiter into the given buffer.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if the emulator has been closed
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return frameDecoder.readFrame(delimiter, destination);
+    }
+
+    /**
+     * Receives a frame terminated by a delimiter, giving up if it is not complete within a timeout.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @param timeout the time to wait for the frame to complete
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if the frame is not complete within the timeout
+     * @throws IOException if an I/O error occurs or the receive was cancelled
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        return frameDecoder.readFrame(delimiter, destination, timeout.toNanos());
+    }
+
+    /**
+     * Cancels the receive call in progress.
+     */
+    @Override
+    public void cancelReceive() {
+        frameDecoder.cancel();
+    }
+
+    /**
+     * Drops the buffered bytes of an incomplete frame.
+     */
+    @Override
+    public void discardInput() {
+        frameDecoder.clear();
+    }
+
+    /**
+     * Returns the baud rate the client side uses.
+     *
+     * @return the baud rate of the client side, or 0 if the emulator is not paced
+     */
+    @Override
+    public synchronized int baudRate() {
+        return nanosPerByte == 0 ? 0 : clientBaudRate;
+    }
+
+    /**
+     * Switches the client side to another baud rate. Requests and responses only arrive intact while both sides
+     * use the same rate.
+     *
+     * @param baudRate the new baud rate of the client side
+     * @throws UnsupportedOperationException if the emulator is not paced
+     */
+    @Override
+    public synchronized void setBaudRate(int baudRate) {
+        if (nanosPerByte == 0) {
+            throw new UnsupportedOperationException("Emulator without pacing has no baud rate");
+        }
+        clientBaudRate = baudRate;
+        nanosPerByte = 10_000_000_000L / baudRate;
+    }
+
+    /**
+     * Returns the baud rate the emulated board uses, which follows the accepted {@code BAUD} requests.
+     *
+     * @return the baud rate of the board side, or 0 if the emulator is not paced
+     */
+    public synchronized int serverBaudRate() {
+        return nanosPerByte == 0 ? 0 : serverBaudRate;
+    }
+
+    /**
+     * Closes the emulator and wakes up a blocked reader.
+     */
+    @Override
+    public void close() {
+        responseStream.close();
+    }
+
+    private void handleLine(int requestLength) {
+        if (lineLength == 1 && GameFrameCodec.isBinary(line[0])) {
+            handleBinaryRequest(line[0], requestLength, false);
+        } else if (GameFrameCodec.isTagged(line, lineLength)) {
+            handleBinaryRequest(line[1], requestLength, true);
+        } else if (equalsLine(HANDSHAKE_LINE, 0, lineLength)) {
+            respond(HANDSHAKE_REPLY, HANDSHAKE_REPLY.length, requestLength);
+        } else if (equalsLine(TAG_HANDSHAKE_LINE, 0, lineLength)) {
+            respond(TAG_HANDSHAKE_REPLY, TAG_HANDSHAKE_REPLY.length, requestLength);
+        } else if (GameFrameCodec.isPing(line, lineLength)) {
+            baudPending = false;
+            handlePing(requestLength);
+        } else if (equalsLine(BAUD_PREFIX, 0, Math.min(lineLength, BAUD_PREFIX.length))) {
+            handleBaudRequest(requestLength);
+        } else {
+            handleTextRequest(requestLength);
+        }
+    }
+
+    private void handlePing(int requestLength) {
+        invalidLines = 0;
+        System.arraycopy(PONG_PREFIX, 0, echoResponse, 0, PONG_PREFIX.length);
+        int payloadLength = lineLength - PING_PREFIX_LENGTH;
+        System.arraycopy(line, PING_PREFIX_LENGTH, echoResponse, PONG_PREFIX.length, payloadLength);
+        int length = PONG_PREFIX.length + payloadLength;
+        echoResponse[length++] = '|';
+        respond(echoResponse, length, requestLength);
+    }
+
+    private void handleBaudRequest(int requestLength) {
+        int baudRate = 0;
+        for (int i = BAUD_PREFIX.length; i < lineLength && baudRate >= 0; i++) {
+            int digit = line[i] - '0';
+            baudRate = digit < 0 || digit > 9 || baudRate > 100_000_000 ? -1 : baudRate * 10 + digit;
+        }
+        if (nanosPerByte == 0 || !isSupported(baudRate)) {
+            respond(BAUD_REFUSED_REPLY, BAUD_REFUSED_REPLY.length, requestLength);
+            return;
+        }
+
+        System.arraycopy(line, 0, echoResponse, 0, lineLength);
+        echoResponse[lineLength] = '|';
+        respond(echoResponse, lineLength + 1, requestLength);
+        switchBaudRate(baudRate);
+        baudPending = baudRate != defaultBaudRate;
+    }
+
+    private static boolean isSupported(int baudRate) {
+        for (int supported : SUPPORTED_BAUD_RATES) {
+            if (supported == baudRate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void switchBaudRate(int baudRate) {
+        serverBaudRate = baudRate;
+        baudPending = false;
+        baudSwitchedAt = System.nanoTime();
+        invalidLines = 0;
+    }
+
+    private boolean isLinkIntact() {
+        return clientBaudRate == serverBaudRate && clientBaudRate <= maxReliableBaudRate;
+    }
+
+    private void rejectLine(int requestLength) {
+        respond(EMPTY_REPLY, EMPTY_REPLY.length, requestLength);
+        countInvalidLine();
+    }
+
+    private void countInvalidLine() {
+        if (serverBaudRate != defaultBaudRate && ++invalidLines >= MAX_INVALID_LINES) {
+            switchBaudRate(defaultBaudRate);
+        }
+    }
+
+    private void handleBinaryRequest(byte request, int requestLength, boolean tagged) {
+        int modeCode = request & 0x03;
+        int move1Code = request >> 2 & 0x03;
+        int move2Code = request >> 4 & 0x03;
+
+        if (modeCode >= MODES.length || move1Code >= MOVES.length || move2Code >= MOVES.length) {
+            rejectLine(requestLength);
+            return;
+        }
+        invalidLines = 0;
+
+        GameMode mode = MODES[modeCode];
+        Player.Move player1Move = mode == GameMode.AI_VS_AI ? generateAIMove() : MOVES[move1Code];
+        Player.Move player2Move = mode == GameMode.MAN_VS_MAN ? MOVES[move2Code] : generateAIMove();
+        int result = RulesEngine.CLASSIC.outcome(player1Move, player2Move);
+
+        int length = 0;
+        if (tagged) {
+            binaryResponse[length++] = line[0];
+        }
+        binaryResponse[length++] = (byte) (GameFrameCodec.BINARY_FLAG | result | player1Move.ordinal() << 2 | player2Move.ordinal() << 4);
+        binaryResponse[length++] = '|';
+        respond(binaryResponse, length, requestLength);
+    }
+
+    private void handleTextRequest(int requestLength) {
+        int delimiterIndex1 = indexOf(',', 0);
+        int delimiterIndex2 = indexOf(',', delimiterIndex1 + 1);
+        int modeEnd = delimiterIndex1 < 0 ? lineLength : delimiterIndex1;
+        int move1End = delimiterIndex2 < 0 ? lineLength : delimiterIndex2;
+
+        int modeIndex = find(MODE_NAMES, 0, modeEnd);
+        GameMode mode = modeIndex < 0 ? null : MODES[modeIndex];
+        int move1Index = mode == GameMode.AI_VS_AI ? 0 : find(MOVE_NAMES, delimiterIndex1 + 1, move1End);
+        int move2Index = mode == GameMode.MAN_VS_MAN ? find(MOVE_NAMES, delimiterIndex2 + 1, lineLength) : 0;
+        if (mode == null || move1Index < 0 || move2Index < 0) {
+            rejectLine(requestLength);
+            return;
+        }
+        invalidLines = 0;
+
+        Player.Move player1Move;
+        Player.Move player2Move;
+        if (mode == GameMode.AI_VS_AI) {
+            player1Move = generateAIMove();
+            player2Move = generateAIMove();
+        } else {
+            player1Move = MOVES[move1Index];
+            player2Move = mode == GameMode.MAN_VS_MAN ? MOVES[move2Index] : generateAIMove();
+        }
+
+        int result = RulesEngine.CLASSIC.outcome(player1Move, player2Move);
+        byte[] response = TEXT_RESPONSES[mode.ordinal()][result][player1Move.ordinal()][player2Move.ordinal()];
+        respond(response, response.length, requestLength);
+    }
+
+    private Player.Move generateAIMove() {
+        return MOVES[random.nextInt(MOVES.length)];
+    }
+
+    private void respond(byte[] response, int length, int requestLength) {
+        if (!isLinkIntact()) {
+            return;
+        }
+        long readyAt = 0;
+        if (nanosPerByte > 0) {
+            long requestDoneAt = Math.max(System.nanoTime(), uplinkFreeAt) + requestLength * nanosPerByte;
+            uplinkFreeAt = requestDoneAt;
+            readyAt = Math.max(requestDoneAt, downlinkFreeAt) + length * nanosPerByte;
+            downlinkFreeAt = readyAt;
+        }
+        responseStream.append(response, length, readyAt);
+    }
+
+    private int indexOf(char value, int from) {
+        for (int i = from; i < lineLength; i++) {
+            if (line[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int find(byte[][] names, int from, int to) {
+        for (int i = 0; i < names.length; i++) {
+            if (equalsLine(names[i], from, to)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean equalsLine(byte[] expected, int from, int to) {
+        if (from < 0 || to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (line[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[][] names(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+    private static byte[][][][][] textResponses() {
+        GameResult[] results = GameResult.values();
+        byte[][][][][] responses = new byte[MODES.length][results.length][MOVES.length][MOVES.length][];
+        for (GameMode mode : MODES) {
+            for (GameResult result : results) {
+                for (Player.Move move1 : MOVES) {
+                    for (Player.Move move2 : MOVES) {
+                        String response = result.serverName(mode) + "," + move1.name() + "," + move2.name() + "|";
+                        responses[mode.ordinal()][result.ordinal()][move1.ordinal()][move2.ordinal()] =
+                                response.getBytes(StandardCharsets.US_ASCII);
+                    }
+                }
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Byte queue read by the frame decoder. With pacing enabled, every appended response becomes readable only
+     * once its simulated transfer has finished.
+     */
+    private static class ResponseStream extends InputStream {
+        private final boolean paced;
+        private byte[] data = new byte[1024];
+        private long readCount;
+        private long writeCount;
+        private long visibleCount;
+        private long[] markEnds = new long[64];
+        private long[] markTimes = new long[64];
+        private int markHead;
+        private int markSize;
+        private boolean closed;
+
+        ResponseStream(boolean paced) {
+            this.paced = paced;
+        }
+
+        synchronized void append(byte[] bytes, int length, long readyAt) {
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                data[(int) (writeCount++ & data.length - 1)] = bytes[i];
+            }
+
+            if (paced) {
+                if (markSize == markEnds.length) {
+                    growMarks();
+                }
+                int index = markHead + markSize++ & markEnds.length - 1;
+                markEnds[index] = writeCount;
+                markTimes[index] = readyAt;
+            } else {
+                visibleCount = writeCount;
+            }
+            notifyAll();
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            long sliceEnd = System.nanoTime() + READ_SLICE_NANOS;
+            try {
+                while (true) {
+                    if (closed) {
+                        return -1;
+                    }
+
+                    long now = System.nanoTime();
+                    while (markSize > 0 && markTimes[markHead] - now <= 0) {
+                        visibleCount = markEnds[markHead];
+                        markHead = markHead + 1 & markEnds.length - 1;
+                        markSize--;
+                    }
+
+                    if (visibleCount > readCount) {
+                        int count = (int) Math.min(length, visibleCount - readCount);
+                        for (int i = 0; i < count; i++) {
+                            buffer[offset + i] = data[(int) (readCount++ & data.length - 1)];
+                        }
+                        return count;
+                    }
+
+                    long waitNanos = sliceEnd - now;
+                    if (waitNanos <= 0) {
+                        throw new InterruptedIOException("No response within the read slice");
+                    }
+                    if (markSize > 0) {
+                        waitNanos = Math.min(waitNanos, markTimes[markHead] - now);
+                    }
+                    wait(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the emulator");
+            }
+        }
+
+        private void ensureCapacity(int length) {
+            int size = (int) (writeCount - readCount);
+            if (size + length <= data.length) {
+                return;
+            }
+
+            int capacity = data.length;
+            while (capacity < size + length) {
+                capacity <<= 1;
+            }
+            byte[] grown = new byte[capacity];
+            for (long position = readCount; position < writeCount; position++) {
+                grown[(int) (position & capacity - 1)] = data[(int) (position & data.length - 1)];
+            }
+            data = grown;
+        }
+
+        private void growMarks() {
+            long[] ends = new long[markEnds.length << 1];
+            long[] times = new long[markTimes.length << 1];
+            for (int i = 0; i < markSize; i++) {
+                ends[i] = markEnds[markHead + i & markEnds.length - 1];
+                times[i] = markTimes[markHead + i & markTimes.length - 1];
+            }
+            markEnds = ends;
+            markTimes = times;
+            markHead = 0;
+        }
+    }
+}
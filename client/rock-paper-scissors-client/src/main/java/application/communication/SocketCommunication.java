@@ -0,0 +1,146 @@
+package application.communication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Implements the Communication interface over a TCP connection to a {@link application.gateway.SerialGateway}.
+ * The gateway speaks the same framed protocol as the board, so this class can replace a
+ * {@link SerialCommunication} transparently.
+ */
+public class SocketCommunication implements Communication {
+    private final Socket socket;
+    private final InputStream inputStream;
+    private final OutputStream outputStream;
+    private final FrameDecoder frameDecoder;
+    private final byte[] frameBuffer = new byte[FrameDecoder.DEFAULT_CAPACITY];
+
+    /**
+     * Connects to a gateway.
+     *
+     * @param host the host name of the gateway
+     * @param port the TCP port of the gateway
+     * @throws IOException if the connection cannot be established
+     */
+    public SocketCommunication(String host, int port) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(SerialCommunication.READ_SLICE_MILLIS);
+        inputStream = socket.getInputStream();
+        outputStream = socket.getOutputStream();
+        frameDecoder = new FrameDecoder(inputStream);
+    }
+
+    /**
+     * Sends a message to the gateway.
+     *
+     * @param message the message to be sent
+     * @throws IOException if an I/O error occurs during message transmission
+     */
+    @Override
+    public void sendMessage(String message) throws IOException {
+        outputStream.write(message.getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+    }
+
+    /**
+     * Sends raw bytes to the gateway.
+     *
+     * @param data the array holding the bytes to be sent
+     * @param offset the index of the first byte to send
+     * @param length the number of bytes to send
+     * @throws IOException if an I/O error occurs during message transmission
+     */
+    @Override
+    public void sendBytes(byte[] data, int offset, int length) throws IOException {
+        outputStream.write(data, offset, length);
+        outputStream.flush();
+    }
+
+    /**
+     * Receives the bytes that are available from the gateway.
+     *
+     * @return the received message as a string
+     * @throws IOException if an I/O error occurs or the gateway closed the connection
+     */
+    @Override
+    public String receiveMessage() throws IOException {
+        int bytesRead = frameDecoder.readAvailable(frameBuffer);
+
+        return new String(frameBuffer, 0, bytesRead, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives a message until a specified delimiter is encountered.
+     *
+     * @param delimiter the delimiter to stop receiving the message
+     * @return the received message as a string, excluding the delimiter
+     * @throws IOException if an I/O error occurs or the gateway closed the connection
+     */
+    @Override
+    public String receiveMessageUntil(String delimiter) throws IOException {
+        int frameLength = frameDecoder.readFrame(delimiter.getBytes(StandardCharsets.US_ASCII), frameBuffer);
+
+        return new String(frameBuffer, 0, frameLength, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Receives a frame terminated by a delimiter into the given buffer.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @return the number of bytes copied into {@code destination}
+     * @throws IOException if an I/O error occurs or the gateway closed the connection
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination) throws IOException {
+        return frameDecoder.readFrame(delimiter, destination);
+    }
+
+    /**
+     * Receives a frame terminated by a delimiter, giving up if it is not complete within a timeout.
+     *
+     * @param delimiter the bytes that terminate the frame
+     * @param destination the buffer the frame content (without the delimiter) is copied to
+     * @param timeout the time to wait for the frame to complete
+     * @return the number of bytes copied into {@code destination}
+     * @throws ReadTimeoutException if the frame is not complete within the timeout
+     * @throws IOException if an I/O error occurs or the receive was cancelled
+     */
+    @Override
+    public int receiveFrame(byte[] delimiter, byte[] destination, Duration timeout) throws IOException {
+        return frameDecoder.readFrame(delimiter, destination, timeout.toNanos());
+    }
+
+    /**
+     * Cancels the receive call in progress.
+     */
+    @Override
+    public void cancelReceive() {
+        frameDecoder.cancel();
+    }
+
+    /**
+     * Drops the buffered bytes of an incomplete frame.
+     */
+    @Override
+    public void discardInput() {
+        frameDecoder.clear();
+    }
+
+    /**
+     * Closes the connection to the gateway.
+     */
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Can't close socket");
+        }
+    }
+}
@@ -2,25 +2,421 @@ package application.controller;
 
 import com.fazecast.jSerialComm.SerialPort;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import application.communication.Communication;
+import application.communication.FrameTooLongException;
+import application.communication.ReadTimeoutException;
 import application.communication.SerialCommunication;
+import application.dto.GameFrameCodec;
+import application.dto.GameRequestDto;
 import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
 import application.game.Player;
+import application.metrics.ClientMetrics;
+import application.metrics.RoundTimer;
 
 /**
  * Controller for managing the game logic and communication with the server.
  * Handles sending moves, receiving results, and managing the communication lifecycle.
+ * Round latencies, parse failures and round timeouts are recorded in {@link ClientMetrics#global()}.
+ * <p>
+ * Every response is awaited for at most the read timeout of the {@link RetryPolicy}. Single rounds and the
+ * wire-format handshake are retried according to the policy; pipelined batches are not, since a resent request
+ * could not be told apart from the original one.
+ * </p>
+ * <p>
+ * Rounds played with {@link #playRoundAsync(GameMode, Player.Move, Player.Move)} may come from any number of
+ * threads. If the server accepts tagged binary frames, they are multiplexed over the link with correlation tags,
+ * so several rounds are in flight at once and every response reaches the round it belongs to. Otherwise they are
+ * played one after another. The blocking methods must not be used while asynchronous rounds are running.
+ * </p>
+ * <p>
+ * Heartbeats sent with {@link #pingAsync()}, or on an idle schedule after {@link #startHeartbeat(Duration)},
+ * measure the round-trip time and keep the {@link LinkMonitor} informed about the health of the link before a
+ * round is played. With {@linkplain #setAdaptiveReadTimeout(boolean) adaptive read timeouts} the read timeout of
+ * the retry policy is shortened to what the measured round-trip time suggests.
+ * </p>
+ * <p>
+ * {@link #negotiateBaudRate()} moves a serial link from its default rate to the fastest rate both sides support.
+ * Once a faster rate is in use, the link falls back to the default rate whenever the {@link LinkMonitor} reports
+ * it as {@linkplain LinkMonitor.State#DOWN down}.
+ * </p>
  */
 public class GameController {
+    private static final byte[] RESPONSE_DELIMITER = {'|'};
+
+    /**
+     * The number of CSV requests kept in flight by {@link #playRounds(List)}.
+     * Two of the longest requests still fit into the 64-byte receive buffer of the board.
+     */
+    public static final int CSV_PIPELINE_DEPTH = 2;
+
+    /**
+     * The number of binary requests kept in flight by {@link #playRounds(List)}.
+     */
+    public static final int BINARY_PIPELINE_DEPTH = 16;
+
+    /**
+     * The time after which a round started by {@link #playRoundAsync(GameMode, Player.Move, Player.Move)}
+     * completes exceptionally with a {@link java.util.concurrent.TimeoutException}.
+     */
+    public static final Duration DEFAULT_ROUND_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The shortest read timeout used with adaptive read timeouts.
+     */
+    public static final Duration MIN_ADAPTIVE_READ_TIMEOUT = Duration.ofMillis(250);
+
+    /**
+     * The time waited beyond the verification window of the server after a rejected baud rate, so both sides are
+     * back at the previous rate before the next one is requested.
+     */
+    private static final long BAUD_FALLBACK_MARGIN_MILLIS = 100;
+    private static final int[] HIGH_SPEED_BAUD_RATES = {1_000_000, 500_000, 250_000, 115_200};
+
     private final Communication communication;
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-controller-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final WireFormat preferredWireFormat;
+    private final byte[] requestFrame = new byte[GameFrameCodec.MAX_TEXT_REQUEST_LENGTH];
+    private final byte[] responseFrame = new byte[64];
+    private byte[] batchFrame = new byte[CSV_PIPELINE_DEPTH * GameFrameCodec.MAX_TEXT_REQUEST_LENGTH];
+    private final ClientMetrics metrics = ClientMetrics.global();
+    private final RoundTimer roundTimer = new RoundTimer(metrics);
+    private final LinkMonitor linkMonitor = new LinkMonitor();
+    private final AtomicInteger pingSequence = new AtomicInteger();
+    private final byte[] pingFrame = new byte[GameFrameCodec.MAX_PING_LENGTH];
+    private volatile boolean adaptiveReadTimeout;
+    private ScheduledExecutorService heartbeat;
+    private volatile CompletableFuture<Duration> heartbeatPing;
+    private volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    private WireFormat wireFormat;
+    private int retainedRequestLength;
+    private boolean taggingNegotiated;
+    private volatile RoundMultiplexer multiplexer;
+    private volatile int fallbackBaudRate;
 
     /**
-     * Initializes the game controller with a specific serial port.
+     * Initializes the game controller with a specific serial port using CSV framing.
      *
      * @param portNumber the index of the serial port to be used for communication
      */
     public GameController(int portNumber) {
-        communication = new SerialCommunication(SerialPort.getCommPorts()[portNumber]);
+        this(portNumber, WireFormat.CSV);
+    }
+
+    /**
+     * Initializes the game controller with a specific serial port and a preferred wire format.
+     * <p>
+     * When {@link WireFormat#BINARY} is preferred, the format is negotiated with the server before the first
+     * round. The handshake is sent again after a resync while it times out or is answered with an empty frame, as
+     * happens while the board is still resetting after the port was opened. CSV is used if the server does not
+     * accept binary framing.
+     * </p>
+     *
+     * @param portNumber the index of the serial port to be used for communication
+     * @param preferredWireFormat the wire format to ask the server for
+     */
+    public GameController(int portNumber, WireFormat preferredWireFormat) {
+        this(new SerialCommunication(SerialPort.getCommPorts()[portNumber]), preferredWireFormat);
+    }
+
+    /**
+     * Initializes the game controller on top of an existing communication channel using CSV framing.
+     *
+     * @param communication the channel used to talk to the server, e.g. a {@link application.communication.ServerEmulator}
+     */
+    public GameController(Communication communication) {
+        this(communication, WireFormat.CSV);
+    }
+
+    /**
+     * Initializes the game controller on top of an existing communication channel and a preferred wire format.
+     *
+     * @param communication the channel used to talk to the server
+     * @param preferredWireFormat the wire format to ask the server for
+     */
+    public GameController(Communication communication, WireFormat preferredWireFormat) {
+        this.communication = communication;
+        this.preferredWireFormat = preferredWireFormat;
+        if (preferredWireFormat == WireFormat.CSV) {
+            wireFormat = WireFormat.CSV;
+        }
+    }
+
+    /**
+     * Asks the server for binary framing and falls back to CSV if the server does not accept it.
+     *
+     * @return the wire format used for the following rounds
+     * @throws IOException if an I/O error occurs during the handshake
+     */
+    public WireFormat negotiateWireFormat() throws IOException {
+        String reply = handshake(GameFrameCodec.HANDSHAKE_REQUEST);
+        wireFormat = GameFrameCodec.HANDSHAKE_ACCEPTED.equals(reply) ? WireFormat.BINARY : WireFormat.CSV;
+        return wireFormat;
+    }
+
+    /**
+     * Asks the server for tagged binary frames, which let asynchronous rounds share the link.
+     * Tagged frames are only used together with binary framing.
+     *
+     * @return {@code true} if the server accepts tagged binary frames
+     * @throws IOException if an I/O error occurs during the handshake
+     */
+    public boolean negotiateTagging() throws IOException {
+        if (wireFormat == null) {
+            negotiateWireFormat();
+        }
+        return wireFormat == WireFormat.BINARY
+                && GameFrameCodec.TAG_HANDSHAKE_ACCEPTED.equals(handshake(GameFrameCodec.TAG_HANDSHAKE_REQUEST));
+    }
+
+    /**
+     * Returns whether asynchronous rounds are multiplexed over the link with correlation tags.
+     *
+     * @return {@code true} once tagged binary frames have been negotiated for asynchronous rounds
+     */
+    public boolean isMultiplexing() {
+        return multiplexer != null;
+    }
+
+    /**
+     * Moves the link to the fastest of 1000000, 500000, 250000 and 115200 baud that both sides support.
+     *
+     * @return the baud rate in use afterwards, or 0 if the link has no baud rate
+     * @throws IOException if an I/O error occurs during the handshake
+     * @see #negotiateBaudRate(int...)
+     */
+    public int negotiateBaudRate() throws IOException {
+        return negotiateBaudRate(HIGH_SPEED_BAUD_RATES);
+    }
+
+    /**
+     * Moves the link from its current baud rate to the first of the given rates that both sides support.
+     * <p>
+     * Each rate above the current one is requested at the current rate. If the server echoes the request, both
+     * sides switch and the new rate is verified with a heartbeat. If the heartbeat is not answered in time, the
+     * client switches back, waits until the server has fallen back as well, and tries the next rate. The
+     * negotiation stops at the first rate that works.
+     * </p>
+     * <p>
+     * A request that times out or is answered with an empty frame, such as one swallowed by a board that is still
+     * resetting after the port was opened or one garbled on the line, is sent again after a resync as described by
+     * the {@link RetryPolicy}. Firmware without baud rate negotiation does not answer the request at all, so the
+     * negotiation also stops once every attempt has timed out, and the link stays at its current rate. It must
+     * happen before asynchronous rounds and heartbeats are started.
+     * </p>
+     *
+     * @param baudRates the rates to try, fastest first
+     * @return the baud rate in use afterwards, or 0 if the link has no baud rate
+     * @throws IOException if an I/O error occurs during the handshake
+     */
+    public synchronized int negotiateBaudRate(int... baudRates) throws IOException {
+        int currentBaudRate = communication.baudRate();
+        if (currentBaudRate == 0) {
+            return 0;
+        }
+        if (fallbackBaudRate == 0) {
+            fallbackBaudRate = currentBaudRate;
+            linkMonitor.addListener(this::onLinkStateChanged);
+        }
+
+        for (int baudRate : baudRates) {
+            if (baudRate <= currentBaudRate) {
+                continue;
+            }
+            String request = GameFrameCodec.BAUD_PREFIX + baudRate;
+            String reply;
+            try {
+                reply = handshake(request + "\n");
+            } catch (ReadTimeoutException e) {
+                // Firmware without baud rate negotiation does not answer the request
+                break;
+            }
+            if (reply.isEmpty()) {
+                // The board kept rejecting the request line
+                break;
+            }
+            if (!reply.equals(request)) {
+                continue;
+            }
+
+            long switchedAt = System.nanoTime();
+            communication.setBaudRate(baudRate);
+            communication.discardInput();
+            if (verifyBaudRate()) {
+                return baudRate;
+            }
+            communication.setBaudRate(currentBaudRate);
+            sleepUntil(switchedAt + (GameFrameCodec.BAUD_VERIFY_MILLIS + BAUD_FALLBACK_MARGIN_MILLIS) * 1_000_000L);
+            communication.discardInput();
+        }
+        return currentBaudRate;
+    }
+
+    private boolean verifyBaudRate() throws IOException {
+        byte[] frame = new byte[GameFrameCodec.MAX_PING_LENGTH];
+        int sequence = pingSequence.getAndIncrement() & (GameFrameCodec.PING_SEQUENCE_COUNT - 1);
+        long deadline = System.nanoTime()
+                + Math.min(retryPolicy.readTimeout().toNanos(), GameFrameCodec.BAUD_VERIFY_MILLIS * 1_000_000L);
+        communication.sendBytes(frame, 0, GameFrameCodec.encodePing(sequence, frame, 0));
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                int frameLength = communication.receiveFrame(RESPONSE_DELIMITER, responseFrame, Duration.ofNanos(remaining));
+                if (GameFrameCodec.decodePong(responseFrame, frameLength) == sequence) {
+                    return true;
+                }
+            } catch (ReadTimeoutException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedIOException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the baud rate fallback");
+            }
+        }
+    }
+
+    private void onLinkStateChanged(LinkMonitor.State state) {
+        if (state != LinkMonitor.State.DOWN) {
+            return;
+        }
+        try {
+            ioExecutor.execute(this::fallBackBaudRate);
+        } catch (RejectedExecutionException e) {
+            // The controller is closed
+        }
+    }
+
+    private void fallBackBaudRate() {
+        try {
+            if (communication.baudRate() != fallbackBaudRate) {
+                communication.setBaudRate(fallbackBaudRate);
+                communication.discardInput();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to fall back to " + fallbackBaudRate + " baud: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a request line and returns the reply, sending it again after a resync while it times out or is answered
+     * with the empty frame of a line the board could not understand.
+     *
+     * @return the trimmed reply, which is only empty if the board rejected every attempt
+     */
+    private String handshake(String request) throws IOException {
+        RetryPolicy policy = effectiveRetryPolicy();
+        for (int attempt = 1; ; attempt++) {
+            communication.sendMessage(request);
+            try {
+                int length = receiveResponseFrame(policy.readTimeout());
+                String reply = new String(responseFrame, 0, length, StandardCharsets.US_ASCII).trim();
+                if (!reply.isEmpty() || attempt >= policy.maxAttempts()) {
+                    return reply;
+                }
+            } catch (ReadTimeoutException e) {
+                if (attempt >= policy.maxAttempts()) {
+                    throw e;
+                }
+            }
+            resync(policy.backoff(attempt));
+        }
+    }
+
+    /**
+     * Returns the policy used to wait for responses and retry rounds.
+     *
+     * @return the current retry policy
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the policy used to wait for responses and retry rounds.
+     *
+     * @param retryPolicy the retry policy for the following rounds
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Returns the monitor that tracks the round-trip time and the health of the link.
+     *
+     * @return the link monitor of this controller
+     */
+    public LinkMonitor getLinkMonitor() {
+        return linkMonitor;
+    }
+
+    /**
+     * Sets whether the read timeout adapts to the measured round-trip time.
+     * <p>
+     * When enabled and heartbeats have been answered, responses are awaited for the read timeout suggested by the
+     * {@link LinkMonitor}, but at least {@link #MIN_ADAPTIVE_READ_TIMEOUT} and at most the read timeout of the
+     * retry policy. Lost frames are then detected and retried sooner on a fast link.
+     * </p>
+     *
+     * @param adaptiveReadTimeout {@code true} to adapt the read timeout
+     */
+    public void setAdaptiveReadTimeout(boolean adaptiveReadTimeout) {
+        this.adaptiveReadTimeout = adaptiveReadTimeout;
+    }
+
+    /**
+     * Returns whether the read timeout adapts to the measured round-trip time.
+     *
+     * @return {@code true} if adaptive read timeouts are enabled
+     */
+    public boolean isAdaptiveReadTimeout() {
+        return adaptiveReadTimeout;
+    }
+
+    private RetryPolicy effectiveRetryPolicy() {
+        RetryPolicy policy = retryPolicy;
+        if (!adaptiveReadTimeout) {
+            return policy;
+        }
+        Duration readTimeout = linkMonitor.suggestedReadTimeout(MIN_ADAPTIVE_READ_TIMEOUT, policy.readTimeout());
+        return readTimeout.equals(policy.readTimeout()) ? policy : policy.withReadTimeout(readTimeout);
+    }
+
+    /**
+     * Returns the wire format used for game rounds.
+     *
+     * @return the negotiated wire format, or the preferred one if the handshake has not happened yet
+     */
+    public WireFormat getWireFormat() {
+        return wireFormat == null ? preferredWireFormat : wireFormat;
     }
 
     /**
@@ -32,31 +428,395 @@ public class GameController {
      * @throws IOException if an I/O error occurs during message transmission
      */
     public void sendModeAndMoves(String mode, Player.Move move1, Player.Move move2) throws IOException {
-        communication.sendMessage(mode + "," + move1.name() + "," + move2.name() + "\n");
+        GameMode gameMode = GameMode.valueOf(mode);
+        sendRequest(gameMode, gameMode, move1, move2);
+    }
+
+    private void sendRequest(GameMode gameMode, GameMode recordedMode, Player.Move move1, Player.Move move2) throws IOException {
+        if (wireFormat == null) {
+            negotiateWireFormat();
+        }
+
+        int length;
+        if (wireFormat == WireFormat.BINARY) {
+            requestFrame[0] = GameFrameCodec.encodeRequest(gameMode, move1, move2);
+            requestFrame[1] = '\n';
+            length = 2;
+        } else {
+            length = GameFrameCodec.encodeTextRequest(gameMode, move1, move2, requestFrame, 0);
+        }
+        roundTimer.sent(recordedMode);
+        retainedRequestLength = 0;
+        communication.sendBytes(requestFrame, 0, length);
+        retainedRequestLength = length;
     }
 
     /**
      * Receives the game result from the server.
+     * <p>
+     * The response is parsed directly from the received bytes and one of the shared {@link GameResponseDto}
+     * instances is returned, so a round does not allocate. If the response to a request sent with
+     * {@link #sendModeAndMoves(String, Player.Move, Player.Move)} does not arrive in time, cannot be parsed or
+     * is buried in line noise that overflows the receive buffer, the input is resynchronized and the request is sent
+     * again as described by the {@link RetryPolicy}.
+     * </p>
      *
      * @return the game result as a {@link GameResponseDto} containing the outcome and moves
-     * @throws RuntimeException if the message cannot be received or parsed correctly
+     * @throws ReadTimeoutException if no response arrived within the read timeout of the last attempt
+     * @throws IOException if the response cannot be received or parsed correctly
+     */
+    public GameResponseDto receiveResult() throws IOException {
+        RetryPolicy policy = effectiveRetryPolicy();
+        for (int attempt = 1; ; attempt++) {
+            IOException failure;
+            try {
+                GameResponseDto response = readResult(policy.readTimeout());
+                retainedRequestLength = 0;
+                return response;
+            } catch (ReadTimeoutException | MalformedResponseException | FrameTooLongException e) {
+                failure = e;
+            } catch (IOException e) {
+                retainedRequestLength = 0;
+                roundTimer.clear();
+                throw e;
+            }
+
+            if (attempt >= policy.maxAttempts() || retainedRequestLength == 0) {
+                retainedRequestLength = 0;
+                roundTimer.clear();
+                throw failure;
+            }
+            resync(policy.backoff(attempt));
+            communication.sendBytes(requestFrame, 0, retainedRequestLength);
+        }
+    }
+
+    private GameResponseDto readResult(Duration timeout) throws IOException {
+        int frameLength;
+        try {
+            frameLength = receiveResponseFrame(timeout);
+        } catch (FrameTooLongException e) {
+            // line noise without a delimiter, already dropped by the channel
+            metrics.recordParseFailure();
+            throw e;
+        }
+
+        GameResponseDto response;
+        try {
+            if (frameLength == 1 && GameFrameCodec.isBinary(responseFrame[0])) {
+                response = GameFrameCodec.decodeResponse(responseFrame[0]);
+            } else {
+                response = GameFrameCodec.decodeTextResponse(responseFrame, frameLength);
+            }
+        } catch (IllegalArgumentException e) {
+            metrics.recordParseFailure();
+            throw new MalformedResponseException(e);
+        }
+        roundTimer.received();
+        linkMonitor.recordAnswer();
+        return response;
+    }
+
+    /**
+     * Receives the next frame that is not a late reply to a heartbeat.
+     */
+    private int receiveResponseFrame(Duration timeout) throws IOException {
+        while (true) {
+            int frameLength = communication.receiveFrame(RESPONSE_DELIMITER, responseFrame, timeout);
+            if (GameFrameCodec.decodePong(responseFrame, frameLength) < 0) {
+                return frameLength;
+            }
+        }
+    }
+
+    /**
+     * Waits for the backoff while discarding every frame that arrives, then drops the start of an incomplete frame.
+     * Afterwards the next received byte is expected to start a new response.
+     */
+    private void resync(Duration backoff) throws IOException {
+        long deadline = System.nanoTime() + backoff.toNanos();
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                communication.receiveFrame(RESPONSE_DELIMITER, responseFrame, Duration.ofNanos(remaining));
+            } catch (ReadTimeoutException e) {
+                break;
+            }
+        }
+        communication.discardInput();
+    }
+
+    /**
+     * Plays one round without blocking the caller. May be called from any thread.
+     * <p>
+     * The returned future completes with the server response, or exceptionally if the round fails or does not
+     * finish within {@link #DEFAULT_ROUND_TIMEOUT}. The first round negotiates the wire format and tagged frames on
+     * the dedicated I/O thread of this controller. If the server accepts tagged frames, up to
+     * {@link #BINARY_PIPELINE_DEPTH} rounds per server are sent ahead of their responses and matched by tag;
+     * otherwise rounds are executed one after another on the I/O thread in submission order. Cancelling the future,
+     * or letting it time out, abandons the round, so the link is free for the next one. Callers on the JavaFX
+     * application thread should hand the result back with {@code Platform.runLater}.
+     * </p>
+     *
+     * @param mode the game mode
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @return a future completed with the game result
+     */
+    public CompletableFuture<GameResponseDto> playRoundAsync(GameMode mode, Player.Move move1, Player.Move move2) {
+        return playRoundAsync(mode, mode, move1, move2);
+    }
+
+    /**
+     * Plays one Man vs AI round in which the client picks the AI move, e.g. from an opponent model, without
+     * blocking the caller. May be called from any thread.
+     * <p>
+     * The server only plays a move it is given in Man vs Man rounds, so the round is sent as one, but its latency is
+     * recorded as a Man vs AI round. Otherwise the round behaves like {@link #playRoundAsync(GameMode, Player.Move,
+     * Player.Move)}.
+     * </p>
+     *
+     * @param move the move of the human player
+     * @param aiMove the move of the AI
+     * @return a future completed with the game result
+     */
+    public CompletableFuture<GameResponseDto> playAgainstAiMoveAsync(Player.Move move, Player.Move aiMove) {
+        return playRoundAsync(GameMode.MAN_VS_MAN, GameMode.MAN_VS_AI, move, aiMove);
+    }
+
+    private CompletableFuture<GameResponseDto> playRoundAsync(GameMode mode, GameMode recordedMode,
+                                                              Player.Move move1, Player.Move move2) {
+        CompletableFuture<GameResponseDto> round = new CompletableFuture<>();
+        RoundMultiplexer mux = multiplexer;
+        if (mux != null) {
+            mux.submit(round, mode, recordedMode, move1, move2);
+        } else {
+            ioExecutor.execute(() -> playOnIoThread(round, mode, recordedMode, move1, move2));
+        }
+        round.orTimeout(DEFAULT_ROUND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        round.whenComplete((response, error) -> {
+            if (error instanceof TimeoutException) {
+                metrics.recordTimeout();
+            }
+            if ((error instanceof TimeoutException || error instanceof CancellationException) && multiplexer == null) {
+                communication.cancelReceive();
+            }
+        });
+        return round;
+    }
+
+    private void playOnIoThread(CompletableFuture<GameResponseDto> round, GameMode mode, GameMode recordedMode,
+                                Player.Move move1, Player.Move move2) {
+        if (round.isDone()) {
+            return;
+        }
+        try {
+            if (!taggingNegotiated) {
+                if (preferredWireFormat == WireFormat.BINARY && negotiateTagging()) {
+                    int maxInFlight = Math.min(GameFrameCodec.TAG_COUNT, BINARY_PIPELINE_DEPTH * Math.max(1, communication.parallelism()));
+                    RoundMultiplexer mux = new RoundMultiplexer(communication, maxInFlight, this::effectiveRetryPolicy, linkMonitor);
+                    mux.start();
+                    multiplexer = mux;
+                }
+                taggingNegotiated = true;
+            }
+
+            RoundMultiplexer mux = multiplexer;
+            if (mux != null) {
+                mux.submit(round, mode, recordedMode, move1, move2);
+                return;
+            }
+            sendRequest(mode, recordedMode, move1, move2);
+            round.complete(receiveResult());
+        } catch (IOException | RuntimeException e) {
+            round.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Sends a heartbeat without blocking the caller. May be called from any thread.
+     * <p>
+     * The returned future completes with the round-trip time once the server echoed the heartbeat, or
+     * exceptionally if no reply arrived within the read timeout of the retry policy. The outcome is recorded in
+     * the {@link LinkMonitor}. While rounds are played one after another, the heartbeat waits for the rounds
+     * submitted before it. An empty frame, the reply of a board that could not understand the heartbeat line, still
+     * shows that the board is alive and counts as an answer. Firmware without heartbeat support gives no reliable
+     * answer, so its heartbeats time out and count as misses.
+     * </p>
+     *
+     * @return a future completed with the round-trip time
      */
-    public GameResponseDto receiveResult() {
-        String rawResponse;
+    public CompletableFuture<Duration> pingAsync() {
+        CompletableFuture<Duration> ping = new CompletableFuture<>();
+        int sequence = pingSequence.getAndIncrement() & (GameFrameCodec.PING_SEQUENCE_COUNT - 1);
+        RoundMultiplexer mux = multiplexer;
+        if (mux != null) {
+            pingMultiplexed(mux, ping, sequence);
+        } else {
+            ioExecutor.execute(() -> pingOnIoThread(ping, sequence));
+        }
+
+        ping.whenComplete((roundTripTime, error) -> {
+            if (error == null) {
+                linkMonitor.recordRoundTrip(roundTripTime);
+            } else if (!(error instanceof CancellationException)) {
+                linkMonitor.recordMiss();
+            }
+        });
+        return ping;
+    }
+
+    /**
+     * Sends a heartbeat whenever the server has not been heard from for the given interval, so a dead link is
+     * reported by the {@link LinkMonitor} before the next round is played. Busy links are not pinged, since their
+     * responses already show that the server is alive.
+     *
+     * @param interval the idle time after which a heartbeat is sent
+     * @throws IllegalStateException if the heartbeat is already running
+     */
+    public synchronized void startHeartbeat(Duration interval) {
+        if (heartbeat != null) {
+            throw new IllegalStateException("Heartbeat already started");
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-controller-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, interval.toMillis());
+        heartbeat.scheduleWithFixedDelay(() -> beat(interval), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void beat(Duration interval) {
+        CompletableFuture<Duration> previous = heartbeatPing;
+        if ((previous == null || previous.isDone()) && linkMonitor.sinceLastAnswer().compareTo(interval) >= 0) {
+            heartbeatPing = pingAsync();
+        }
+    }
+
+    private void pingMultiplexed(RoundMultiplexer mux, CompletableFuture<Duration> ping, int sequence) {
+        ping.orTimeout(retryPolicy.readTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        mux.ping(sequence, ping);
+    }
+
+    private void pingOnIoThread(CompletableFuture<Duration> ping, int sequence) {
+        RoundMultiplexer mux = multiplexer;
+        if (mux != null) {
+            pingMultiplexed(mux, ping, sequence);
+            return;
+        }
         try {
-            rawResponse = communication.receiveMessageUntil("|");
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to receive a message from server" + e);
+            long sentAt = System.nanoTime();
+            long deadline = sentAt + retryPolicy.readTimeout().toNanos();
+            communication.sendBytes(pingFrame, 0, GameFrameCodec.encodePing(sequence, pingFrame, 0));
+            while (true) {
+                Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                int frameLength = communication.receiveFrame(RESPONSE_DELIMITER, responseFrame, remaining);
+                // An empty frame rejects a garbled heartbeat line but comes from a live board; others are late replies
+                if (frameLength == 0 || GameFrameCodec.decodePong(responseFrame, frameLength) == sequence) {
+                    ping.complete(Duration.ofNanos(System.nanoTime() - sentAt));
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            ping.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Plays a batch of rounds with pipelined requests.
+     * <p>
+     * Requests are written back-to-back without waiting for each answer, keeping up to
+     * {@link #CSV_PIPELINE_DEPTH} or {@link #BINARY_PIPELINE_DEPTH} rounds per server in flight depending on
+     * the wire format. The server answers in order, so responses are matched to requests by position and checked
+     * against the moves that were sent by human players.
+     * </p>
+     *
+     * @param requests the rounds to play
+     * @return the responses, in the order of {@code requests}
+     * @throws ReadTimeoutException if a response does not arrive within the read timeout of the retry policy
+     * @throws IOException if an I/O error occurs or a response does not match its request
+     */
+    public List<GameResponseDto> playRounds(List<GameRequestDto> requests) throws IOException {
+        if (wireFormat == null) {
+            negotiateWireFormat();
+        }
+        retainedRequestLength = 0;
+        int pipelineDepth = (wireFormat == WireFormat.BINARY ? BINARY_PIPELINE_DEPTH : CSV_PIPELINE_DEPTH)
+                * Math.max(1, communication.parallelism());
+        List<GameResponseDto> responses = new ArrayList<>(requests.size());
+        int sent = 0;
+
+        while (responses.size() < requests.size()) {
+            int burst = Math.min(pipelineDepth - (sent - responses.size()), requests.size() - sent);
+            if (burst > 0) {
+                int length = 0;
+                for (int i = sent; i < sent + burst; i++) {
+                    length = encodeRequest(requests.get(i), length);
+                }
+                communication.sendBytes(batchFrame, 0, length);
+                sent += burst;
+            }
+
+            GameRequestDto request = requests.get(responses.size());
+            GameResponseDto response = receiveResult();
+            if (!matches(request, response)) {
+                throw new IOException("Response " + response + " does not match request " + request);
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private int encodeRequest(GameRequestDto request, int offset) {
+        roundTimer.sent(request.mode());
+        if (batchFrame.length - offset < GameFrameCodec.MAX_TEXT_REQUEST_LENGTH) {
+            batchFrame = Arrays.copyOf(batchFrame, batchFrame.length * 2);
+        }
+
+        if (wireFormat == WireFormat.BINARY) {
+            batchFrame[offset] = GameFrameCodec.encodeRequest(request.mode(), request.player1Move(), request.player2Move());
+            batchFrame[offset + 1] = '\n';
+            return offset + 2;
         }
-        String[] responseData = rawResponse.split(",");
 
-        return new GameResponseDto(responseData[0], Player.Move.valueOf(responseData[1]), Player.Move.valueOf(responseData[2]));
+        return GameFrameCodec.encodeTextRequest(request.mode(), request.player1Move(), request.player2Move(), batchFrame, offset);
+    }
+
+    private static boolean matches(GameRequestDto request, GameResponseDto response) {
+        return switch (request.mode()) {
+            case MAN_VS_MAN -> response.player1Move() == request.player1Move()
+                    && response.player2Move() == request.player2Move();
+            case MAN_VS_AI -> response.player1Move() == request.player1Move();
+            case AI_VS_AI -> true;
+        };
     }
 
     /**
-     * Closes the communication connection.
+     * Stops the I/O threads and the heartbeat, fails the asynchronous rounds that are still running and closes the
+     * communication connection.
      */
     public void close() {
+        synchronized (this) {
+            if (heartbeat != null) {
+                heartbeat.shutdownNow();
+            }
+        }
+        RoundMultiplexer mux = multiplexer;
+        if (mux != null) {
+            mux.close();
+        }
+        ioExecutor.shutdownNow();
         communication.close();
     }
+
+    /**
+     * Signals a response frame that is neither a valid CSV nor a valid binary response.
+     */
+    private static class MalformedResponseException extends IOException {
+        MalformedResponseException(IllegalArgumentException cause) {
+            super("Malformed response from server: " + cause.getMessage(), cause);
+        }
+    }
 }
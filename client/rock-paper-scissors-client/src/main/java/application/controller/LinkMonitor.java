@@ -0,0 +1,195 @@
+package application.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the health of the link to the server from heartbeats and answered rounds.
+ * <p>
+ * Every answered heartbeat is a round-trip time sample. Like the retransmission timer of TCP (RFC 6298), the
+ * monitor keeps a smoothed round-trip time with a gain of 1/8 and a round-trip time variation with a gain of 1/4,
+ * and suggests a read timeout from them. An answered heartbeat or round marks the link as {@link State#ALIVE};
+ * unanswered heartbeats in a row mark it as {@link State#DEGRADED} and, from {@link #DOWN_AFTER_MISSES} on, as
+ * {@link State#DOWN}.
+ * </p>
+ * <p>
+ * The monitor is thread-safe. Listeners are called on the thread that caused the change of state.
+ * </p>
+ */
+public class LinkMonitor {
+    /**
+     * The number of unanswered heartbeats in a row after which the link is considered down.
+     */
+    public static final int DOWN_AFTER_MISSES = 3;
+
+    /**
+     * The factor applied to the round-trip time estimate for the suggested read timeout, which leaves room for
+     * responses that are longer than a heartbeat reply and for the server to play the round.
+     */
+    static final int READ_TIMEOUT_FACTOR = 2;
+
+    private final List<Consumer<State>> listeners = new CopyOnWriteArrayList<>();
+    private volatile State state = State.UNKNOWN;
+    private long smoothedRttNanos;
+    private long rttVariationNanos;
+    private long samples;
+    private int missedInRow;
+    private volatile long lastAnswerAt = System.nanoTime();
+
+    /**
+     * The health of the link as seen by the monitor.
+     */
+    public enum State {
+        /**
+         * Nothing has been heard from the server yet.
+         */
+        UNKNOWN,
+
+        /**
+         * The server answered the last heartbeat or round.
+         */
+        ALIVE,
+
+        /**
+         * The server missed the last heartbeat, but fewer than {@link #DOWN_AFTER_MISSES} in a row.
+         */
+        DEGRADED,
+
+        /**
+         * The server missed at least {@link #DOWN_AFTER_MISSES} heartbeats in a row.
+         */
+        DOWN
+    }
+
+    /**
+     * Records an answered heartbeat.
+     *
+     * @param roundTripTime the time between sending the heartbeat and receiving its reply
+     */
+    public void recordRoundTrip(Duration roundTripTime) {
+        long sample = roundTripTime.toNanos();
+        synchronized (this) {
+            if (samples++ == 0) {
+                smoothedRttNanos = sample;
+                rttVariationNanos = sample / 2;
+            } else {
+                rttVariationNanos += (Math.abs(smoothedRttNanos - sample) - rttVariationNanos) / 4;
+                smoothedRttNanos += (sample - smoothedRttNanos) / 8;
+            }
+        }
+        recordAnswer();
+    }
+
+    /**
+     * Records an answer from the server that is no round-trip time sample, such as the response to a round.
+     */
+    public void recordAnswer() {
+        lastAnswerAt = System.nanoTime();
+        if (state == State.ALIVE) {
+            return;
+        }
+        State previous;
+        synchronized (this) {
+            missedInRow = 0;
+            previous = state;
+            state = State.ALIVE;
+        }
+        notifyListeners(previous, State.ALIVE);
+    }
+
+    /**
+     * Records a heartbeat that was not answered in time.
+     */
+    public void recordMiss() {
+        State previous;
+        State current;
+        synchronized (this) {
+            missedInRow++;
+            previous = state;
+            current = missedInRow >= DOWN_AFTER_MISSES ? State.DOWN : State.DEGRADED;
+            state = current;
+        }
+        notifyListeners(previous, current);
+    }
+
+    /**
+     * Returns the current health of the link.
+     *
+     * @return the state of the link
+     */
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Returns the smoothed round-trip time.
+     *
+     * @return the smoothed round-trip time, or {@code null} if no heartbeat was answered yet
+     */
+    public synchronized Duration smoothedRtt() {
+        return samples == 0 ? null : Duration.ofNanos(smoothedRttNanos);
+    }
+
+    /**
+     * Returns the round-trip time variation.
+     *
+     * @return the mean deviation of the round-trip time, or {@code null} if no heartbeat was answered yet
+     */
+    public synchronized Duration rttVariation() {
+        return samples == 0 ? null : Duration.ofNanos(rttVariationNanos);
+    }
+
+    /**
+     * Returns the time since the server last answered a heartbeat or round, or since the monitor was created.
+     *
+     * @return the time since the last answer
+     */
+    public Duration sinceLastAnswer() {
+        return Duration.ofNanos(System.nanoTime() - lastAnswerAt);
+    }
+
+    /**
+     * Suggests a read timeout from the measured round-trip time: twice the smoothed round-trip time plus four
+     * times its variation, limited to the given bounds.
+     *
+     * @param minimum the shortest timeout to suggest
+     * @param maximum the longest timeout to suggest, also suggested while there are no samples
+     * @return the suggested read timeout
+     */
+    public synchronized Duration suggestedReadTimeout(Duration minimum, Duration maximum) {
+        if (samples == 0) {
+            return maximum;
+        }
+        long timeout = READ_TIMEOUT_FACTOR * (smoothedRttNanos + 4 * rttVariationNanos);
+        return Duration.ofNanos(Math.max(minimum.toNanos(), Math.min(maximum.toNanos(), timeout)));
+    }
+
+    /**
+     * Registers a listener that is told about every change of state.
+     *
+     * @param listener the listener, called with the new state
+     */
+    public void addListener(Consumer<State> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(Consumer)}.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Consumer<State> listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners(State previous, State current) {
+        if (previous == current) {
+            return;
+        }
+        for (Consumer<State> listener : listeners) {
+            listener.accept(current);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package application.controller;
+
+import java.time.Duration;
+
+/**
+ * Describes how {@link GameController} waits for a response and retries a round that got no valid answer.
+ * <p>
+ * Every attempt waits up to {@code readTimeout} for the response. After a timeout or an unparseable response
+ * the controller backs off, discarding whatever the server sends in the meantime so the next frame starts
+ * after a {@code '|'} delimiter again, and sends the request once more. The backoff starts at
+ * {@code initialBackoff} and doubles with every retry up to {@code maxBackoff}.
+ * </p>
+ *
+ * @param maxAttempts the number of times a request is sent before the failure is reported, at least 1
+ * @param readTimeout the time to wait for a response per attempt
+ * @param initialBackoff the pause before the first retry
+ * @param maxBackoff the upper limit of the pause between retries
+ */
+public record RetryPolicy(int maxAttempts, Duration readTimeout, Duration initialBackoff, Duration maxBackoff) {
+    /**
+     * Three attempts of one second each with a backoff of 100 ms, 200 ms, and so on up to one second.
+     * All attempts fit into {@link GameController#DEFAULT_ROUND_TIMEOUT}.
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(1));
+
+    /**
+     * Validates the policy.
+     */
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required");
+        }
+        if (readTimeout.isNegative() || initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Timeouts must not be negative and the maximum backoff not below the initial one");
+        }
+    }
+
+    /**
+     * Returns a copy of this policy with another read timeout.
+     *
+     * @param readTimeout the time to wait for a response per attempt
+     * @return the policy with the given read timeout
+     */
+    public RetryPolicy withReadTimeout(Duration readTimeout) {
+        return new RetryPolicy(maxAttempts, readTimeout, initialBackoff, maxBackoff);
+    }
+
+    /**
+     * Returns the pause before a retry.
+     *
+     * @param attempt the number of the attempt that just failed, starting at 1
+     * @return the backoff before the next attempt
+     */
+    public Duration backoff(int attempt) {
+        Duration backoff = initialBackoff;
+        for (int i = 1; i < attempt && backoff.compareTo(maxBackoff) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,407 @@
+package application.controller;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import application.communication.Communication;
+import application.communication.FrameTooLongException;
+import application.communication.ReadTimeoutException;
+import application.dto.GameFrameCodec;
+import application.dto.GameResponseDto;
+import application.game.GameMode;
+import application.game.Player;
+import application.metrics.ClientMetrics;
+
+/**
+ * Lets many concurrent rounds share one link by tagging every request with a correlation tag.
+ * <p>
+ * Rounds are queued for a single writer thread, which registers each round under a free tag and sends it as a
+ * tagged binary request. A reader thread takes the tagged responses off the link and completes the round
+ * registered under the echoed tag, so a response is never handed to the wrong caller, even after a round timed
+ * out or was cancelled. At most {@code maxInFlight} rounds are on the link at a time; further rounds wait in the
+ * queue.
+ * </p>
+ * <p>
+ * A round that is not answered within the read timeout of the {@link RetryPolicy} is sent again with the same tag
+ * after the backoff of the policy, and fails with a {@link ReadTimeoutException} once all attempts are used up.
+ * A tag whose round was sent more than once, failed or was abandoned by its caller is kept out of use for one read
+ * timeout, so a late answer finds no round to complete and is dropped.
+ * </p>
+ * <p>
+ * Heartbeats are sent next to the rounds and their replies are picked out of the response stream by the reader.
+ * Every answered round is reported to the {@link LinkMonitor}.
+ * </p>
+ */
+final class RoundMultiplexer {
+    private static final byte[] RESPONSE_DELIMITER = {'|'};
+
+    private final Communication communication;
+    private final Supplier<RetryPolicy> retryPolicy;
+    private final LinkMonitor linkMonitor;
+    private final ClientMetrics metrics = ClientMetrics.global();
+    private final BlockingQueue<Round> submissions = new LinkedBlockingQueue<>();
+    private final Semaphore inFlightPermits;
+    private final Round[] inFlight = new Round[GameFrameCodec.TAG_COUNT];
+    private final long[] reservedUntil = new long[GameFrameCodec.TAG_COUNT];
+    private final ArrayDeque<Round> expired = new ArrayDeque<>();
+    private final byte[] requestFrame = new byte[3];
+    private final byte[] responseFrame = new byte[64];
+    private final byte[] pingFrame = new byte[GameFrameCodec.MAX_PING_LENGTH];
+    private final Object sendLock = new Object();
+    private final Thread writer;
+    private final Thread reader;
+    private int nextTag;
+    private boolean readerIdle;
+    private volatile Ping pendingPing;
+    private volatile IOException failure;
+
+    /**
+     * Creates a multiplexer on top of a channel whose server accepted tagged binary frames.
+     *
+     * @param communication the channel to the server
+     * @param maxInFlight the number of rounds kept on the link at a time, at most {@link GameFrameCodec#TAG_COUNT}
+     * @param retryPolicy supplies the policy used to wait for responses and resend requests
+     * @param linkMonitor the monitor told about every answered round
+     */
+    RoundMultiplexer(Communication communication, int maxInFlight, Supplier<RetryPolicy> retryPolicy, LinkMonitor linkMonitor) {
+        if (maxInFlight < 1 || maxInFlight > GameFrameCodec.TAG_COUNT) {
+            throw new IllegalArgumentException("Rounds in flight must be between 1 and " + GameFrameCodec.TAG_COUNT);
+        }
+        this.communication = communication;
+        this.retryPolicy = retryPolicy;
+        this.linkMonitor = linkMonitor;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.writer = daemon("game-controller-writer", this::runWriter);
+        this.reader = daemon("game-controller-reader", this::runReader);
+    }
+
+    /**
+     * Starts the writer and reader threads.
+     */
+    void start() {
+        writer.start();
+        reader.start();
+    }
+
+    /**
+     * Queues a round. The given future is completed with the response, or exceptionally if the round fails.
+     * Completing the future from outside, e.g. by a timeout or cancellation, abandons the round.
+     *
+     * @param result the future to complete
+     * @param mode the game mode sent to the server
+     * @param recordedMode the game mode the latency of the round is recorded under
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     */
+    void submit(CompletableFuture<GameResponseDto> result, GameMode mode, GameMode recordedMode,
+                Player.Move move1, Player.Move move2) {
+        IOException cause = failure;
+        if (cause != null) {
+            result.completeExceptionally(cause);
+            return;
+        }
+        submissions.add(new Round(result, mode, recordedMode, move1, move2));
+    }
+
+    /**
+     * Sends a heartbeat. The given future is completed with the round-trip time once the reply with the same
+     * sequence number arrives. A heartbeat replaces the previous one, whose reply is then ignored.
+     *
+     * @param sequence the sequence number of the heartbeat
+     * @param result the future to complete
+     */
+    void ping(int sequence, CompletableFuture<Duration> result) {
+        IOException cause = failure;
+        if (cause != null) {
+            result.completeExceptionally(cause);
+            return;
+        }
+        try {
+            synchronized (sendLock) {
+                int length = GameFrameCodec.encodePing(sequence, pingFrame, 0);
+                pendingPing = new Ping(sequence, System.nanoTime(), result);
+                communication.sendBytes(pingFrame, 0, length);
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(new IOException(e));
+        }
+    }
+
+    /**
+     * Stops both threads and fails every round that has not been answered yet.
+     */
+    void close() {
+        fail(new IOException("Game controller was closed"));
+    }
+
+    private void runWriter() {
+        try {
+            while (failure == null) {
+                Round round = submissions.take();
+                if (round.tag < 0) {
+                    if (round.result.isDone()) {
+                        continue;
+                    }
+                    inFlightPermits.acquire();
+                    if (!register(round)) {
+                        inFlightPermits.release();
+                        continue;
+                    }
+                } else if (!rearm(round)) {
+                    continue;
+                }
+
+                requestFrame[0] = GameFrameCodec.encodeTag(round.tag);
+                requestFrame[1] = GameFrameCodec.encodeRequest(round.mode, round.move1, round.move2);
+                requestFrame[2] = '\n';
+                synchronized (sendLock) {
+                    communication.sendBytes(requestFrame, 0, requestFrame.length);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(new IOException(e));
+        }
+    }
+
+    private void runReader() {
+        while (failure == null) {
+            try {
+                Duration wait = nextWait();
+                int frameLength = wait == null
+                        ? communication.receiveFrame(RESPONSE_DELIMITER, responseFrame)
+                        : communication.receiveFrame(RESPONSE_DELIMITER, responseFrame, wait);
+                dispatch(frameLength);
+            } catch (InterruptedIOException e) {
+                // The earliest deadline has passed, or the writer woke the idle reader up to watch a new round
+            } catch (FrameTooLongException e) {
+                // Line noise the channel has dropped; the rounds it hid are resent when their deadlines pass
+                metrics.recordParseFailure();
+            } catch (IOException e) {
+                fail(e);
+            } catch (RuntimeException e) {
+                fail(new IOException(e));
+            }
+            expireRounds();
+        }
+    }
+
+    private synchronized boolean register(Round round) throws InterruptedException {
+        int tag;
+        while ((tag = freeTag()) < 0) {
+            wait(Math.max(1, retryPolicy.get().readTimeout().toMillis()));
+        }
+        if (round.result.isDone() || failure != null) {
+            return false;
+        }
+
+        inFlight[tag] = round;
+        round.tag = tag;
+        round.firstSentAt = System.nanoTime();
+        nextTag = (tag + 1) % inFlight.length;
+        arm(round);
+        return true;
+    }
+
+    private synchronized boolean rearm(Round round) {
+        round.queued = false;
+        if (inFlight[round.tag] != round || round.result.isDone()) {
+            return false;
+        }
+        arm(round);
+        return true;
+    }
+
+    private void arm(Round round) {
+        round.attempts++;
+        round.deadline = System.nanoTime() + retryPolicy.get().readTimeout().toNanos();
+        if (readerIdle) {
+            readerIdle = false;
+            communication.cancelReceive();
+        }
+    }
+
+    private int freeTag() {
+        long now = System.nanoTime();
+        for (int i = 0; i < inFlight.length; i++) {
+            int tag = (nextTag + i) % inFlight.length;
+            if (inFlight[tag] == null && (reservedUntil[tag] == 0 || now - reservedUntil[tag] >= 0)) {
+                reservedUntil[tag] = 0;
+                return tag;
+            }
+        }
+        return -1;
+    }
+
+    private synchronized Duration nextWait() {
+        long earliest = 0;
+        boolean watching = false;
+        for (Round round : inFlight) {
+            if (round != null && !round.queued && (!watching || round.deadline - earliest < 0)) {
+                earliest = round.deadline;
+                watching = true;
+            }
+        }
+        readerIdle = !watching;
+        return watching ? Duration.ofNanos(Math.max(0, earliest - System.nanoTime())) : null;
+    }
+
+    private void dispatch(int frameLength) {
+        int sequence = GameFrameCodec.decodePong(responseFrame, frameLength);
+        if (sequence >= 0) {
+            Ping ping = pendingPing;
+            if (ping != null && ping.sequence == sequence) {
+                pendingPing = null;
+                ping.result.complete(Duration.ofNanos(System.nanoTime() - ping.sentAt));
+            }
+            return;
+        }
+
+        int tag;
+        GameResponseDto response;
+        try {
+            if (!GameFrameCodec.isTagged(responseFrame, frameLength)) {
+                throw new IllegalArgumentException("Untagged response");
+            }
+            tag = GameFrameCodec.decodeTag(responseFrame[0]);
+            response = GameFrameCodec.decodeResponse(responseFrame[1]);
+        } catch (IllegalArgumentException e) {
+            metrics.recordParseFailure();
+            return;
+        }
+
+        Round round;
+        synchronized (this) {
+            round = inFlight[tag];
+            if (round == null) {
+                return;
+            }
+            release(tag, round.attempts > 1);
+        }
+        metrics.recordRound(round.recordedMode, System.nanoTime() - round.firstSentAt);
+        linkMonitor.recordAnswer();
+        round.result.complete(response);
+    }
+
+    private void expireRounds() {
+        synchronized (this) {
+            RetryPolicy policy = retryPolicy.get();
+            long now = System.nanoTime();
+            for (int tag = 0; tag < inFlight.length; tag++) {
+                Round round = inFlight[tag];
+                if (round == null || round.queued) {
+                    continue;
+                }
+                if (round.result.isDone()) {
+                    release(tag, true);
+                } else if (now - round.deadline >= 0) {
+                    if (round.backingOff) {
+                        round.backingOff = false;
+                        round.queued = true;
+                        submissions.add(round);
+                    } else if (round.attempts < policy.maxAttempts()) {
+                        round.backingOff = true;
+                        round.deadline = now + policy.backoff(round.attempts).toNanos();
+                    } else {
+                        release(tag, true);
+                        expired.add(round);
+                    }
+                }
+            }
+        }
+
+        Round round;
+        while ((round = expired.poll()) != null) {
+            round.result.completeExceptionally(new ReadTimeoutException("No response after " + round.attempts + " attempts"));
+        }
+    }
+
+    private void release(int tag, boolean reserve) {
+        inFlight[tag] = null;
+        if (reserve) {
+            long until = System.nanoTime() + retryPolicy.get().readTimeout().toNanos();
+            reservedUntil[tag] = until == 0 ? 1 : until;
+        }
+        inFlightPermits.release();
+        notifyAll();
+    }
+
+    private void fail(IOException cause) {
+        List<Round> pending = new ArrayList<>();
+        synchronized (this) {
+            if (failure != null) {
+                return;
+            }
+            failure = cause;
+            for (int tag = 0; tag < inFlight.length; tag++) {
+                if (inFlight[tag] != null) {
+                    pending.add(inFlight[tag]);
+                    inFlight[tag] = null;
+                }
+            }
+            notifyAll();
+        }
+        writer.interrupt();
+        communication.cancelReceive();
+
+        submissions.drainTo(pending);
+        for (Round round : pending) {
+            round.result.completeExceptionally(cause);
+        }
+        Ping ping = pendingPing;
+        if (ping != null) {
+            ping.result.completeExceptionally(cause);
+        }
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * The heartbeat whose reply is awaited.
+     */
+    private record Ping(int sequence, long sentAt, CompletableFuture<Duration> result) {
+    }
+
+    /**
+     * One submitted round. The tag and state fields are guarded by the multiplexer.
+     */
+    private static final class Round {
+        private final CompletableFuture<GameResponseDto> result;
+        private final GameMode mode;
+        private final GameMode recordedMode;
+        private final Player.Move move1;
+        private final Player.Move move2;
+        private int tag = -1;
+        private int attempts;
+        private long firstSentAt;
+        private long deadline;
+        private boolean backingOff;
+        private boolean queued;
+
+        Round(CompletableFuture<GameResponseDto> result, GameMode mode, GameMode recordedMode,
+              Player.Move move1, Player.Move move2) {
+            this.result = result;
+            this.mode = mode;
+            this.recordedMode = recordedMode;
+            this.move1 = move1;
+            this.move2 = move2;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+
+/**
+ * Encodes and decodes the game frames of both wire formats without allocating.
+ * <p>
+ * A request is a single byte followed by {@code '\n'} and a response is a single byte followed by {@code '|'},
+ * so both directions keep the framing of the CSV protocol. The most significant bit of a binary byte is always
+ * set, which keeps it distinguishable from CSV text and from the frame delimiters:
+ * </p>
+ * <pre>
+ * request:  1 . m2 m2 m1 m1 mode mode
+ * response: 1 . m2 m2 m1 m1 res  res    (res: 0 = draw, 1 = player 1 wins, 2 = player 2 wins)
+ * </pre>
+ * <p>
+ * Binary framing is only used after the server answered {@link #HANDSHAKE_REQUEST} with
+ * {@link #HANDSHAKE_ACCEPTED}; older firmware answers anything else and the client stays on CSV.
+ * </p>
+ * <p>
+ * A server that answers {@link #TAG_HANDSHAKE_REQUEST} with {@link #TAG_HANDSHAKE_ACCEPTED} also accepts tagged
+ * binary frames, which carry a correlation tag in front of the request byte and echo it in front of the response
+ * byte. The tag byte has the binary flag set as well, so neither byte can be mistaken for a delimiter:
+ * </p>
+ * <pre>
+ * tagged request:  1 tag tag tag tag tag tag tag, request byte, '\n'
+ * tagged response: 1 tag tag tag tag tag tag tag, response byte, '|'
+ * </pre>
+ * <p>
+ * A heartbeat is a text line {@code PING,<sequence>} that the server answers with {@code PONG,<sequence>|}, in
+ * either wire format. The sequence number tells the answer to a heartbeat apart from a late answer to an earlier
+ * one.
+ * </p>
+ * <p>
+ * The server answers every line exactly once. A line it cannot understand, such as an unknown CSV request, an
+ * invalid binary frame or a line garbled on the wire, is answered with an empty frame. Firmware that predates
+ * heartbeats or baud rate negotiation gives no reliable answer to those lines, so a client recognises it by the
+ * request timing out.
+ * </p>
+ * <p>
+ * Both sides start at {@link #DEFAULT_BAUD_RATE}. A {@code BAUD,<rate>} line asks the server to switch to another
+ * rate: it echoes the line and switches, or answers {@link #BAUD_REFUSED}. The client then switches as well and
+ * verifies the new rate with a heartbeat. A server that is not sent a heartbeat at the new rate within
+ * {@link #BAUD_VERIFY_MILLIS}, or that receives invalid lines at a rate above the default one, falls back to the
+ * default rate.
+ * </p>
+ */
+public final class GameFrameCodec {
+    /**
+     * The handshake line sent by the client to ask for binary framing.
+     */
+    public static final String HANDSHAKE_REQUEST = "PROTO,BIN\n";
+
+    /**
+     * The handshake reply of a server that supports binary framing.
+     */
+    public static final String HANDSHAKE_ACCEPTED = "BIN";
+
+    /**
+     * The handshake line sent by the client to ask for tagged binary frames.
+     */
+    public static final String TAG_HANDSHAKE_REQUEST = "PROTO,TAG\n";
+
+    /**
+     * The handshake reply of a server that supports tagged binary frames.
+     */
+    public static final String TAG_HANDSHAKE_ACCEPTED = "TAG";
+
+    /**
+     * The start of a heartbeat request line, followed by the sequence number.
+     */
+    public static final String PING_PREFIX = "PING,";
+
+    /**
+     * The start of a heartbeat reply, followed by the echoed sequence number.
+     */
+    public static final String PONG_PREFIX = "PONG,";
+
+    /**
+     * The number of distinct heartbeat sequence numbers.
+     */
+    public static final int PING_SEQUENCE_COUNT = 1 << 16;
+
+    /**
+     * The maximum length of a heartbeat request line including the terminating {@code '\n'}.
+     */
+    public static final int MAX_PING_LENGTH = 11;
+
+    /**
+     * The baud rate both sides use after a reset.
+     */
+    public static final int DEFAULT_BAUD_RATE = 9600;
+
+    /**
+     * The start of a baud rate request line, followed by the rate. The server echoes the line if it switches.
+     */
+    public static final String BAUD_PREFIX = "BAUD,";
+
+    /**
+     * The reply of a server that does not support the requested baud rate.
+     */
+    public static final String BAUD_REFUSED = "NO";
+
+    /**
+     * The time within which the server expects a heartbeat at a new baud rate before it falls back to
+     * {@link #DEFAULT_BAUD_RATE}.
+     */
+    public static final int BAUD_VERIFY_MILLIS = 1000;
+
+    /**
+     * The number of distinct correlation tags of tagged binary frames.
+     */
+    public static final int TAG_COUNT = 128;
+
+    /**
+     * The bit that marks a byte as a binary frame.
+     */
+    public static final int BINARY_FLAG = 0x80;
+
+    /**
+     * The maximum length of a CSV request line including the terminating {@code '\n'}.
+     */
+    public static final int MAX_TEXT_REQUEST_LENGTH = 32;
+
+    private static final byte[] PING_BYTES = PING_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PONG_BYTES = PONG_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final GameMode[] MODES = GameMode.values();
+    private static final Player.Move[] MOVES = Player.Move.values();
+    private static final byte[][] MODE_NAMES = names(MODES);
+    private static final byte[][] MOVE_NAMES = names(MOVES);
+    private static final byte[][] RESULT_NAMES = {
+            GameResult.DRAW.serverName(GameMode.MAN_VS_MAN).getBytes(StandardCharsets.US_ASCII),
+            GameResult.PLAYER_1.serverName(GameMode.MAN_VS_MAN).getBytes(StandardCharsets.US_ASCII),
+            GameResult.PLAYER_2.serverName(GameMode.MAN_VS_MAN).getBytes(StandardCharsets.US_ASCII),
+            GameResult.PLAYER_2.serverName(GameMode.MAN_VS_AI).getBytes(StandardCharsets.US_ASCII)
+    };
+    private static final GameResult[] NAMED_RESULTS = {GameResult.DRAW, GameResult.PLAYER_1, GameResult.PLAYER_2, GameResult.PLAYER_2};
+
+    private GameFrameCodec() {
+    }
+
+    /**
+     * Encodes a game request into a single byte.
+     *
+     * @param mode the game mode
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @return the encoded request byte
+     */
+    public static byte encodeRequest(GameMode mode, Player.Move move1, Player.Move move2) {
+        return (byte) (BINARY_FLAG | mode.ordinal() | move1.ordinal() << 2 | move2.ordinal() << 4);
+    }
+
+    /**
+     * Decodes the game mode from a request byte.
+     *
+     * @param request the encoded request byte
+     * @return the game mode
+     */
+    public static GameMode decodeMode(byte request) {
+        return MODES[checkedField(request, 0, MODES.length)];
+    }
+
+    /**
+     * Encodes a game response into a single byte.
+     *
+     * @param gameResult the result of the round
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @return the encoded response byte
+     */
+    public static byte encodeResponse(GameResult gameResult, Player.Move move1, Player.Move move2) {
+        return (byte) (BINARY_FLAG | gameResult.ordinal() | move1.ordinal() << 2 | move2.ordinal() << 4);
+    }
+
+    /**
+     * Decodes a response byte into the shared {@link GameResponseDto} instance.
+     *
+     * @param response the encoded response byte
+     * @return the decoded game response
+     * @throws IllegalArgumentException if the byte is not a valid binary response
+     */
+    public static GameResponseDto decodeResponse(byte response) {
+        GameResult gameResult = GameResult.fromCode(checkedField(response, 0, 3));
+        return GameResponseDto.of(gameResult, decodeMove(response, 2), decodeMove(response, 4));
+    }
+
+    /**
+     * Encodes a correlation tag into the tag byte of a tagged binary frame.
+     *
+     * @param tag the tag, between 0 and {@link #TAG_COUNT} - 1
+     * @return the encoded tag byte
+     * @throws IllegalArgumentException if the tag is out of range
+     */
+    public static byte encodeTag(int tag) {
+        if (tag < 0 || tag >= TAG_COUNT) {
+            throw new IllegalArgumentException("Tag out of range: " + tag);
+        }
+        return (byte) (BINARY_FLAG | tag);
+    }
+
+    /**
+     * Decodes the correlation tag from the tag byte of a tagged binary frame.
+     *
+     * @param tagByte the encoded tag byte
+     * @return the tag
+     * @throws IllegalArgumentException if the byte is not a binary byte
+     */
+    public static int decodeTag(byte tagByte) {
+        if (!isBinary(tagByte)) {
+            throw new IllegalArgumentException("Not a binary frame: " + (tagByte & 0xFF));
+        }
+        return tagByte & ~BINARY_FLAG & 0xFF;
+    }
+
+    /**
+     * Checks whether a frame of the given length is a tagged binary frame.
+     *
+     * @param frame the buffer holding the frame, without its delimiter
+     * @param length the number of bytes of the frame
+     * @return {@code true} if the frame consists of a tag byte and a binary byte
+     */
+    public static boolean isTagged(byte[] frame, int length) {
+        return length == 2 && isBinary(frame[0]) && isBinary(frame[1]);
+    }
+
+    /**
+     * Writes a heartbeat request line such as {@code PING,42\n} into a buffer.
+     *
+     * @param sequence the sequence number, between 0 and {@link #PING_SEQUENCE_COUNT} - 1
+     * @param destination the buffer to write to, with at least {@link #MAX_PING_LENGTH} bytes left
+     * @param offset the index to start writing at
+     * @return the index after the written line
+     * @throws IllegalArgumentException if the sequence number is out of range
+     */
+    public static int encodePing(int sequence, byte[] destination, int offset) {
+        if (sequence < 0 || sequence >= PING_SEQUENCE_COUNT) {
+            throw new IllegalArgumentException("Sequence number out of range: " + sequence);
+        }
+        int position = put(PING_BYTES, destination, offset);
+        int digits = 1;
+        for (int rest = sequence / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits - 1, rest = sequence; i >= 0; i--, rest /= 10) {
+            destination[position + i] = (byte) ('0' + rest % 10);
+        }
+        position += digits;
+        destination[position++] = '\n';
+        return position;
+    }
+
+    /**
+     * Checks whether a request line is a heartbeat.
+     *
+     * @param line the buffer holding the line, without its terminator
+     * @param length the number of bytes of the line
+     * @return {@code true} if the line starts with {@link #PING_PREFIX}
+     */
+    public static boolean isPing(byte[] line, int length) {
+        return startsWith(line, length, PING_BYTES);
+    }
+
+    /**
+     * Decodes the sequence number of a heartbeat reply such as {@code PONG,42}.
+     *
+     * @param frame the buffer holding the frame, without its delimiter
+     * @param length the number of bytes of the frame
+     * @return the echoed sequence number, or -1 if the frame is not a valid heartbeat reply
+     */
+    public static int decodePong(byte[] frame, int length) {
+        if (!startsWith(frame, length, PONG_BYTES) || length == PONG_BYTES.length || length > PONG_BYTES.length + 5) {
+            return -1;
+        }
+        int sequence = 0;
+        for (int i = PONG_BYTES.length; i < length; i++) {
+            int digit = frame[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            sequence = sequence * 10 + digit;
+        }
+        return sequence < PING_SEQUENCE_COUNT ? sequence : -1;
+    }
+
+    /**
+     * Writes a CSV request line such as {@code MAN_VS_MAN,ROCK,PAPER\n} into a buffer.
+     *
+     * @param mode the game mode
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @param destination the buffer to write to, with at least {@link #MAX_TEXT_REQUEST_LENGTH} bytes left
+     * @param offset the index to start writing at
+     * @return the index after the written line
+     */
+    public static int encodeTextRequest(GameMode mode, Player.Move move1, Player.Move move2, byte[] destination, int offset) {
+        int position = put(MODE_NAMES[mode.ordinal()], destination, offset);
+        destination[position++] = ',';
+        position = put(MOVE_NAMES[move1.ordinal()], destination, position);
+        destination[position++] = ',';
+        position = put(MOVE_NAMES[move2.ordinal()], destination, position);
+        destination[position++] = '\n';
+        return position;
+    }
+
+    /**
+     * Parses a CSV response such as {@code Player 1,ROCK,SCISSORS} into the shared {@link GameResponseDto} instance.
+     * Leading and trailing whitespace is ignored, the {@code '|'} terminator must not be included.
+     *
+     * @param frame the buffer holding the response
+     * @param length the number of bytes of the response
+     * @return the parsed game response
+     * @throws IllegalArgumentException if the bytes are not a valid CSV response
+     */
+    public static GameResponseDto decodeTextResponse(byte[] frame, int length) {
+        int start = 0;
+        int end = length;
+        while (start < end && frame[start] <= ' ') {
+            start++;
+        }
+        while (end > start && frame[end - 1] <= ' ') {
+            end--;
+        }
+
+        int delimiter1 = indexOf(frame, ',', start, end);
+        int delimiter2 = indexOf(frame, ',', delimiter1 + 1, end);
+        if (delimiter1 < 0 || delimiter2 < 0) {
+            throw new IllegalArgumentException("Malformed response: " + new String(frame, 0, length, StandardCharsets.US_ASCII));
+        }
+
+        int result = find(RESULT_NAMES, frame, start, delimiter1);
+        int move1 = find(MOVE_NAMES, frame, delimiter1 + 1, delimiter2);
+        int move2 = find(MOVE_NAMES, frame, delimiter2 + 1, end);
+        if (result < 0 || move1 < 0 || move2 < 0) {
+            throw new IllegalArgumentException("Malformed response: " + new String(frame, 0, length, StandardCharsets.US_ASCII));
+        }
+        return GameResponseDto.of(NAMED_RESULTS[result], MOVES[move1], MOVES[move2]);
+    }
+
+    /**
+     * Decodes the move stored at the given bit offset of a request or response byte.
+     *
+     * @param frame the encoded byte
+     * @param shift the bit offset of the move, 2 for the first player and 4 for the second player
+     * @return the decoded move
+     */
+    public static Player.Move decodeMove(byte frame, int shift) {
+        return MOVES[checkedField(frame, shift, MOVES.length)];
+    }
+
+    /**
+     * Checks whether a byte carries the binary frame flag.
+     *
+     * @param frame the byte to check
+     * @return {@code true} if the byte is a binary frame
+     */
+    public static boolean isBinary(byte frame) {
+        return (frame & BINARY_FLAG) != 0;
+    }
+
+    private static int checkedField(byte frame, int shift, int bound) {
+        if (!isBinary(frame)) {
+            throw new IllegalArgumentException("Not a binary frame: " + (frame & 0xFF));
+        }
+        int value = frame >> shift & 0x3;
+        if (value >= bound) {
+            throw new IllegalArgumentException("Invalid field value " + value + " in frame " + (frame & 0xFF));
+        }
+        return value;
+    }
+
+    private static boolean startsWith(byte[] frame, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(frame, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int put(byte[] source, byte[] destination, int offset) {
+        System.arraycopy(source, 0, destination, offset, source.length);
+        return offset + source.length;
+    }
+
+    private static int indexOf(byte[] frame, char value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (frame[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int find(byte[][] names, byte[] frame, int from, int to) {
+        for (int i = 0; i < names.length; i++) {
+            if (Arrays.equals(names[i], 0, names[i].length, frame, from, to)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[][] names(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,26 @@
+package application.dto;
+
+import application.game.GameMode;
+import application.game.Player;
+
+/**
+ * Data Transfer Object (DTO) for a game request.
+ * Contains the game mode and the moves sent to the server for one round.
+ */
+public record GameRequestDto(
+        /**
+         * The game mode of the round.
+         */
+        GameMode mode,
+
+        /**
+         * The move of the first player. Ignored by the server in AI vs AI mode.
+         */
+        Player.Move player1Move,
+
+        /**
+         * The move of the second player. Ignored by the server in Man vs AI and AI vs AI modes.
+         */
+        Player.Move player2Move
+) {
+}
@@ -1,16 +1,21 @@
 package application.dto;
 
+import application.game.GameResult;
 import application.game.Player;
 
 /**
  * Data Transfer Object (DTO) for the game response.
  * Contains the result of the game and the moves of both players.
+ * <p>
+ * There are only 27 distinct responses, so parsers hand out the shared instances returned by
+ * {@link #of(GameResult, Player.Move, Player.Move)} instead of allocating one per round.
+ * </p>
  */
 public record GameResponseDto(
         /**
-         * The result of the game (e.g., "Player 1 wins", "Draw").
+         * The result of the game.
          */
-        String gameResult,
+        GameResult gameResult,
 
         /**
          * The move made by the first player.
@@ -22,4 +27,31 @@ public record GameResponseDto(
          */
         Player.Move player2Move
 ) {
+    private static final GameResponseDto[][][] INSTANCES = instances();
+
+    /**
+     * Returns the shared instance for a response.
+     *
+     * @param gameResult the result of the game
+     * @param player1Move the move made by the first player
+     * @param player2Move the move made by the second player
+     * @return the canonical response
+     */
+    public static GameResponseDto of(GameResult gameResult, Player.Move player1Move, Player.Move player2Move) {
+        return INSTANCES[gameResult.ordinal()][player1Move.ordinal()][player2Move.ordinal()];
+    }
+
+    private static GameResponseDto[][][] instances() {
+        GameResult[] results = GameResult.values();
+        Player.Move[] moves = Player.Move.values();
+        GameResponseDto[][][] instances = new GameResponseDto[results.length][moves.length][moves.length];
+        for (GameResult result : results) {
+            for (Player.Move move1 : moves) {
+                for (Player.Move move2 : moves) {
+                    instances[result.ordinal()][move1.ordinal()][move2.ordinal()] = new GameResponseDto(result, move1, move2);
+                }
+            }
+        }
+        return instances;
+    }
 }
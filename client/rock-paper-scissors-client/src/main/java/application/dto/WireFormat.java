@@ -0,0 +1,17 @@
+package application.dto;
+
+/**
+ * Enum representing the framing used for game requests and responses on the wire.
+ */
+public enum WireFormat {
+    /**
+     * Text frames such as {@code MAN_VS_AI,ROCK,SCISSORS\n} answered by {@code Player 1,ROCK,SCISSORS|}.
+     * Understood by every server version.
+     */
+    CSV,
+
+    /**
+     * One-byte frames encoded by {@link GameFrameCodec}. Used only after the server accepted the handshake.
+     */
+    BINARY
+}
@@ -0,0 +1,50 @@
+package application.game;
+
+/**
+ * Enum representing the outcome of a round.
+ * The ordinal of each constant is the outcome code used by {@link GameRules} and by the binary frames.
+ */
+public enum GameResult {
+    /**
+     * Both players made the same move.
+     */
+    DRAW("DRAW"),
+
+    /**
+     * The first player won the round.
+     */
+    PLAYER_1("Player 1"),
+
+    /**
+     * The second player, human or AI, won the round.
+     */
+    PLAYER_2("Player 2");
+
+    private static final GameResult[] VALUES = values();
+
+    private final String serverName;
+
+    GameResult(String serverName) {
+        this.serverName = serverName;
+    }
+
+    /**
+     * Returns the name the server reports for this result in a CSV response.
+     *
+     * @param mode the game mode of the round, since the server names a winning AI opponent {@code "AI"}
+     * @return the result as written by the server
+     */
+    public String serverName(GameMode mode) {
+        return this == PLAYER_2 && mode == GameMode.MAN_VS_AI ? "AI" : serverName;
+    }
+
+    /**
+     * Returns the result for an outcome code of {@link GameRules#play(Player.Move, Player.Move)}.
+     *
+     * @param code {@link GameRules#DRAW}, {@link GameRules#PLAYER_1_WINS} or {@link GameRules#PLAYER_2_WINS}
+     * @return the matching result
+     */
+    public static GameResult fromCode(int code) {
+        return VALUES[code];
+    }
+}
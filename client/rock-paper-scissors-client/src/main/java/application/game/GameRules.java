@@ -0,0 +1,37 @@
+package application.game;
+
+/**
+ * Java port of the rules implemented by {@code Game::play} in the server sketch.
+ * Used wherever the client has to decide a round without the board. Rounds are looked up in
+ * {@link RulesEngine#CLASSIC}.
+ */
+public final class GameRules {
+    /**
+     * Outcome code for a draw.
+     */
+    public static final int DRAW = 0;
+
+    /**
+     * Outcome code for a round won by the first player.
+     */
+    public static final int PLAYER_1_WINS = 1;
+
+    /**
+     * Outcome code for a round won by the second player.
+     */
+    public static final int PLAYER_2_WINS = 2;
+
+    private GameRules() {
+    }
+
+    /**
+     * Plays a round and determines the winner.
+     *
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @return {@link #DRAW}, {@link #PLAYER_1_WINS} or {@link #PLAYER_2_WINS}
+     */
+    public static int play(Player.Move move1, Player.Move move2) {
+        return RulesEngine.CLASSIC.outcome(move1, move2);
+    }
+}
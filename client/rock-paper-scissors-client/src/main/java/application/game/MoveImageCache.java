@@ -0,0 +1,63 @@
+package application.game;
+
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.Map;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * Cache of the images shown for the moves of a round.
+ * <p>
+ * Every image is decoded once, in the background, as soon as the cache is created, and at the width it is shown
+ * at rather than at the native size of the PNG. The views created for a move all share the same {@link Image},
+ * so playing rounds does no decoding. A move whose image is missing or cannot be decoded is shown by name.
+ * </p>
+ */
+final class MoveImageCache {
+    private final Map<Player.Move, Image> images = new EnumMap<>(Player.Move.class);
+    private final double width;
+
+    /**
+     * Creates the cache and starts decoding the images of all moves in the background.
+     *
+     * @param width the width the images are shown at, in pixels
+     */
+    MoveImageCache(double width) {
+        this.width = width;
+        for (Player.Move move : Player.Move.values()) {
+            URL resource = MoveImageCache.class.getResource(resourceName(move));
+            if (resource != null) {
+                images.put(move, new Image(resource.toExternalForm(), width, 0, true, true, true));
+            }
+        }
+    }
+
+    /**
+     * Creates a view of a move, backed by the shared image of the move.
+     *
+     * @param move the move to show
+     * @return an image view of the move, or a label with its name if the image is unavailable
+     */
+    Node createView(Player.Move move) {
+        Image image = images.get(move);
+        if (image == null || image.isError()) {
+            return new Label(move.name());
+        }
+
+        ImageView imageView = new ImageView(image);
+        imageView.setFitWidth(width);
+        imageView.setPreserveRatio(true);
+        return imageView;
+    }
+
+    private static String resourceName(Player.Move move) {
+        return switch (move) {
+            case ROCK -> "/images/rock.png";
+            case PAPER -> "/images/paper.png";
+            case SCISSORS -> "/images/scissors.png";
+        };
+    }
+}
@@ -4,15 +4,41 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import application.ai.MarkovOpponentModel;
 import application.controller.GameController;
+import application.controller.LinkMonitor;
 import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.history.RoundLog;
+import application.leaderboard.Leaderboard;
+import application.leaderboard.Standing;
+import application.metrics.ClientMetrics;
+import application.metrics.PrometheusEndpoint;
+import application.saves.SavedGame;
+import application.saves.SavedGameImporter;
+import application.saves.SavedGameParser;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
@@ -22,10 +48,9 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-import org.ini4j.Ini;
-import org.ini4j.Profile;
 
 /**
  * The main application class for the Rock Paper Scissors game.
@@ -36,23 +61,69 @@ import org.ini4j.Profile;
  * </p>
  */
 public class RockPaperScissorsApplication extends Application {
+    private static final double MOVE_IMAGE_WIDTH = 100;
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(2);
+    private static final int OPPONENT_MODEL_ORDER = 3;
+    private static final int MAX_MODELLED_PLAYERS = 4096;
+    private static final int LEADERBOARD_SIZE = 10;
+    private static final Duration HISTORY_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
     private Player player1;
     private Player player2;
 
-    private GameController gameController;
+    private CompletableFuture<GameController> gameController;
+    private PrometheusEndpoint metricsEndpoint;
+    private final ExecutorService historyExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "round-history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private RoundLog roundLog;
+    private SavedGameImporter savedGames;
+    private final MoveImageCache moveImageCache = new MoveImageCache(MOVE_IMAGE_WIDTH);
+    private final MarkovOpponentModel opponentModel = new MarkovOpponentModel(OPPONENT_MODEL_ORDER, MAX_MODELLED_PLAYERS);
+    private final SplittableRandom aiRandom = new SplittableRandom();
+    private volatile Leaderboard leaderboard;
 
     /**
      * Initializes the Rock Paper Scissors application.
      * <p>
-     * Sets up the game controller and handles connection errors during initialization.
+     * Starts connecting to the server on a background thread, so the menu is shown without waiting for the serial
+     * ports to be enumerated and opened; the menu shows whether the connection is ready. The move images start
+     * decoding in the background, so the first round does not wait for them. Once connected, the server is sent a
+     * heartbeat whenever it has been idle for two seconds, the menu reports when it stops answering, and read
+     * timeouts adapt to the measured round-trip time. The client metrics are
+     * published over JMX and, if the {@code metrics.port} system property is set, on a local Prometheus endpoint.
+     * Every round is recorded in the round history, kept in the directory named by the {@code history.dir} system
+     * property or in {@code .rock-paper-scissors/history} in the home directory. The history is opened, and every
+     * round is appended and flushed to disk, on a background thread, so a long history does not delay the menu and a
+     * crash loses no finished round. The leaderboard is then built from the recorded rounds on the same thread and
+     * published when it is complete; afterwards every new round updates it.
      * </p>
      */
     public RockPaperScissorsApplication() {
-        try {
-            gameController = new GameController(0);
-        } catch (Exception ex) {
+        ClientMetrics.global().registerMBean();
+        metricsEndpoint = PrometheusEndpoint.startFromSystemProperty();
+        historyExecutor.execute(this::openRoundLog);
+        gameController = CompletableFuture.supplyAsync(() -> {
+            GameController controller = new GameController(0, WireFormat.BINARY);
+            controller.setAdaptiveReadTimeout(true);
+            try {
+                controller.negotiateBaudRate();
+            } catch (IOException ex) {
+                System.err.println("Baud rate negotiation failed: " + ex.getMessage());
+            }
+            controller.startHeartbeat(HEARTBEAT_INTERVAL);
+            return controller;
+        }, runnable -> {
+            Thread thread = new Thread(runnable, "server-connection");
+            thread.setDaemon(true);
+            thread.start();
+        });
+        gameController.exceptionally(ex -> {
             System.err.println("Connection with server failed!");
-        }
+            return null;
+        });
     }
 
     /**
@@ -78,8 +149,10 @@ public class RockPaperScissorsApplication extends Application {
         Menu gameMenu = new Menu("Game");
         MenuItem newGameItem = new MenuItem("New Game");
         MenuItem loadGameItem = new MenuItem("Load Game");
+        MenuItem importGamesItem = new MenuItem("Import Games");
+        MenuItem leaderboardItem = new MenuItem("Leaderboard");
 
-        gameMenu.getItems().addAll(newGameItem, loadGameItem);
+        gameMenu.getItems().addAll(newGameItem, loadGameItem, importGamesItem, leaderboardItem);
         menuBar.getMenus().add(gameMenu);
 
         newGameItem.setOnAction(e -> showGameModeSelection());
@@ -101,45 +174,236 @@ public class RockPaperScissorsApplication extends Application {
             }
         });
 
-        VBox vbox = new VBox(10, logoImageView, menuBar);
-        Scene scene = new Scene(vbox, 300, 350);
+        importGamesItem.setOnAction(e -> {
+            DirectoryChooser directoryChooser = new DirectoryChooser();
+            directoryChooser.setTitle("Import Games");
+            File directory = directoryChooser.showDialog(primaryStage);
+            if (directory != null) {
+                importGames(directory.toPath());
+            }
+        });
+
+        leaderboardItem.setOnAction(e -> showLeaderboard());
+
+        Label connectionLabel = new Label("Connecting to server...");
+        gameController.whenComplete((controller, ex) -> {
+            if (ex != null) {
+                Platform.runLater(() -> connectionLabel.setText("Server unavailable"));
+                return;
+            }
+            LinkMonitor linkMonitor = controller.getLinkMonitor();
+            linkMonitor.addListener(state -> Platform.runLater(() -> connectionLabel.setText(describe(linkMonitor.state()))));
+            Platform.runLater(() -> connectionLabel.setText(describe(linkMonitor.state())));
+        });
+
+        VBox vbox = new VBox(10, logoImageView, menuBar, connectionLabel);
+        Scene scene = new Scene(vbox, 300, 380);
         primaryStage.setScene(scene);
         primaryStage.setResizable(false);
         primaryStage.show();
     }
 
+    /**
+     * Stops the metrics endpoint, the saved game watcher and closes the server connection and the round history
+     * when the application exits.
+     */
+    @Override
+    public void stop() {
+        gameController.thenAccept(GameController::close);
+        if (metricsEndpoint != null) {
+            metricsEndpoint.close();
+        }
+        closeSavedGames();
+        historyExecutor.execute(this::closeRoundLog);
+        historyExecutor.shutdown();
+        try {
+            if (!historyExecutor.awaitTermination(HISTORY_CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                System.err.println("Round history was not closed in time");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the round history, builds the leaderboard from it and publishes the leaderboard. Runs on the round
+     * history thread, like every other access to the round history and the leaderboard updates. If the history
+     * cannot be read, the leaderboard starts empty.
+     */
+    private void openRoundLog() {
+        try {
+            roundLog = RoundLog.open(historyDirectory());
+        } catch (IOException ex) {
+            System.err.println("Round history unavailable: " + ex.getMessage());
+        }
+
+        Leaderboard loaded = new Leaderboard();
+        if (roundLog != null) {
+            try {
+                roundLog.forEachResult(loaded::record);
+            } catch (RuntimeException ex) {
+                System.err.println("Leaderboard could not be built from the round history: " + ex.getMessage());
+                loaded = new Leaderboard();
+            }
+        }
+        leaderboard = loaded;
+    }
+
+    /**
+     * Flushes and closes the round history, if it is open. Runs on the round history thread.
+     */
+    private void closeRoundLog() {
+        if (roundLog == null) {
+            return;
+        }
+        try {
+            roundLog.close();
+        } catch (IOException ex) {
+            System.err.println("Failed to close round history: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Describes the health of the server connection for the status line of the menu.
+     *
+     * @param state the state of the link
+     * @return the text of the status line
+     */
+    private static String describe(LinkMonitor.State state) {
+        return switch (state) {
+            case UNKNOWN, ALIVE -> "Server ready";
+            case DEGRADED -> "Server not responding...";
+            case DOWN -> "Server connection lost";
+        };
+    }
+
+    /**
+     * Returns the directory of the round history.
+     *
+     * @return the directory from the {@code history.dir} system property, or the default one in the home directory
+     */
+    private static Path historyDirectory() {
+        String directory = System.getProperty("history.dir");
+        return directory != null
+                ? Path.of(directory)
+                : Path.of(System.getProperty("user.home"), ".rock-paper-scissors", "history");
+    }
+
     /**
      * Loads a saved game from a specified file.
      * <p>
-     * Parses the INI file and restores the game state, including player names and moves.
+     * Parses the {@code [Game Status]} section of the INI file and restores the game state, including player
+     * names and moves.
      * </p>
      *
      * @param file the file containing the saved game state
      * @throws IOException if there is an error loading the game from the file
      */
     private void loadGame(File file) throws IOException {
-        Ini ini = new Ini(file);
-        Profile.Section gameStatus = ini.get("Game Status");
+        resumeGame(SavedGameParser.parse(file.toPath()));
+    }
 
-        if (gameStatus.containsKey("Winner")) {
+    /**
+     * Restores the players of a saved game.
+     *
+     * @param savedGame the saved game to resume
+     * @throws IllegalStateException if the game is already finished
+     */
+    private void resumeGame(SavedGame savedGame) {
+        if (savedGame.isFinished()) {
             throw new IllegalStateException("Game is already finished");
         }
 
         player1 = new Player();
         player2 = new Player();
 
-        player1.setName(gameStatus.get("Player1"));
-        player2.setName(gameStatus.get("Player2"));
+        player1.setName(savedGame.player1());
+        player2.setName(savedGame.player2());
+        player1.setMove(savedGame.player1Move());
+        player2.setMove(savedGame.player2Move());
+    }
 
-        String player1Move = gameStatus.get("Player1Move");
-        String player2Move = gameStatus.get("Player2Move");
+    /**
+     * Imports every saved game below a directory and lists the games that can still be resumed.
+     * <p>
+     * The files are parsed in the background; afterwards the directory is watched, so saves added later show up
+     * the next time the list is opened. Importing another directory stops watching the previous one.
+     * </p>
+     *
+     * @param directory the directory to import
+     */
+    private void importGames(Path directory) {
+        closeSavedGames();
+        SavedGameImporter importer = new SavedGameImporter();
+        savedGames = importer;
 
-        if (player1Move != null && !player1Move.isEmpty()) {
-            player1.setMove(Player.Move.valueOf(player1Move));
-        }
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                importer.importDirectory(directory);
+                importer.watch(directory);
+                return importer;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }).whenComplete((result, ex) -> Platform.runLater(() -> {
+            if (ex != null) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Import Failed");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to import games: " + ex.getMessage());
+                alert.showAndWait();
+                return;
+            }
+            showSavedGames(result);
+        }));
+    }
 
-        if (player2Move != null && !player2Move.isEmpty()) {
-            player2.setMove(Player.Move.valueOf(player2Move));
+    /**
+     * Displays the imported games that can still be resumed and lets the user pick one.
+     *
+     * @param importer the importer holding the games
+     */
+    private void showSavedGames(SavedGameImporter importer) {
+        Stage savedGamesStage = new Stage();
+        savedGamesStage.setTitle("Saved Games (" + importer.size() + ")");
+
+        ListView<SavedGame> savedGameList = new ListView<>();
+        savedGameList.getItems().setAll(importer.games());
+        savedGameList.getItems().sort(Comparator.comparing(SavedGame::file));
+        savedGameList.setCellFactory(view -> new ListCell<>() {
+            @Override
+            protected void updateItem(SavedGame savedGame, boolean empty) {
+                super.updateItem(savedGame, empty);
+                setText(empty || savedGame == null ? null
+                        : savedGame.player1() + " vs " + savedGame.player2() + " (" + savedGame.file().getFileName() + ")");
+            }
+        });
+
+        Button resumeButton = new Button("Resume");
+        resumeButton.setOnAction(e -> {
+            SavedGame savedGame = savedGameList.getSelectionModel().getSelectedItem();
+            if (savedGame != null) {
+                resumeGame(savedGame);
+                startManVsManGame(savedGamesStage, true);
+            }
+        });
+
+        VBox savedGamesLayout = new VBox(10, savedGameList, resumeButton);
+        Scene savedGamesScene = new Scene(savedGamesLayout, 400, 400);
+        savedGamesStage.setScene(savedGamesScene);
+        savedGamesStage.show();
+    }
+
+    /**
+     * Stops watching the directory of the imported games, if any.
+     */
+    private void closeSavedGames() {
+        if (savedGames != null) {
+            try {
+                savedGames.close();
+            } catch (IOException ex) {
+                System.err.println("Failed to stop watching saved games: " + ex.getMessage());
+            }
         }
     }
 
@@ -222,32 +486,23 @@ public class RockPaperScissorsApplication extends Application {
         Label resultLabel = new Label();
         grid.add(resultLabel, 0, 3, 3, 1);
 
-        playButton.setOnAction(e -> {
-            try {
-                gameController.sendModeAndMoves(GameMode.AI_VS_AI.name(), Player.Move.ROCK, Player.Move.ROCK);
-                GameResponseDto gameResponseDto = gameController.receiveResult();
-                String resultText;
-                if (gameResponseDto.gameResult().equals("DRAW")) {
-                    resultText = "Draw";
-                } else {
-                    resultText = gameResponseDto.gameResult().equals("Player 1") ? "AI1" : "AI2";
-                }
+        playButton.setOnAction(e -> playRound(playButton, GameMode.AI_VS_AI, "AI 1", "AI 2", Player.Move.ROCK, Player.Move.ROCK,
+                gameResponseDto -> {
+                    String resultText;
+                    if (gameResponseDto.gameResult() == GameResult.DRAW) {
+                        resultText = "Draw";
+                    } else {
+                        resultText = gameResponseDto.gameResult() == GameResult.PLAYER_1 ? "AI1" : "AI2";
+                    }
 
-                String movesHistory = "AI 1 put " + gameResponseDto.player1Move().name() + ". "
-                        + "AI 2 put " + gameResponseDto.player2Move().name();
-                resultLabel.setText("Result: " + resultText + "\nMoves: " + movesHistory);
+                    String movesHistory = "AI 1 put " + gameResponseDto.player1Move().name() + ". "
+                            + "AI 2 put " + gameResponseDto.player2Move().name();
+                    resultLabel.setText("Result: " + resultText + "\nMoves: " + movesHistory);
 
-                moveImages.getChildren().clear();
-                moveImages.getChildren().add(createMoveImage(gameResponseDto.player1Move()));
-                moveImages.getChildren().add(createMoveImage(gameResponseDto.player2Move()));
-            } catch (Exception ex) {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Connection Error");
-                alert.setHeaderText(null);
-                alert.setContentText("Server connection failed");
-                alert.showAndWait();
-            }
-        });
+                    moveImages.getChildren().clear();
+                    moveImages.getChildren().add(createMoveImage(gameResponseDto.player1Move()));
+                    moveImages.getChildren().add(createMoveImage(gameResponseDto.player2Move()));
+                }));
 
         Scene gameScene = new Scene(grid, 500, 300);
         gameStage.setScene(gameScene);
@@ -302,6 +557,11 @@ public class RockPaperScissorsApplication extends Application {
      * player and the AI take turns making moves. The result of the game and the moves are displayed
      * after the human player makes their move.
      * </p>
+     * <p>
+     * By default the server picks the AI move at random. With the adaptive AI, the client picks the move that
+     * beats the next move predicted by the {@link MarkovOpponentModel} of the player, and the server only decides
+     * the round. The model learns from every round the player plays against the AI, whichever picks the move.
+     * </p>
      *
      * @param nicknameStage The stage where player nicknames are entered, which will be closed
      *                      when the game starts.
@@ -330,7 +590,9 @@ public class RockPaperScissorsApplication extends Application {
         grid.add(player2MoveLabel, 1, 1);
 
         Button playButton = new Button("Play");
-        grid.add(playButton, 0, 2, 3, 1);
+        CheckBox adaptiveAiCheckBox = new CheckBox("Adaptive AI");
+        grid.add(playButton, 0, 2);
+        grid.add(adaptiveAiCheckBox, 1, 2, 2, 1);
         Label resultLabel = new Label();
         grid.add(resultLabel, 0, 3, 3, 1);
 
@@ -347,15 +609,16 @@ public class RockPaperScissorsApplication extends Application {
 
         playButton.setOnAction(e -> {
             if (player1.getMove() != null) {
-                try {
-                    gameController.sendModeAndMoves(GameMode.MAN_VS_AI.name(), player1.getMove(), Player.Move.ROCK);
-                    GameResponseDto gameResponseDto = gameController.receiveResult();
-
+                String modelledName = Objects.toString(player1.getName(), "");
+                boolean adaptive = adaptiveAiCheckBox.isSelected();
+                Player.Move aiMove = adaptive ? opponentModel.counterMove(modelledName, aiRandom) : Player.Move.ROCK;
+                playRound(playButton, GameMode.MAN_VS_AI, adaptive, player1.getName(), "AI", player1.getMove(), aiMove, gameResponseDto -> {
+                    opponentModel.record(modelledName, gameResponseDto.player1Move());
                     String resultText;
-                    if (gameResponseDto.gameResult().equals("DRAW")) {
+                    if (gameResponseDto.gameResult() == GameResult.DRAW) {
                         resultText = "Draw";
                     } else {
-                        resultText = gameResponseDto.gameResult().equals("Player 1") ? player1.getName() : "AI";
+                        resultText = gameResponseDto.gameResult() == GameResult.PLAYER_1 ? player1.getName() : "AI";
                     }
 
                     String movesHistory = player1.getName() + " put " + gameResponseDto.player1Move().name() + ". "
@@ -365,13 +628,7 @@ public class RockPaperScissorsApplication extends Application {
                     moveImages.getChildren().clear();
                     moveImages.getChildren().add(createMoveImage(gameResponseDto.player1Move()));
                     moveImages.getChildren().add(createMoveImage(gameResponseDto.player2Move()));
-                } catch (Exception ex) {
-                    Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle("Connection Error");
-                    alert.setHeaderText(null);
-                    alert.setContentText("Server connection failed");
-                    alert.showAndWait();
-                }
+                });
             } else {
                 resultLabel.setText("Player 1 must make a move!");
             }
@@ -465,32 +722,22 @@ public class RockPaperScissorsApplication extends Application {
         });
 
         String[] gameResultHolder = new String[1];
-        playButton.setOnAction(e -> {
-            try {
-                gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), player1.getMove(), player2.getMove());
-                GameResponseDto gameResponseDto = gameController.receiveResult();
-
-                if (gameResponseDto.gameResult().equals("DRAW")) {
-                    gameResultHolder[0] = "Draw";
-                } else {
-                    gameResultHolder[0] = gameResponseDto.gameResult().equals("Player 1") ? player1.getName() : player2.getName();
-                }
+        playButton.setOnAction(e -> playRound(playButton, GameMode.MAN_VS_MAN, player1.getName(), player2.getName(),
+                player1.getMove(), player2.getMove(), gameResponseDto -> {
+                    if (gameResponseDto.gameResult() == GameResult.DRAW) {
+                        gameResultHolder[0] = "Draw";
+                    } else {
+                        gameResultHolder[0] = gameResponseDto.gameResult() == GameResult.PLAYER_1 ? player1.getName() : player2.getName();
+                    }
 
-                String movesHistory = player1.getName() + " put " + gameResponseDto.player1Move().name() + ". "
-                        + player2.getName() + " put " + gameResponseDto.player2Move().name();
-                resultLabel.setText("Result: " + gameResultHolder[0] + " wins!\n Moves: " + movesHistory);
+                    String movesHistory = player1.getName() + " put " + gameResponseDto.player1Move().name() + ". "
+                            + player2.getName() + " put " + gameResponseDto.player2Move().name();
+                    resultLabel.setText("Result: " + gameResultHolder[0] + " wins!\n Moves: " + movesHistory);
 
-                moveImages.getChildren().clear();
-                moveImages.getChildren().add(createMoveImage(gameResponseDto.player1Move()));
-                moveImages.getChildren().add(createMoveImage(gameResponseDto.player2Move()));
-            } catch (Exception ex) {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Connection Error");
-                alert.setHeaderText(null);
-                alert.setContentText("Server connection failed");
-                alert.showAndWait();
-            }
-        });
+                    moveImages.getChildren().clear();
+                    moveImages.getChildren().add(createMoveImage(gameResponseDto.player1Move()));
+                    moveImages.getChildren().add(createMoveImage(gameResponseDto.player2Move()));
+                }));
 
         saveButton.setOnAction(e -> {
             FileChooser fileChooser = new FileChooser();
@@ -521,6 +768,135 @@ public class RockPaperScissorsApplication extends Application {
         gameStage.show();
     }
 
+    /**
+     * Plays one round without blocking the JavaFX application thread.
+     * <p>
+     * The play button is disabled while the round is in flight. A round played while the server connection is still
+     * being opened waits for it; a round played after the connection failed fails at once. The round runs on the I/O
+     * thread of the game controller and its result is handed back to the JavaFX application thread, where it is either
+     * passed to {@code onResult} or reported in a connection error alert. Every completed round is recorded in the
+     * round history under the given player names.
+     * </p>
+     *
+     * @param playButton The button that started the round.
+     * @param mode The game mode of the round.
+     * @param player1Name The name the first player is recorded under.
+     * @param player2Name The name the second player is recorded under.
+     * @param move1 The move of the first player.
+     * @param move2 The move of the second player.
+     * @param onResult The action that displays the result of the round.
+     */
+    private void playRound(Button playButton, GameMode mode, String player1Name, String player2Name,
+                           Player.Move move1, Player.Move move2, Consumer<GameResponseDto> onResult) {
+        playRound(playButton, mode, false, player1Name, player2Name, move1, move2, onResult);
+    }
+
+    /**
+     * Plays one round without blocking the JavaFX application thread, optionally with an AI move picked by the client.
+     * <p>
+     * A Man vs AI round with an AI move picked by the client is sent to the server as a Man vs Man round, but it is
+     * recorded in the round history and the metrics as the Man vs AI round it is.
+     * </p>
+     *
+     * @param playButton The button that started the round.
+     * @param mode The game mode of the round.
+     * @param clientAiMove Whether {@code move2} is an AI move picked by the client that the server has to play.
+     * @param player1Name The name the first player is recorded under.
+     * @param player2Name The name the second player is recorded under.
+     * @param move1 The move of the first player.
+     * @param move2 The move of the second player.
+     * @param onResult The action that displays the result of the round.
+     * @see #playRound(Button, GameMode, String, String, Player.Move, Player.Move, Consumer)
+     */
+    private void playRound(Button playButton, GameMode mode, boolean clientAiMove, String player1Name, String player2Name,
+                           Player.Move move1, Player.Move move2, Consumer<GameResponseDto> onResult) {
+        if (gameController.isCompletedExceptionally() || move1 == null || move2 == null) {
+            showConnectionError();
+            return;
+        }
+
+        playButton.setDisable(true);
+        gameController.thenCompose(controller -> clientAiMove
+                ? controller.playAgainstAiMoveAsync(move1, move2)
+                : controller.playRoundAsync(mode, move1, move2)).whenComplete((gameResponseDto, ex) -> Platform.runLater(() -> {
+            playButton.setDisable(false);
+            if (ex != null) {
+                showConnectionError();
+                return;
+            }
+            recordRound(mode, player1Name, player2Name, gameResponseDto);
+            try {
+                onResult.accept(gameResponseDto);
+            } catch (Exception resultEx) {
+                showConnectionError();
+            }
+        }));
+    }
+
+    /**
+     * Appends a completed round to the round history, if it is available, flushes it and updates the leaderboard
+     * on the round history thread. At the rate of rounds played by hand, flushing every round is cheap.
+     *
+     * @param mode The game mode of the round.
+     * @param player1Name The name of the first player.
+     * @param player2Name The name of the second player.
+     * @param gameResponseDto The result of the round.
+     */
+    private void recordRound(GameMode mode, String player1Name, String player2Name, GameResponseDto gameResponseDto) {
+        long timestamp = System.currentTimeMillis();
+        String name1 = Objects.toString(player1Name, "");
+        String name2 = Objects.toString(player2Name, "");
+        historyExecutor.execute(() -> {
+            leaderboard.record(name1, name2, gameResponseDto.gameResult());
+            if (roundLog == null) {
+                return;
+            }
+            try {
+                roundLog.append(timestamp, mode, name1, name2,
+                        gameResponseDto.player1Move(), gameResponseDto.player2Move(), gameResponseDto.gameResult());
+                roundLog.flush();
+            } catch (IOException ex) {
+                System.err.println("Failed to record round: " + ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Displays the best-rated players of all recorded rounds, or that they are still being loaded.
+     */
+    private void showLeaderboard() {
+        Stage leaderboardStage = new Stage();
+        ListView<String> standingList = new ListView<>();
+        Leaderboard loaded = leaderboard;
+        if (loaded == null) {
+            leaderboardStage.setTitle("Leaderboard (loading)");
+            standingList.getItems().add("Loading the round history...");
+        } else {
+            leaderboardStage.setTitle("Leaderboard (" + loaded.size() + " players)");
+            int rank = 1;
+            for (Standing standing : loaded.top(LEADERBOARD_SIZE)) {
+                standingList.getItems().add(String.format("%d. %s  %.0f  (%d W / %d L / %d D)", rank++, standing.name(),
+                        standing.rating(), standing.wins(), standing.losses(), standing.draws()));
+            }
+        }
+
+        VBox leaderboardLayout = new VBox(10, standingList);
+        Scene leaderboardScene = new Scene(leaderboardLayout, 360, 300);
+        leaderboardStage.setScene(leaderboardScene);
+        leaderboardStage.show();
+    }
+
+    /**
+     * Shows an alert informing the user that the round could not be played.
+     */
+    private void showConnectionError() {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Connection Error");
+        alert.setHeaderText(null);
+        alert.setContentText("Server connection failed");
+        alert.showAndWait();
+    }
+
     /**
      * Saves the result of the game to a file.
      * <p>
@@ -567,35 +943,17 @@ public class RockPaperScissorsApplication extends Application {
     }
 
     /**
-     * Creates an image view for a given player's move.
+     * Creates a view for a given player's move.
      * <p>
-     * This method takes a player's move (either ROCK, PAPER, or SCISSORS) and returns an ImageView
-     * representing that move. The method maps the move to a corresponding image file (rock.png, paper.png, or scissors.png),
-     * creates an Image object from the file, and returns an ImageView with that image.
+     * The view shares the image of the move from the move image cache, which was decoded at the display size
+     * when the application started.
      * </p>
      *
      * @param move The move made by the player (either ROCK, PAPER, or SCISSORS).
-     * @return An ImageView containing the image corresponding to the player's move.
+     * @return A node showing the image of the player's move, or its name if the image is unavailable.
      */
-    private ImageView createMoveImage(Player.Move move) {
-        String imagePath = "";
-
-        switch (move) {
-            case ROCK:
-                imagePath = "/images/rock.png";
-                break;
-            case PAPER:
-                imagePath = "/images/paper.png";
-                break;
-            case SCISSORS:
-                imagePath = "/images/scissors.png";
-                break;
-        }
-        Image image = new Image(RockPaperScissorsApplication.class.getResourceAsStream(imagePath));
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(100);
-        imageView.setPreserveRatio(true);
-        return imageView;
+    private Node createMoveImage(Player.Move move) {
+        return moveImageCache.createView(move);
     }
 
     /**
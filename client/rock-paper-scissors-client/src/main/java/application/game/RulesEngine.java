@@ -0,0 +1,164 @@
+package application.game;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides rounds of Rock-Paper-Scissors and its variants from a precomputed outcome table.
+ * <p>
+ * Moves are numbered from 0. The outcome of every pair of moves is computed once, when the engine is created, and
+ * packed into a byte array with one row per move of the first player. Rows are padded to a power of two, so a
+ * lookup is a shift, an or and one array access, without branches and without allocating. The outcome codes are
+ * those of {@link GameRules}.
+ * </p>
+ * <p>
+ * {@link #CLASSIC} numbers its moves like the ordinals of {@link Player.Move}, and
+ * {@link #ROCK_PAPER_SCISSORS_LIZARD_SPOCK} extends it with LIZARD and SPOCK, so the classic moves keep their
+ * numbers. {@link #cyclic(String...)} creates the balanced variant for any odd number of moves. Engines are
+ * immutable and thread-safe.
+ * </p>
+ */
+public final class RulesEngine {
+    /**
+     * The rules of the board: ROCK beats SCISSORS, PAPER beats ROCK, SCISSORS beats PAPER.
+     */
+    public static final RulesEngine CLASSIC = cyclic("ROCK", "PAPER", "SCISSORS");
+
+    /**
+     * The classic rules extended with LIZARD and SPOCK, where every move beats two others and is beaten by two.
+     */
+    public static final RulesEngine ROCK_PAPER_SCISSORS_LIZARD_SPOCK = new RulesEngine(
+            new String[] {"ROCK", "PAPER", "SCISSORS", "LIZARD", "SPOCK"},
+            new int[][] {
+                    {0, 2}, {0, 3},
+                    {1, 0}, {1, 4},
+                    {2, 1}, {2, 3},
+                    {3, 1}, {3, 4},
+                    {4, 0}, {4, 2}
+            });
+
+    private final String[] moveNames;
+    private final int shift;
+    private final byte[] outcomes;
+
+    private RulesEngine(String[] moveNames, int[][] wins) {
+        this.moveNames = moveNames;
+        int moveCount = moveNames.length;
+        shift = 32 - Integer.numberOfLeadingZeros(Math.max(1, moveCount - 1));
+        outcomes = new byte[moveCount << shift];
+        for (int move1 = 0; move1 < moveCount; move1++) {
+            for (int move2 = 0; move2 < moveCount; move2++) {
+                if (move1 != move2) {
+                    outcomes[move1 << shift | move2] = GameRules.PLAYER_2_WINS;
+                }
+            }
+        }
+        for (int[] win : wins) {
+            outcomes[win[0] << shift | win[1]] = GameRules.PLAYER_1_WINS;
+        }
+    }
+
+    /**
+     * Creates the balanced variant for an odd number of moves. Every move beats the {@code (n - 1) / 2} moves
+     * before it, counted cyclically, and is beaten by the ones after it, so each move wins against as many moves
+     * as it loses to. The classic rules are {@code cyclic("ROCK", "PAPER", "SCISSORS")}.
+     *
+     * @param moveNames the names of the moves, in cyclic order
+     * @return the engine for the variant
+     * @throws IllegalArgumentException if the number of moves is not odd, or a name is repeated
+     */
+    public static RulesEngine cyclic(String... moveNames) {
+        int moveCount = moveNames.length;
+        if (moveCount % 2 == 0) {
+            throw new IllegalArgumentException("A balanced variant needs an odd number of moves, got " + moveCount);
+        }
+        if (Arrays.stream(moveNames).distinct().count() != moveCount) {
+            throw new IllegalArgumentException("Move names must be distinct");
+        }
+
+        int[][] wins = new int[moveCount * (moveCount / 2)][];
+        int win = 0;
+        for (int move1 = 0; move1 < moveCount; move1++) {
+            for (int distance = 1; distance <= moveCount / 2; distance++) {
+                wins[win++] = new int[] {move1, (move1 - distance + moveCount) % moveCount};
+            }
+        }
+        return new RulesEngine(moveNames.clone(), wins);
+    }
+
+    /**
+     * Decides a round.
+     *
+     * @param move1 the number of the move of the first player, below {@link #moveCount()}
+     * @param move2 the number of the move of the second player, below {@link #moveCount()}
+     * @return {@link GameRules#DRAW}, {@link GameRules#PLAYER_1_WINS} or {@link GameRules#PLAYER_2_WINS}
+     */
+    public int outcome(int move1, int move2) {
+        return outcomes[move1 << shift | move2];
+    }
+
+    /**
+     * Decides a round of moves of the board, numbered by their ordinals.
+     *
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @return {@link GameRules#DRAW}, {@link GameRules#PLAYER_1_WINS} or {@link GameRules#PLAYER_2_WINS}
+     */
+    public int outcome(Player.Move move1, Player.Move move2) {
+        return outcomes[move1.ordinal() << shift | move2.ordinal()];
+    }
+
+    /**
+     * Returns whether one move beats another.
+     *
+     * @param move the number of the move
+     * @param other the number of the other move
+     * @return {@code true} if {@code move} wins against {@code other}
+     */
+    public boolean beats(int move, int other) {
+        return outcome(move, other) == GameRules.PLAYER_1_WINS;
+    }
+
+    /**
+     * Returns the number of moves of the variant.
+     *
+     * @return the number of moves
+     */
+    public int moveCount() {
+        return moveNames.length;
+    }
+
+    /**
+     * Returns the name of a move.
+     *
+     * @param move the number of the move
+     * @return the name of the move
+     */
+    public String moveName(int move) {
+        return moveNames[move];
+    }
+
+    /**
+     * Returns the names of all moves, in the order of their numbers.
+     *
+     * @return an unmodifiable list of the move names
+     */
+    public List<String> moveNames() {
+        return List.of(moveNames);
+    }
+
+    /**
+     * Returns the number of a move.
+     *
+     * @param moveName the name of the move
+     * @return the number of the move, or -1 if the variant has no move of that name
+     */
+    public int indexOf(String moveName) {
+        for (int move = 0; move < moveNames.length; move++) {
+            if (moveNames[move].equals(moveName)) {
+                return move;
+            }
+        }
+        return -1;
+    }
+}
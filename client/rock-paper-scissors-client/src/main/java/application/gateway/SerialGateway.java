@@ -0,0 +1,451 @@
+package application.gateway;
+
+import com.fazecast.jSerialComm.SerialPort;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import application.communication.Communication;
+import application.communication.FrameTooLongException;
+import application.communication.ReadTimeoutException;
+import application.communication.SerialCommunication;
+import application.dto.GameFrameCodec;
+
+/**
+ * Headless gateway that lets many TCP clients share one serial-attached server.
+ * <p>
+ * A single selector thread accepts local clients and reads their request lines. Complete lines are queued and
+ * forwarded to the link by a writer thread, keeping up to {@code pipelineDepth} requests in flight. A reader thread
+ * takes the response frames off the link and, since the server answers strictly in order, routes each one back to
+ * the client whose request is the oldest in flight. Lines the server would reject (overlong lines, empty lines
+ * and invalid binary frames, tagged or not) are not forwarded but answered with an empty frame by the gateway,
+ * just as the server answers them. Baud rate requests are answered the same way, since the link is shared and its
+ * rate is not any single client's to change. Correlation tags are passed through unchanged; they only have to be
+ * unique among the requests of one client.
+ * </p>
+ * <p>
+ * If the oldest request in flight is not answered within the response timeout, the server is assumed to have
+ * dropped it: its client gets an empty frame, which a client treats as a malformed response and retries, and the
+ * start of an incomplete frame is discarded, so the following responses go to their own clients again.
+ * </p>
+ * <p>
+ * Each client may have at most {@code maxPendingPerClient} requests queued or in flight; the gateway stops reading
+ * from a client at that limit, which bounds the queue length and therefore the queueing latency.
+ * </p>
+ */
+public class SerialGateway implements AutoCloseable {
+    /**
+     * The TCP port the gateway listens on when started from {@link #main(String[])} without a port argument.
+     */
+    public static final int DEFAULT_PORT = 5402;
+
+    /**
+     * How long the oldest request in flight may wait for its response before it is failed.
+     */
+    public static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final int LINE_CAPACITY = 32;
+    private static final byte[] RESPONSE_DELIMITER = {'|'};
+    private static final byte[] EMPTY_RESPONSE = {'|'};
+    private static final byte[] BAUD_PREFIX = GameFrameCodec.BAUD_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    private final Communication link;
+    private final InetSocketAddress address;
+    private final int pipelineDepth;
+    private final int maxPendingPerClient;
+    private final long responseTimeoutNanos;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<SentRequest> inFlight = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Response> responses = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlightPermits;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    /**
+     * Creates a gateway in front of the given link.
+     *
+     * @param link the channel to the server, normally a {@link SerialCommunication}
+     * @param address the local address to accept clients on
+     * @param pipelineDepth the number of requests kept in flight on the link
+     * @param maxPendingPerClient the number of requests a single client may have queued or in flight
+     */
+    public SerialGateway(Communication link, InetSocketAddress address, int pipelineDepth, int maxPendingPerClient) {
+        this(link, address, pipelineDepth, maxPendingPerClient, DEFAULT_RESPONSE_TIMEOUT);
+    }
+
+    /**
+     * Creates a gateway in front of the given link with a custom response timeout.
+     *
+     * @param link the channel to the server, normally a {@link SerialCommunication}
+     * @param address the local address to accept clients on
+     * @param pipelineDepth the number of requests kept in flight on the link
+     * @param maxPendingPerClient the number of requests a single client may have queued or in flight
+     * @param responseTimeout how long the oldest request in flight may wait for its response
+     */
+    public SerialGateway(Communication link, InetSocketAddress address, int pipelineDepth, int maxPendingPerClient,
+                         Duration responseTimeout) {
+        this.link = link;
+        this.address = address;
+        this.pipelineDepth = pipelineDepth;
+        this.maxPendingPerClient = maxPendingPerClient;
+        this.responseTimeoutNanos = responseTimeout.toNanos();
+        this.inFlightPermits = new Semaphore(pipelineDepth);
+    }
+
+    /**
+     * Binds the listening socket and starts the selector and link threads.
+     *
+     * @throws IOException if the socket cannot be bound
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+
+        startThread("gateway-selector", this::runSelector);
+        startThread("gateway-link-writer", this::runLinkWriter);
+        startThread("gateway-link-reader", this::runLinkReader);
+    }
+
+    /**
+     * Returns the TCP port the gateway is listening on.
+     *
+     * @return the local port
+     * @throws IOException if the port cannot be determined
+     */
+    public int getLocalPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of requests that were forwarded to the link but not answered yet.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlightCount() {
+        return pipelineDepth - inFlightPermits.availablePermits();
+    }
+
+    /**
+     * Stops all threads, disconnects the clients and closes the link.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        link.close();
+    }
+
+    private void runSelector() {
+        try {
+            while (running) {
+                selector.select();
+                deliverResponses();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            read(key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write(key);
+                        }
+                    } catch (IOException e) {
+                        disconnect(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Gateway selector failed: " + e.getMessage());
+        } finally {
+            closeSelector();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Client(key));
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer buffer = client.readBuffer;
+
+        buffer.clear();
+        int bytesRead = channel.read(buffer);
+        if (bytesRead < 0) {
+            disconnect(key);
+            return;
+        }
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            byte value = buffer.get();
+            if (value == '\n') {
+                if (!client.lineOverflow && isForwardable(client.line, client.lineLength)) {
+                    client.line[client.lineLength] = '\n';
+                    client.pending++;
+                    requests.add(new Request(client, Arrays.copyOf(client.line, client.lineLength + 1)));
+                } else {
+                    client.outbound.add(ByteBuffer.wrap(EMPTY_RESPONSE));
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                }
+                client.lineLength = 0;
+                client.lineOverflow = false;
+            } else if (client.lineLength < LINE_CAPACITY) {
+                client.line[client.lineLength++] = value;
+            } else {
+                client.lineOverflow = true;
+            }
+        }
+
+        if (client.pending >= maxPendingPerClient) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+
+        while (!client.outbound.isEmpty()) {
+            ByteBuffer buffer = client.outbound.peek();
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return;
+            }
+            client.outbound.poll();
+        }
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+    }
+
+    private void deliverResponses() {
+        Response response;
+        while ((response = responses.poll()) != null) {
+            Client client = response.client();
+            if (!client.key.isValid()) {
+                continue;
+            }
+
+            client.outbound.add(ByteBuffer.wrap(response.frame()));
+            client.pending--;
+            int interestOps = client.key.interestOps() | SelectionKey.OP_WRITE;
+            if (client.pending < maxPendingPerClient) {
+                interestOps |= SelectionKey.OP_READ;
+            }
+            client.key.interestOps(interestOps);
+        }
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            System.err.println("Failed to close client connection: " + e.getMessage());
+        }
+    }
+
+    private void closeSelector() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close gateway: " + e.getMessage());
+        }
+    }
+
+    private void runLinkWriter() {
+        try {
+            while (running) {
+                Request request = requests.take();
+                inFlightPermits.acquire();
+                inFlight.add(new SentRequest(request.client(), System.nanoTime()));
+                link.sendBytes(request.line(), 0, request.line().length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            linkFailed(e);
+        }
+    }
+
+    private void runLinkReader() {
+        byte[] frame = new byte[64];
+        try {
+            while (running) {
+                SentRequest oldest = inFlight.peek();
+                long waitNanos = oldest == null
+                        ? responseTimeoutNanos
+                        : Math.max(1_000_000L, oldest.sentAt() + responseTimeoutNanos - System.nanoTime());
+                int frameLength;
+                try {
+                    frameLength = link.receiveFrame(RESPONSE_DELIMITER, frame, Duration.ofNanos(waitNanos));
+                } catch (ReadTimeoutException e) {
+                    failOverdueRequest();
+                    continue;
+                } catch (FrameTooLongException e) {
+                    // line noise the link has dropped; the answer it hid, if any, is failed by the timeout
+                    continue;
+                }
+
+                SentRequest request = inFlight.poll();
+                if (request == null) {
+                    continue;
+                }
+                inFlightPermits.release();
+                byte[] response = Arrays.copyOf(frame, frameLength + 1);
+                response[frameLength] = '|';
+                respond(request.client(), response);
+            }
+        } catch (IOException e) {
+            linkFailed(e);
+        }
+    }
+
+    /**
+     * Fails the oldest request in flight if it has waited longer than the response timeout, since the server
+     * does not answer a request it cannot parse.
+     */
+    private void failOverdueRequest() {
+        SentRequest oldest = inFlight.peek();
+        if (oldest == null || System.nanoTime() - oldest.sentAt() < responseTimeoutNanos) {
+            return;
+        }
+        inFlight.poll();
+        inFlightPermits.release();
+        link.discardInput();
+        respond(oldest.client(), EMPTY_RESPONSE);
+    }
+
+    private void respond(Client client, byte[] response) {
+        responses.add(new Response(client, response));
+        selector.wakeup();
+    }
+
+    private void linkFailed(IOException e) {
+        if (running) {
+            System.err.println("Link to the server failed: " + e.getMessage());
+            close();
+        }
+    }
+
+    private static boolean isForwardable(byte[] line, int length) {
+        if (length == 0 || startsWith(line, length, BAUD_PREFIX)) {
+            return false;
+        }
+        int requestIndex;
+        if (length == 1 && GameFrameCodec.isBinary(line[0])) {
+            requestIndex = 0;
+        } else if (GameFrameCodec.isTagged(line, length)) {
+            requestIndex = 1;
+        } else {
+            return true;
+        }
+        try {
+            GameFrameCodec.decodeMode(line[requestIndex]);
+            GameFrameCodec.decodeMove(line[requestIndex], 2);
+            GameFrameCodec.decodeMove(line[requestIndex], 4);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean startsWith(byte[] line, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(line, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts a gateway for a serial port on the loopback interface.
+     * <p>
+     * Usage: {@code SerialGateway [portIndex] [tcpPort] [pipelineDepth]}
+     * </p>
+     *
+     * @param args the index of the serial port, the TCP port and the pipeline depth, all optional
+     * @throws Exception if the gateway cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        int portIndex = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int tcpPort = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        int pipelineDepth = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        SerialGateway gateway = new SerialGateway(new SerialCommunication(SerialPort.getCommPorts()[portIndex]),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), tcpPort), pipelineDepth, 64);
+        gateway.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(gateway::close));
+        System.out.println("Gateway listening on port " + gateway.getLocalPort());
+        Thread.currentThread().join();
+    }
+
+    /**
+     * State of one connected client, owned by the selector thread.
+     */
+    private static class Client {
+        private final SelectionKey key;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+        private final byte[] line = new byte[LINE_CAPACITY + 1];
+        private final ArrayDeque<ByteBuffer> outbound = new ArrayDeque<>();
+        private int lineLength;
+        private boolean lineOverflow;
+        private int pending;
+
+        Client(SelectionKey key) {
+            this.key = key;
+        }
+    }
+
+    private record Request(Client client, byte[] line) {
+    }
+
+    private record SentRequest(Client client, long sentAt) {
+    }
+
+    private record Response(Client client, byte[] frame) {
+    }
+}
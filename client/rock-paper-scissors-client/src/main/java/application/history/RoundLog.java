@@ -0,0 +1,509 @@
+package application.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+
+/**
+ * Append-only, memory-mapped log of played rounds with an in-memory index by player name.
+ * <p>
+ * The log is a directory with two files. {@code rounds.dat} starts with a {@value #HEADER_SIZE}-byte header holding
+ * the number of committed rounds and continues with fixed-size records of {@value #RECORD_SIZE} bytes:
+ * </p>
+ * <pre>
+ * long timestamp in epoch milliseconds
+ * int  id of player 1
+ * int  id of player 2 &lt;&lt; 8 | result &lt;&lt; 6 | move 2 &lt;&lt; 4 | move 1 &lt;&lt; 2 | mode
+ * </pre>
+ * <p>
+ * {@code players.dat} holds the interned player names as length-prefixed UTF-8 strings; the position of a name is
+ * its id. Records are written straight into mapped segments of {@value #SEGMENT_RECORDS} records, so an append costs
+ * a few memory stores. They become durable in batches: {@link #flush()} forces the names and the written segments
+ * to disk before it publishes the new round count in the header. This happens every {@value #FLUSH_INTERVAL}
+ * appends and on {@link #close()}; after a crash the log reopens at the last published count.
+ * </p>
+ * <p>
+ * Opening the log scans the records once to rebuild the per-player index, so {@link #lastRounds(String, int)} only
+ * reads the records it returns. The index keeps the positions of the last {@value #MAX_INDEXED_ROUNDS} rounds of
+ * every player and counts the older ones, so its size does not grow with the history. Since opening a long log
+ * takes a while, interactive callers open it off their startup path. All methods are thread-safe. A {@link Batch}
+ * lets a producer append many rounds under a single lock acquisition.
+ * </p>
+ */
+public final class RoundLog implements AutoCloseable {
+    /**
+     * The size of one round record in bytes.
+     */
+    public static final int RECORD_SIZE = 16;
+
+    /**
+     * The number of records per mapped segment of the rounds file.
+     */
+    public static final int SEGMENT_RECORDS = 1 << 20;
+
+    /**
+     * The number of appends after which the log is flushed automatically.
+     */
+    public static final int FLUSH_INTERVAL = 1 << 16;
+
+    /**
+     * The number of most recent rounds per player that {@link #lastRounds(String, int)} can return.
+     */
+    public static final int MAX_INDEXED_ROUNDS = 1024;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int SEGMENT_SHIFT = 20;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_SIZE;
+    private static final long MAGIC = 0x5250534C4F470001L;
+    private static final int COUNT_OFFSET = 8;
+    private static final int MAX_PLAYERS = 1 << 24;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final GameMode[] MODES = GameMode.values();
+    private static final Player.Move[] MOVES = Player.Move.values();
+
+    private final FileChannel roundsChannel;
+    private final FileChannel playersChannel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private final List<String> playerNames = new ArrayList<>();
+    private final List<PlayerIndex> playerIndexes = new ArrayList<>();
+    private long size;
+    private long committed;
+    private boolean closed;
+
+    private RoundLog(Path directory) throws IOException {
+        playersChannel = FileChannel.open(directory.resolve("players.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        roundsChannel = FileChannel.open(directory.resolve("rounds.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            readPlayers();
+            boolean created = roundsChannel.size() < HEADER_SIZE;
+            header = roundsChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (created) {
+                header.putLong(0, MAGIC);
+                header.putLong(COUNT_OFFSET, 0);
+                header.force();
+            } else if (header.getLong(0) != MAGIC) {
+                throw new IOException("Not a round log: " + directory);
+            }
+            committed = header.getLong(COUNT_OFFSET);
+            size = committed;
+            rebuildIndex();
+        } catch (IOException | RuntimeException e) {
+            playersChannel.close();
+            roundsChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the log in the given directory, creating the directory and the log files if necessary.
+     *
+     * @param directory the directory holding the log
+     * @return the opened log
+     * @throws IOException if the log cannot be opened or is damaged
+     */
+    public static RoundLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new RoundLog(directory);
+    }
+
+    /**
+     * Appends one round.
+     *
+     * @param timestamp the time of the round in epoch milliseconds
+     * @param mode the game mode of the round
+     * @param player1 the name of the first player
+     * @param player2 the name of the second player
+     * @param move1 the move of the first player
+     * @param move2 the move of the second player
+     * @param result the result of the round
+     * @throws IOException if the log is closed or cannot be written
+     */
+    public synchronized void append(long timestamp, GameMode mode, String player1, String player2,
+                                    Player.Move move1, Player.Move move2, GameResult result) throws IOException {
+        ensureOpen();
+        write(timestamp, intern(player1), intern(player2), outcome(mode, move1, move2, result));
+        if (size - committed >= FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends every round of a batch in order and empties the batch.
+     *
+     * @param batch the rounds to append
+     * @throws IOException if the log is closed or cannot be written
+     */
+    public synchronized void append(Batch batch) throws IOException {
+        ensureOpen();
+        String lastName1 = null;
+        String lastName2 = null;
+        int lastId1 = 0;
+        int lastId2 = 0;
+        for (int i = 0; i < batch.size; i++) {
+            String name1 = batch.players1[i];
+            String name2 = batch.players2[i];
+            if (name1 != lastName1) {
+                lastId1 = intern(name1);
+                lastName1 = name1;
+            }
+            if (name2 != lastName2) {
+                lastId2 = intern(name2);
+                lastName2 = name2;
+            }
+            write(batch.timestamps[i], lastId1, lastId2, batch.outcomes[i]);
+        }
+        batch.clear();
+        if (size - committed >= FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the most recent rounds a player took part in.
+     *
+     * @param player the name of the player
+     * @param count the maximum number of rounds to return, at most {@value #MAX_INDEXED_ROUNDS} are returned
+     * @return the rounds, most recent first; empty if the player is unknown
+     */
+    public synchronized List<RoundRecord> lastRounds(String player, int count) {
+        Integer id = playerIds.get(player);
+        if (id == null) {
+            return List.of();
+        }
+
+        PlayerIndex index = playerIndexes.get(id);
+        int returned = Math.max(0, Math.min(count, index.indexed()));
+        List<RoundRecord> rounds = new ArrayList<>(returned);
+        for (int i = 0; i < returned; i++) {
+            rounds.add(read(index.recent(i)));
+        }
+        return rounds;
+    }
+
+    /**
+     * Returns the number of rounds a player took part in.
+     *
+     * @param player the name of the player
+     * @return the number of rounds, 0 if the player is unknown
+     */
+    public synchronized int roundCount(String player) {
+        Integer id = playerIds.get(player);
+        return id == null ? 0 : playerIndexes.get(id).count;
+    }
+
+    /**
+     * Reads the round at a position of the log.
+     *
+     * @param position the position of the round, starting at 0 for the oldest round
+     * @return the round
+     * @throws IndexOutOfBoundsException if there is no round at the position
+     */
+    public synchronized RoundRecord get(long position) {
+        Objects.checkIndex(position, size);
+        return read(position);
+    }
+
+    /**
+     * Passes the players and the result of every round to a visitor, oldest first, without creating a
+     * {@link RoundRecord} per round.
+     *
+     * @param visitor the visitor of the rounds
+     */
+    public synchronized void forEachResult(ResultVisitor visitor) {
+        for (long position = 0; position < size; position++) {
+            MappedByteBuffer segment = segments.get((int) (position >>> SEGMENT_SHIFT));
+            int offset = (int) (position & SEGMENT_RECORDS - 1) * RECORD_SIZE;
+            int word = segment.getInt(offset + 12);
+            visitor.visit(playerNames.get(segment.getInt(offset + 8)), playerNames.get(word >>> 8),
+                    GameResult.fromCode(word >> 6 & 0x3));
+        }
+    }
+
+    /**
+     * Returns the number of rounds in the log, including the ones not flushed yet.
+     *
+     * @return the number of rounds
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Forces the appended rounds to disk and publishes their count, making them survive a crash.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (committed == size) {
+            return;
+        }
+
+        playersChannel.force(false);
+        int firstSegment = (int) (committed >>> SEGMENT_SHIFT);
+        int lastSegment = (int) (size - 1 >>> SEGMENT_SHIFT);
+        for (int segment = firstSegment; segment <= lastSegment; segment++) {
+            segments.get(segment).force();
+        }
+        header.putLong(COUNT_OFFSET, size);
+        header.force();
+        committed = size;
+    }
+
+    /**
+     * Flushes the log and closes its files. The mapped segments are released by the garbage collector.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            playersChannel.close();
+            roundsChannel.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Round log is closed");
+        }
+    }
+
+    private void write(long timestamp, int player1, int player2, int outcome) throws IOException {
+        if (size == Integer.MAX_VALUE) {
+            throw new IOException("Round log is full");
+        }
+        int position = (int) size;
+        MappedByteBuffer segment = segment(position >>> SEGMENT_SHIFT);
+        int offset = (position & SEGMENT_RECORDS - 1) * RECORD_SIZE;
+        segment.putLong(offset, timestamp);
+        segment.putInt(offset + 8, player1);
+        segment.putInt(offset + 12, player2 << 8 | outcome);
+
+        playerIndexes.get(player1).add(position);
+        if (player2 != player1) {
+            playerIndexes.get(player2).add(position);
+        }
+        size++;
+    }
+
+    private RoundRecord read(long position) {
+        MappedByteBuffer segment = segments.get((int) (position >>> SEGMENT_SHIFT));
+        int offset = (int) (position & SEGMENT_RECORDS - 1) * RECORD_SIZE;
+        long timestamp = segment.getLong(offset);
+        int player1 = segment.getInt(offset + 8);
+        int word = segment.getInt(offset + 12);
+
+        return new RoundRecord(Instant.ofEpochMilli(timestamp), MODES[word & 0x3],
+                playerNames.get(player1), playerNames.get(word >>> 8),
+                MOVES[word >> 2 & 0x3], MOVES[word >> 4 & 0x3], GameResult.fromCode(word >> 6 & 0x3));
+    }
+
+    private MappedByteBuffer segment(int index) throws IOException {
+        while (segments.size() <= index) {
+            long offset = HEADER_SIZE + segments.size() * SEGMENT_BYTES;
+            segments.add(roundsChannel.map(FileChannel.MapMode.READ_WRITE, offset, SEGMENT_BYTES));
+        }
+        return segments.get(index);
+    }
+
+    private int intern(String name) throws IOException {
+        Integer id = playerIds.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name is too long");
+        }
+        if (playerNames.size() == MAX_PLAYERS) {
+            throw new IOException("Too many players in round log");
+        }
+        ByteBuffer entry = ByteBuffer.allocate(2 + bytes.length);
+        entry.putShort((short) bytes.length).put(bytes).flip();
+        while (entry.hasRemaining()) {
+            playersChannel.write(entry, playersChannel.size());
+        }
+        return register(name);
+    }
+
+    private int register(String name) {
+        int id = playerNames.size();
+        playerIds.put(name, id);
+        playerNames.add(name);
+        playerIndexes.add(new PlayerIndex());
+        return id;
+    }
+
+    private void readPlayers() throws IOException {
+        ByteBuffer names = ByteBuffer.allocate((int) playersChannel.size());
+        while (names.hasRemaining() && playersChannel.read(names, names.position()) >= 0) {
+            // read the whole file, it only holds the distinct player names
+        }
+        names.flip();
+
+        while (names.remaining() >= 2) {
+            int length = Short.toUnsignedInt(names.getShort(names.position()));
+            if (names.remaining() < 2 + length) {
+                break;
+            }
+            byte[] bytes = new byte[length];
+            names.position(names.position() + 2);
+            names.get(bytes);
+            register(new String(bytes, StandardCharsets.UTF_8));
+        }
+        playersChannel.truncate(names.position());
+    }
+
+    private void rebuildIndex() throws IOException {
+        for (long position = 0; position < size; position++) {
+            MappedByteBuffer segment = segment((int) (position >>> SEGMENT_SHIFT));
+            int offset = (int) (position & SEGMENT_RECORDS - 1) * RECORD_SIZE;
+            int player1 = segment.getInt(offset + 8);
+            int player2 = segment.getInt(offset + 12) >>> 8;
+            if (player1 >= playerNames.size() || player2 >= playerNames.size()) {
+                throw new IOException("Round " + position + " refers to an unknown player");
+            }
+            playerIndexes.get(player1).add((int) position);
+            if (player2 != player1) {
+                playerIndexes.get(player2).add((int) position);
+            }
+        }
+    }
+
+    private static int outcome(GameMode mode, Player.Move move1, Player.Move move2, GameResult result) {
+        return mode.ordinal() | move1.ordinal() << 2 | move2.ordinal() << 4 | result.ordinal() << 6;
+    }
+
+    /**
+     * Receives the players and the result of the rounds visited by {@link RoundLog#forEachResult(ResultVisitor)}.
+     */
+    @FunctionalInterface
+    public interface ResultVisitor {
+        /**
+         * Visits one round.
+         *
+         * @param player1 the name of the first player
+         * @param player2 the name of the second player
+         * @param result the result of the round
+         */
+        void visit(String player1, String player2, GameResult result);
+    }
+
+    /**
+     * Reusable buffer of rounds that are appended together by {@link RoundLog#append(Batch)}.
+     * Not thread-safe; every producer thread uses its own batch.
+     */
+    public static final class Batch {
+        private final long[] timestamps;
+        private final String[] players1;
+        private final String[] players2;
+        private final int[] outcomes;
+        private int size;
+
+        /**
+         * Creates an empty batch.
+         *
+         * @param capacity the number of rounds the batch holds
+         */
+        public Batch(int capacity) {
+            timestamps = new long[capacity];
+            players1 = new String[capacity];
+            players2 = new String[capacity];
+            outcomes = new int[capacity];
+        }
+
+        /**
+         * Adds a round to the batch.
+         *
+         * @param timestamp the time of the round in epoch milliseconds
+         * @param mode the game mode of the round
+         * @param player1 the name of the first player
+         * @param player2 the name of the second player
+         * @param move1 the move of the first player
+         * @param move2 the move of the second player
+         * @param result the result of the round
+         * @return {@code true} if the batch is full afterwards and should be appended
+         * @throws IllegalStateException if the batch is already full
+         */
+        public boolean add(long timestamp, GameMode mode, String player1, String player2,
+                           Player.Move move1, Player.Move move2, GameResult result) {
+            if (size == timestamps.length) {
+                throw new IllegalStateException("Batch is full");
+            }
+            timestamps[size] = timestamp;
+            players1[size] = Objects.requireNonNull(player1);
+            players2[size] = Objects.requireNonNull(player2);
+            outcomes[size] = outcome(mode, move1, move2, result);
+            return ++size == timestamps.length;
+        }
+
+        /**
+         * Returns the number of rounds in the batch.
+         *
+         * @return the number of rounds
+         */
+        public int size() {
+            return size;
+        }
+
+        private void clear() {
+            Arrays.fill(players1, 0, size, null);
+            Arrays.fill(players2, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Positions of the last {@value #MAX_INDEXED_ROUNDS} rounds of one player in a ring that grows up to that size,
+     * and the number of all rounds of the player.
+     */
+    private static final class PlayerIndex {
+        private int[] positions = new int[8];
+        private int count;
+
+        void add(int position) {
+            if (count == positions.length && positions.length < MAX_INDEXED_ROUNDS) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[count & positions.length - 1] = position;
+            count++;
+        }
+
+        int indexed() {
+            return Math.min(count, positions.length);
+        }
+
+        /**
+         * Returns the position of a recent round, 0 being the most recent one.
+         */
+        int recent(int back) {
+            return positions[count - 1 - back & positions.length - 1];
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package application.history;
+
+import java.time.Instant;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+
+/**
+ * Data Transfer Object for one round read back from the {@link RoundLog}.
+ *
+ * @param timestamp the time the round was recorded
+ * @param mode the game mode of the round
+ * @param player1 the name of the first player
+ * @param player2 the name of the second player
+ * @param player1Move the move of the first player
+ * @param player2Move the move of the second player
+ * @param gameResult the result of the round
+ */
+public record RoundRecord(Instant timestamp, GameMode mode, String player1, String player2,
+                          Player.Move player1Move, Player.Move player2Move, GameResult gameResult) {
+}
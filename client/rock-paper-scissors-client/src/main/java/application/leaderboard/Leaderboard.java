@@ -0,0 +1,261 @@
+package application.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import application.game.GameResult;
+
+/**
+ * Ranks players by an Elo rating that is updated with every round result fed to it.
+ * <p>
+ * Player names are interned into dense ids on first sight, and the counters and ratings of all players live in
+ * primitive arrays indexed by id, so recording a round by id touches no map and allocates nothing. Each round moves
+ * the ratings of both players by {@link #K_FACTOR} times the difference between the actual score (1 for a win, 0.5
+ * for a draw) and the score expected from the rating difference; new players start at {@link #INITIAL_RATING}.
+ * </p>
+ * <p>
+ * The players are kept in an indexed binary max-heap ordered by rating, with the heap position of every player
+ * tracked by id, so an update only sifts the two players of the round. {@link #top(int)} walks the heap from the
+ * root with a frontier of at most k + 1 candidates, which costs O(k log k) regardless of the number of players.
+ * Ties are broken in favour of the player seen first. Rounds a player plays against themselves are not rated. The
+ * leaderboard is thread-safe.
+ * </p>
+ */
+public class Leaderboard {
+    /**
+     * The rating of a player who has not played a rated round yet.
+     */
+    public static final double INITIAL_RATING = 1500;
+
+    /**
+     * The largest rating change a single round can cause.
+     */
+    public static final double K_FACTOR = 32;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private double[] ratings = new double[INITIAL_CAPACITY];
+    private int[] wins = new int[INITIAL_CAPACITY];
+    private int[] losses = new int[INITIAL_CAPACITY];
+    private int[] draws = new int[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int[] heapPositions = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the id of a player, registering the player with the initial rating if it is new.
+     *
+     * @param name the name of the player
+     * @return the id, which stays valid for the lifetime of the leaderboard
+     */
+    public synchronized int intern(String name) {
+        Integer id = playerIds.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        if (size == names.length) {
+            int capacity = size * 2;
+            names = Arrays.copyOf(names, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            losses = Arrays.copyOf(losses, capacity);
+            draws = Arrays.copyOf(draws, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+        }
+        int newId = size++;
+        playerIds.put(name, newId);
+        names[newId] = name;
+        ratings[newId] = INITIAL_RATING;
+        heap[newId] = newId;
+        heapPositions[newId] = newId;
+        siftUp(newId);
+        return newId;
+    }
+
+    /**
+     * Records the result of a round between two named players.
+     *
+     * @param player1 the name of the first player
+     * @param player2 the name of the second player
+     * @param result the result of the round
+     */
+    public synchronized void record(String player1, String player2, GameResult result) {
+        record(intern(player1), intern(player2), result);
+    }
+
+    /**
+     * Records the result of a round between two players identified by {@link #intern(String)}.
+     *
+     * @param player1 the id of the first player
+     * @param player2 the id of the second player
+     * @param result the result of the round
+     * @throws IndexOutOfBoundsException if an id was not returned by {@link #intern(String)}
+     */
+    public synchronized void record(int player1, int player2, GameResult result) {
+        Objects.checkIndex(player1, size);
+        Objects.checkIndex(player2, size);
+        if (player1 == player2) {
+            return;
+        }
+
+        double score;
+        switch (result) {
+            case PLAYER_1 -> {
+                score = 1;
+                wins[player1]++;
+                losses[player2]++;
+            }
+            case PLAYER_2 -> {
+                score = 0;
+                losses[player1]++;
+                wins[player2]++;
+            }
+            default -> {
+                score = 0.5;
+                draws[player1]++;
+                draws[player2]++;
+            }
+        }
+        double expected = 1 / (1 + Math.pow(10, (ratings[player2] - ratings[player1]) / 400));
+        double change = K_FACTOR * (score - expected);
+        ratings[player1] += change;
+        ratings[player2] -= change;
+        if (change > 0) {
+            siftUp(heapPositions[player1]);
+            siftDown(heapPositions[player2]);
+        } else if (change < 0) {
+            siftDown(heapPositions[player1]);
+            siftUp(heapPositions[player2]);
+        }
+    }
+
+    /**
+     * Returns the best-rated players.
+     *
+     * @param k the maximum number of players to return
+     * @return the standings of at most k players, best first
+     */
+    public synchronized List<Standing> top(int k) {
+        int count = Math.min(Math.max(k, 0), size);
+        List<Standing> standings = new ArrayList<>(count);
+        if (count == 0) {
+            return standings;
+        }
+
+        // max-heap of heap positions; the children of every returned player become candidates
+        int[] frontier = new int[count + 1];
+        frontier[0] = 0;
+        int frontierSize = 1;
+        while (standings.size() < count) {
+            int position = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            siftDownFrontier(frontier, frontierSize, 0);
+            standings.add(standing(heap[position]));
+
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                int index = frontierSize++;
+                frontier[index] = child;
+                while (index > 0 && ahead(heap[child], heap[frontier[(index - 1) / 2]])) {
+                    frontier[index] = frontier[(index - 1) / 2];
+                    index = (index - 1) / 2;
+                }
+                frontier[index] = child;
+            }
+        }
+        return standings;
+    }
+
+    /**
+     * Returns the standing of a player.
+     *
+     * @param name the name of the player
+     * @return the standing, or {@code null} if the player is unknown
+     */
+    public synchronized Standing standing(String name) {
+        Integer id = playerIds.get(name);
+        return id == null ? null : standing(id);
+    }
+
+    /**
+     * Returns the number of players on the leaderboard.
+     *
+     * @return the number of interned players
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private Standing standing(int id) {
+        return new Standing(names[id], ratings[id], wins[id], losses[id], draws[id]);
+    }
+
+    /**
+     * Returns whether a player ranks above another: by rating, and by id if the ratings are equal.
+     */
+    private boolean ahead(int id, int other) {
+        return ratings[id] > ratings[other] || ratings[id] == ratings[other] && id < other;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!ahead(id, heap[parent])) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(id, position);
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ahead(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!ahead(heap[child], id)) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(id, position);
+    }
+
+    private void place(int id, int position) {
+        heap[position] = id;
+        heapPositions[id] = position;
+    }
+
+    private void siftDownFrontier(int[] frontier, int frontierSize, int index) {
+        int position = frontier[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= frontierSize) {
+                break;
+            }
+            if (child + 1 < frontierSize && ahead(heap[frontier[child + 1]], heap[frontier[child]])) {
+                child++;
+            }
+            if (!ahead(heap[frontier[child]], heap[position])) {
+                break;
+            }
+            frontier[index] = frontier[child];
+            index = child;
+        }
+        frontier[index] = position;
+    }
+}
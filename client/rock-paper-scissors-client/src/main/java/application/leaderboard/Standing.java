@@ -0,0 +1,21 @@
+package application.leaderboard;
+
+/**
+ * Data Transfer Object for the standing of one player on the {@link Leaderboard}.
+ *
+ * @param name the name of the player
+ * @param rating the Elo rating of the player
+ * @param wins the number of rounds the player won
+ * @param losses the number of rounds the player lost
+ * @param draws the number of rounds that ended in a draw
+ */
+public record Standing(String name, double rating, int wins, int losses, int draws) {
+    /**
+     * Returns the number of rated rounds the player took part in.
+     *
+     * @return the sum of wins, losses and draws
+     */
+    public int rounds() {
+        return wins + losses + draws;
+    }
+}
@@ -0,0 +1,247 @@
+package application.load;
+
+import com.fazecast.jSerialComm.SerialPort;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import application.communication.Communication;
+import application.communication.ReadTimeoutException;
+import application.communication.SerialCommunication;
+import application.communication.ServerEmulator;
+import application.communication.SocketCommunication;
+import application.controller.GameController;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.gateway.SerialGateway;
+import application.game.GameMode;
+import application.game.Player;
+import application.game.RulesEngine;
+import application.metrics.LatencyHistogram;
+
+/**
+ * Headless load generator that plays rounds through a {@link GameController} and measures throughput and latency.
+ * <p>
+ * {@link #runAtRate(double, Duration)} sends rounds on a fixed schedule, whatever the server does. Latencies are
+ * measured from the time a round was scheduled rather than the time it was sent, so rounds that queue up behind a
+ * slow response are charged with their waiting time and a stall is not hidden by coordinated omission.
+ * {@link #runWithConcurrency(int, Duration)} keeps a fixed number of rounds in flight instead; its latencies are
+ * corrected by back-filling the rounds a stalled caller would have sent, with the mean service time as the expected
+ * interval. Both modes also report the plain service time from sending a round until its response.
+ * </p>
+ * <p>
+ * Modes are drawn from a weighted mix, and human moves uniformly. A response only counts as valid if it carries
+ * the human moves that were sent and its result follows {@link RulesEngine#CLASSIC}.
+ * </p>
+ */
+public class LoadGenerator {
+    /**
+     * The number of rounds a rate-driven run keeps in flight at most; beyond that, rounds wait to be sent while
+     * their latency keeps counting.
+     */
+    public static final int MAX_OUTSTANDING_ROUNDS = 4096;
+
+    private static final Player.Move[] MOVES = Player.Move.values();
+
+    private final GameController controller;
+    private final GameMode[] modeMix;
+    private final SplittableRandom random;
+
+    /**
+     * Creates a load generator.
+     *
+     * @param controller the controller the rounds are played through
+     * @param modeWeights the relative frequency of each game mode; modes without a positive weight are not played
+     * @param seed the seed for the modes and moves of the rounds
+     * @throws IllegalArgumentException if no mode has a positive weight
+     */
+    public LoadGenerator(GameController controller, Map<GameMode, Integer> modeWeights, long seed) {
+        List<GameMode> mix = new ArrayList<>();
+        modeWeights.forEach((mode, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                mix.add(mode);
+            }
+        });
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mode mix needs at least one mode with a positive weight");
+        }
+        this.controller = controller;
+        this.modeMix = mix.toArray(GameMode[]::new);
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Sends rounds at a fixed rate for the given time and waits for all of them to finish.
+     *
+     * @param roundsPerSecond the target rate
+     * @param duration the time during which rounds are sent
+     * @return the throughput, errors and latencies of the run
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public LoadResult runAtRate(double roundsPerSecond, Duration duration) throws InterruptedException {
+        if (!(roundsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive, got " + roundsPerSecond);
+        }
+        return run(Math.max(1, (long) (1e9 / roundsPerSecond)), MAX_OUTSTANDING_ROUNDS, duration);
+    }
+
+    /**
+     * Keeps a fixed number of rounds in flight for the given time and waits for all of them to finish.
+     *
+     * @param concurrency the number of rounds in flight
+     * @param duration the time during which rounds are sent
+     * @return the throughput, errors and latencies of the run
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public LoadResult runWithConcurrency(int concurrency, Duration duration) throws InterruptedException {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive, got " + concurrency);
+        }
+        return run(0, concurrency, duration);
+    }
+
+    private LoadResult run(long intervalNanos, int maxOutstanding, Duration duration) throws InterruptedException {
+        Semaphore outstanding = new Semaphore(maxOutstanding);
+        LatencyHistogram responseTime = new LatencyHistogram();
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        LongAdder rounds = new LongAdder();
+        LongAdder timeouts = new LongAdder();
+        LongAdder invalid = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long scheduledAt = start;
+        while (intervalNanos > 0 ? scheduledAt - end < 0 : System.nanoTime() - end < 0) {
+            if (intervalNanos > 0) {
+                long wait;
+                while ((wait = scheduledAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            outstanding.acquire();
+
+            long sentAt = System.nanoTime();
+            long intendedAt = intervalNanos > 0 ? scheduledAt : sentAt;
+            GameMode mode = modeMix[random.nextInt(modeMix.length)];
+            Player.Move move1 = MOVES[random.nextInt(MOVES.length)];
+            Player.Move move2 = MOVES[random.nextInt(MOVES.length)];
+            controller.playRoundAsync(mode, move1, move2).whenComplete((response, error) -> {
+                long receivedAt = System.nanoTime();
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    (cause instanceof TimeoutException || cause instanceof ReadTimeoutException ? timeouts : failed).increment();
+                } else if (!isValid(mode, move1, move2, response)) {
+                    invalid.increment();
+                } else {
+                    serviceTime.record(receivedAt - sentAt);
+                    if (intervalNanos > 0) {
+                        responseTime.record(receivedAt - intendedAt);
+                    } else {
+                        long count = serviceTime.count();
+                        responseTime.recordWithExpectedInterval(receivedAt - intendedAt,
+                                count == 0 ? 0 : serviceTime.sumNanos() / count);
+                    }
+                    rounds.increment();
+                }
+                outstanding.release();
+            });
+            scheduledAt += intervalNanos;
+        }
+
+        long drainTimeout = GameController.DEFAULT_ROUND_TIMEOUT.toMillis() * 2;
+        if (!outstanding.tryAcquire(maxOutstanding, drainTimeout, TimeUnit.MILLISECONDS)) {
+            failed.add(maxOutstanding - outstanding.availablePermits());
+        }
+        return new LoadResult(rounds.sum(), timeouts.sum(), invalid.sum(), failed.sum(),
+                Duration.ofNanos(System.nanoTime() - start), responseTime, serviceTime);
+    }
+
+    private static boolean isValid(GameMode mode, Player.Move move1, Player.Move move2, GameResponseDto response) {
+        if (mode != GameMode.AI_VS_AI && response.player1Move() != move1) {
+            return false;
+        }
+        if (mode == GameMode.MAN_VS_MAN && response.player2Move() != move2) {
+            return false;
+        }
+        return RulesEngine.CLASSIC.outcome(response.player1Move(), response.player2Move()) == response.gameResult().ordinal();
+    }
+
+    /**
+     * Runs a load test against a server and prints the results.
+     * <p>
+     * Usage: {@code LoadGenerator [--transport=serial[:index]|socket:host[:port]|loopback[:baud]] [--rate=N |
+     * --concurrency=N] [--duration=seconds] [--mix=MAN_VS_MAN=1,MAN_VS_AI=1,AI_VS_AI=1] [--format=BINARY|CSV]
+     * [--seed=N]}. Without options, a loopback emulator is driven by 4 concurrent rounds for 10 seconds. Serial
+     * links negotiate the fastest baud rate first. The exit status is 1 if any round failed, so the run can gate
+     * firmware and client releases.
+     * </p>
+     *
+     * @param args the options of the run
+     * @throws Exception if the link cannot be opened or the run is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Duration duration = Duration.ofMillis((long) (Double.parseDouble(options.getOrDefault("duration", "10")) * 1000));
+        WireFormat wireFormat = WireFormat.valueOf(options.getOrDefault("format", WireFormat.BINARY.name()));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Map<GameMode, Integer> mix = parseMix(options.getOrDefault("mix", "MAN_VS_MAN=1,MAN_VS_AI=1,AI_VS_AI=1"));
+
+        GameController controller = new GameController(openTransport(options.getOrDefault("transport", "loopback"), seed),
+                wireFormat);
+        LoadResult result;
+        try {
+            int baudRate = controller.negotiateBaudRate();
+            controller.playRoundAsync(GameMode.AI_VS_AI, Player.Move.ROCK, Player.Move.ROCK).get();
+            System.out.printf("%s framing%s, %s%n", controller.getWireFormat(),
+                    controller.isMultiplexing() ? " with tags" : "", baudRate == 0 ? "no baud rate" : baudRate + " baud");
+
+            LoadGenerator generator = new LoadGenerator(controller, mix, seed);
+            if (options.containsKey("rate")) {
+                result = generator.runAtRate(Double.parseDouble(options.get("rate")), duration);
+            } else {
+                result = generator.runWithConcurrency(Integer.parseInt(options.getOrDefault("concurrency", "4")), duration);
+            }
+        } finally {
+            controller.close();
+        }
+        result.print(System.out);
+        System.exit(result.errors() == 0 ? 0 : 1);
+    }
+
+    static Map<GameMode, Integer> parseMix(String mix) {
+        Map<GameMode, Integer> weights = new EnumMap<>(GameMode.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=", 2);
+            weights.put(GameMode.valueOf(parts[0].trim()), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return weights;
+    }
+
+    private static Communication openTransport(String transport, long seed) throws IOException {
+        String[] parts = transport.split(":");
+        return switch (parts[0]) {
+            case "serial" -> new SerialCommunication(SerialPort.getCommPorts()[parts.length > 1 ? Integer.parseInt(parts[1]) : 0]);
+            case "socket" -> new SocketCommunication(parts.length > 1 ? parts[1] : "localhost",
+                    parts.length > 2 ? Integer.parseInt(parts[2]) : SerialGateway.DEFAULT_PORT);
+            case "loopback" -> new ServerEmulator(seed, parts.length > 1 ? Integer.parseInt(parts[1]) : 0);
+            default -> throw new IllegalArgumentException("Unknown transport " + transport);
+        };
+    }
+}
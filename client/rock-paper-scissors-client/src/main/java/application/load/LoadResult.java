@@ -0,0 +1,61 @@
+package application.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import application.metrics.LatencyHistogram;
+
+/**
+ * The outcome of a load run.
+ *
+ * @param rounds the number of rounds that completed with a valid response
+ * @param timeouts the number of rounds that were not answered in time
+ * @param invalid the number of rounds whose response did not fit the request or the rules
+ * @param failed the number of rounds that failed for any other reason
+ * @param elapsed the time from the first request until every round had finished
+ * @param responseTime the latencies of the valid rounds, corrected for coordinated omission
+ * @param serviceTime the latencies of the valid rounds from sending the request to receiving the response
+ */
+public record LoadResult(
+        long rounds,
+        long timeouts,
+        long invalid,
+        long failed,
+        Duration elapsed,
+        LatencyHistogram responseTime,
+        LatencyHistogram serviceTime
+) {
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999, 0.9999, 1.0};
+
+    /**
+     * Returns the number of rounds that did not complete with a valid response.
+     *
+     * @return the sum of timeouts, invalid and failed rounds
+     */
+    public long errors() {
+        return timeouts + invalid + failed;
+    }
+
+    /**
+     * Returns the achieved throughput.
+     *
+     * @return the valid rounds per second of elapsed time
+     */
+    public double roundsPerSecond() {
+        return elapsed.isZero() ? 0 : rounds * 1e9 / elapsed.toNanos();
+    }
+
+    /**
+     * Prints the throughput, the error counts and both latency histograms.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf("%,d rounds in %.3f s: %,.1f rounds/s%n", rounds, elapsed.toNanos() / 1e9, roundsPerSecond());
+        out.printf("errors: %,d timeouts, %,d invalid, %,d failed%n", timeouts, invalid, failed);
+        out.printf("%-10s %16s %16s%n", "percentile", "response (ms)", "service (ms)");
+        for (double percentile : PERCENTILES) {
+            out.printf("%-10s %16.3f %16.3f%n", percentile == 1.0 ? "max" : (percentile * 100) + "%",
+                    responseTime.valueAtPercentile(percentile) / 1e6, serviceTime.valueAtPercentile(percentile) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package application.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import application.game.GameMode;
+
+/**
+ * Counters and latency histograms of the serial link and the game rounds.
+ * <p>
+ * Counters are {@link LongAdder}s, so recording from several threads does not contend on a single cache line,
+ * and round latencies go into one {@link LatencyHistogram} per {@link GameMode}. The instance returned by
+ * {@link #global()} is fed by {@link application.communication.SerialCommunication} and
+ * {@link application.controller.GameController} and can be published with {@link #registerMBean()} and
+ * {@link PrometheusEndpoint}.
+ * </p>
+ */
+public class ClientMetrics implements ClientMetricsMXBean {
+    /**
+     * The JMX object name the global metrics are registered under.
+     */
+    public static final String OBJECT_NAME = "application.metrics:type=ClientMetrics";
+
+    private static final GameMode[] MODES = GameMode.values();
+    private static final ClientMetrics GLOBAL = new ClientMetrics();
+
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder parseFailures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[MODES.length];
+
+    /**
+     * Creates an empty set of metrics.
+     */
+    public ClientMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the metrics shared by all channels and controllers of this process.
+     *
+     * @return the global metrics
+     */
+    public static ClientMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under {@link #OBJECT_NAME}.
+     * Does nothing if metrics are already registered under that name.
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records bytes written to the link, counting every {@code '\n'} as a sent frame.
+     *
+     * @param data the array holding the written bytes
+     * @param offset the index of the first written byte
+     * @param length the number of written bytes
+     */
+    public void recordSent(byte[] data, int offset, int length) {
+        int frames = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (data[i] == '\n') {
+                frames++;
+            }
+        }
+        bytesSent.add(length);
+        framesSent.add(frames);
+    }
+
+    /**
+     * Records a frame read from the link.
+     *
+     * @param length the number of bytes of the frame including its delimiter
+     */
+    public void recordFrameReceived(int length) {
+        bytesReceived.add(length);
+        framesReceived.increment();
+    }
+
+    /**
+     * Records bytes read from the link outside of a frame.
+     *
+     * @param length the number of bytes read
+     */
+    public void recordBytesReceived(int length) {
+        bytesReceived.add(length);
+    }
+
+    /**
+     * Records a response that could not be parsed.
+     */
+    public void recordParseFailure() {
+        parseFailures.increment();
+    }
+
+    /**
+     * Records a read or a round that timed out.
+     */
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Records the time between sending a request and receiving its response.
+     *
+     * @param mode the game mode of the round
+     * @param nanos the round latency in nanoseconds
+     */
+    public void recordRound(GameMode mode, long nanos) {
+        latencies[mode.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the latency histogram of a game mode.
+     *
+     * @param mode the game mode
+     * @return the histogram of round latencies
+     */
+    public LatencyHistogram latency(GameMode mode) {
+        return latencies[mode.ordinal()];
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getFramesSent() {
+        return framesSent.sum();
+    }
+
+    @Override
+    public long getFramesReceived() {
+        return framesReceived.sum();
+    }
+
+    @Override
+    public long getParseFailures() {
+        return parseFailures.sum();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public Map<String, Long> getRoundCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (GameMode mode : MODES) {
+            counts.put(mode.name(), latency(mode).count());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP50Micros() {
+        return percentileMicros(0.5);
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99Micros() {
+        return percentileMicros(0.99);
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP999Micros() {
+        return percentileMicros(0.999);
+    }
+
+    @Override
+    public void reset() {
+        bytesSent.reset();
+        bytesReceived.reset();
+        framesSent.reset();
+        framesReceived.reset();
+        parseFailures.reset();
+        timeouts.reset();
+        for (LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+    }
+
+    private Map<String, Double> percentileMicros(double percentile) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (GameMode mode : MODES) {
+            values.put(mode.name(), latency(mode).valueAtPercentile(percentile) / 1_000.0);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,64 @@
+package application.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link ClientMetrics}, published over JMX.
+ * Latencies are keyed by {@link application.game.GameMode} name.
+ */
+public interface ClientMetricsMXBean {
+    /**
+     * @return the number of bytes written to the serial port
+     */
+    long getBytesSent();
+
+    /**
+     * @return the number of bytes read from the serial port
+     */
+    long getBytesReceived();
+
+    /**
+     * @return the number of request lines written to the serial port
+     */
+    long getFramesSent();
+
+    /**
+     * @return the number of response frames read from the serial port
+     */
+    long getFramesReceived();
+
+    /**
+     * @return the number of responses that could not be parsed
+     */
+    long getParseFailures();
+
+    /**
+     * @return the number of reads and rounds that timed out
+     */
+    long getTimeouts();
+
+    /**
+     * @return the number of completed rounds per game mode
+     */
+    Map<String, Long> getRoundCounts();
+
+    /**
+     * @return the median round latency in microseconds per game mode
+     */
+    Map<String, Double> getLatencyP50Micros();
+
+    /**
+     * @return the 99th percentile of the round latency in microseconds per game mode
+     */
+    Map<String, Double> getLatencyP99Micros();
+
+    /**
+     * @return the 99.9th percentile of the round latency in microseconds per game mode
+     */
+    Map<String, Double> getLatencyP999Micros();
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
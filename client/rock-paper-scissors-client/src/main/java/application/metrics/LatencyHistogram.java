@@ -0,0 +1,133 @@
+package application.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Values below 16 ns get a bucket each; above that, every power of two is split into 16 equally wide buckets, so
+ * a reported percentile is at most 6.25% above the recorded value. Recording is a single atomic increment and
+ * may happen on any number of threads. Percentiles are computed from a snapshot of the buckets that is not
+ * atomic with concurrent recordings.
+ * </p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+    }
+
+    /**
+     * Records a latency measured by a caller that waits for each response before sending the next request, and
+     * corrects it for coordinated omission.
+     * <p>
+     * While a response is late, such a caller sends no requests, so the requests it would have sent in the meantime
+     * are never measured. For every expected interval by which the latency exceeds the interval, a latency shorter
+     * by that interval is recorded as well, standing in for the omitted requests.
+     * </p>
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as 0
+     * @param expectedIntervalNanos the expected time between two requests, or 0 to record without correction
+     */
+    public void recordWithExpectedInterval(long nanos, long expectedIntervalNanos) {
+        record(nanos);
+        if (expectedIntervalNanos <= 0) {
+            return;
+        }
+        for (long missing = nanos - expectedIntervalNanos; missing >= expectedIntervalNanos; missing -= expectedIntervalNanos) {
+            record(missing);
+        }
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recordings
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all recorded latencies.
+     *
+     * @return the total latency in nanoseconds
+     */
+    public long sumNanos() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the latency below or at which the given share of recordings falls.
+     *
+     * @param percentile the share between 0 and 1, e.g. 0.99 for p99
+     * @return the upper bound of the bucket holding the percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Discards all recordings.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,134 @@
+package application.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import application.game.GameMode;
+
+/**
+ * Serves {@link ClientMetrics} in the Prometheus text exposition format on {@code /metrics}.
+ * <p>
+ * The endpoint only listens on the loopback interface. Round latencies are exported as summaries with the
+ * 0.5, 0.99 and 0.999 quantiles in seconds.
+ * </p>
+ */
+public class PrometheusEndpoint implements AutoCloseable {
+    /**
+     * The system property holding the port to serve metrics on. The endpoint is not started if it is unset.
+     */
+    public static final String PORT_PROPERTY = "metrics.port";
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final HttpServer server;
+
+    private PrometheusEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts an endpoint on the loopback interface.
+     *
+     * @param metrics the metrics to serve
+     * @param port the TCP port to listen on, or 0 for an ephemeral port
+     * @return the running endpoint
+     * @throws IOException if the port cannot be bound
+     */
+    public static PrometheusEndpoint start(ClientMetrics metrics, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> respond(exchange, render(metrics)));
+        server.start();
+        return new PrometheusEndpoint(server);
+    }
+
+    /**
+     * Starts an endpoint for the global metrics if {@link #PORT_PROPERTY} is set.
+     *
+     * @return the running endpoint, or {@code null} if no port is configured or the port cannot be bound
+     */
+    public static PrometheusEndpoint startFromSystemProperty() {
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        try {
+            return start(ClientMetrics.global(), port);
+        } catch (IOException e) {
+            System.err.println("Failed to start metrics endpoint: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the TCP port the endpoint is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the endpoint.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Renders metrics in the Prometheus text exposition format.
+     *
+     * @param metrics the metrics to render
+     * @return the exposition text
+     */
+    public static String render(ClientMetrics metrics) {
+        StringBuilder text = new StringBuilder(2048);
+        counter(text, "rps_client_bytes_sent_total", "Bytes written to the serial port.", metrics.getBytesSent());
+        counter(text, "rps_client_bytes_received_total", "Bytes read from the serial port.", metrics.getBytesReceived());
+        counter(text, "rps_client_frames_sent_total", "Request lines written to the serial port.", metrics.getFramesSent());
+        counter(text, "rps_client_frames_received_total", "Response frames read from the serial port.", metrics.getFramesReceived());
+        counter(text, "rps_client_parse_failures_total", "Responses that could not be parsed.", metrics.getParseFailures());
+        counter(text, "rps_client_timeouts_total", "Reads and rounds that timed out.", metrics.getTimeouts());
+
+        text.append("# HELP rps_client_round_latency_seconds Time from sending a request to receiving its response.\n");
+        text.append("# TYPE rps_client_round_latency_seconds summary\n");
+        for (GameMode mode : GameMode.values()) {
+            LatencyHistogram latency = metrics.latency(mode);
+            for (double quantile : QUANTILES) {
+                text.append("rps_client_round_latency_seconds{mode=\"").append(mode.name())
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(latency.valueAtPercentile(quantile))).append('\n');
+            }
+            text.append("rps_client_round_latency_seconds_sum{mode=\"").append(mode.name()).append("\"} ")
+                    .append(seconds(latency.sumNanos())).append('\n');
+            text.append("rps_client_round_latency_seconds_count{mode=\"").append(mode.name()).append("\"} ")
+                    .append(latency.count()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void counter(StringBuilder text, String name, String help, long value) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(" counter\n");
+        text.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
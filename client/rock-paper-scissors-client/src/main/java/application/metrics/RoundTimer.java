@@ -0,0 +1,77 @@
+package application.metrics;
+
+import application.game.GameMode;
+
+/**
+ * Measures the latency of rounds that are answered in the order they were sent.
+ * <p>
+ * The send time and mode of every outstanding round are kept in primitive ring buffers that grow with the
+ * pipeline depth, so timing a round does not allocate. Not thread-safe; a controller uses it from the thread
+ * that sends and receives.
+ * </p>
+ */
+public class RoundTimer {
+    private final ClientMetrics metrics;
+    private long[] sentAt = new long[16];
+    private GameMode[] modes = new GameMode[16];
+    private int head;
+    private int size;
+
+    /**
+     * Creates a timer that records into the given metrics.
+     *
+     * @param metrics the metrics the round latencies are recorded into
+     */
+    public RoundTimer(ClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Notes that a request was sent.
+     *
+     * @param mode the game mode of the request
+     */
+    public void sent(GameMode mode) {
+        if (size == sentAt.length) {
+            grow();
+        }
+        int index = (head + size) & (sentAt.length - 1);
+        sentAt[index] = System.nanoTime();
+        modes[index] = mode;
+        size++;
+    }
+
+    /**
+     * Notes that the response to the oldest outstanding request arrived and records its latency.
+     * Does nothing if no request is outstanding.
+     */
+    public void received() {
+        if (size == 0) {
+            return;
+        }
+        metrics.recordRound(modes[head], System.nanoTime() - sentAt[head]);
+        head = (head + 1) & (sentAt.length - 1);
+        size--;
+    }
+
+    /**
+     * Forgets all outstanding requests, e.g. after the link lost its position in the response stream.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        long[] grownSentAt = new long[sentAt.length * 2];
+        GameMode[] grownModes = new GameMode[modes.length * 2];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & (sentAt.length - 1);
+            grownSentAt[i] = sentAt[index];
+            grownModes[i] = modes[index];
+        }
+        sentAt = grownSentAt;
+        modes = grownModes;
+        head = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package application.saves;
+
+import java.nio.file.Path;
+import application.game.Player;
+
+/**
+ * Data Transfer Object for the {@code [Game Status]} section of a saved game.
+ *
+ * @param file the file the game was read from
+ * @param player1 the name of the first player, or {@code null} if the file does not name one
+ * @param player2 the name of the second player, or {@code null} if the file does not name one
+ * @param player1Move the move of the first player, or {@code null} if it was not made yet
+ * @param player2Move the move of the second player, or {@code null} if it was not made yet
+ * @param winner the recorded winner, or {@code null} if the game is not finished
+ */
+public record SavedGame(Path file, String player1, String player2,
+                        Player.Move player1Move, Player.Move player2Move, String winner) {
+
+    /**
+     * Returns whether the game was already played to the end, i.e. the file records a winner.
+     *
+     * @return {@code true} if the game cannot be resumed
+     */
+    public boolean isFinished() {
+        return winner != null;
+    }
+}
@@ -0,0 +1,258 @@
+package application.saves;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Imports directories of saved games into an in-memory index of the games that can still be resumed.
+ * <p>
+ * {@link #importDirectory(Path)} walks a directory tree and parses every {@code .ini} file with the
+ * {@link SavedGameParser} on the cores of a {@link ForkJoinPool}. Finished games and files that cannot be read
+ * or parsed are skipped, under the same rules as loading a single game in the application. The index is keyed by
+ * file, so importing a directory again only replaces the entries of the files that changed.
+ * </p>
+ * <p>
+ * {@link #watch(Path)} keeps the index up to date afterwards: a daemon thread listens to a {@link WatchService}
+ * and indexes saves as they are created or modified, and drops them when they are deleted or finished.
+ * </p>
+ */
+public class SavedGameImporter implements AutoCloseable {
+    private static final String SAVE_EXTENSION = ".ini";
+
+    private final ForkJoinPool pool;
+    private final Map<Path, SavedGame> games = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    /**
+     * Creates an importer that parses on the common fork/join pool.
+     */
+    public SavedGameImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an importer that parses on the given pool.
+     *
+     * @param pool the pool the files are parsed on
+     */
+    public SavedGameImporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Imports every saved game below a directory.
+     *
+     * @param directory the root of the directory tree to import
+     * @return the counts of imported and skipped files and the time the import took
+     * @throws IOException if the directory tree cannot be walked
+     */
+    public ImportResult importDirectory(Path directory) throws IOException {
+        long start = System.nanoTime();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(SavedGameImporter::isSave).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        LongAdder imported = new LongAdder();
+        LongAdder finished = new LongAdder();
+        LongAdder invalid = new LongAdder();
+        pool.submit(() -> files.parallelStream().forEach(file -> {
+            switch (index(file)) {
+                case IMPORTED -> imported.increment();
+                case FINISHED -> finished.increment();
+                case INVALID -> invalid.increment();
+            }
+        })).join();
+
+        return new ImportResult(imported.intValue(), finished.intValue(), invalid.intValue(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Starts indexing saved games below a directory as they appear. Subdirectories, including ones created later,
+     * are watched as well. Games already in the directory are not imported; call {@link #importDirectory(Path)}
+     * first for that.
+     *
+     * @param directory the root of the directory tree to watch
+     * @throws IOException if the directory cannot be watched
+     * @throws IllegalStateException if the importer already watches a directory
+     */
+    public synchronized void watch(Path directory) throws IOException {
+        if (watchService != null) {
+            throw new IllegalStateException("Importer already watches a directory");
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        registerTree(directory);
+
+        Thread watcher = new Thread(this::runWatcher, "saved-game-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Returns the indexed games that can still be resumed. The view is live and safe to read while files are
+     * being indexed.
+     *
+     * @return an unmodifiable view of the indexed games
+     */
+    public Collection<SavedGame> games() {
+        return Collections.unmodifiableCollection(games.values());
+    }
+
+    /**
+     * Returns the indexed game stored in a file.
+     *
+     * @param file the file of the game
+     * @return the game, or {@code null} if the file is not indexed
+     */
+    public SavedGame get(Path file) {
+        return games.get(file);
+    }
+
+    /**
+     * Returns the number of indexed games.
+     *
+     * @return the number of games that can still be resumed
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Stops watching for new saves. The index stays readable.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private Outcome index(Path file) {
+        try {
+            SavedGame game = SavedGameParser.parse(file);
+            if (game.isFinished()) {
+                games.remove(file);
+                return Outcome.FINISHED;
+            }
+            games.put(file, game);
+            return Outcome.IMPORTED;
+        } catch (IOException | IllegalArgumentException e) {
+            games.remove(file);
+            return Outcome.INVALID;
+        }
+    }
+
+    private void runWatcher() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = watchedDirectories.get(key);
+                if (directory != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        handle(directory, event);
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirectories.remove(key);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // The importer was closed
+        }
+    }
+
+    private void handle(Path directory, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            rescan(directory);
+            return;
+        }
+
+        Path path = directory.resolve((Path) event.context());
+        if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            if (games.remove(path) == null) {
+                games.keySet().removeIf(file -> file.startsWith(path));
+            }
+        } else if (Files.isDirectory(path)) {
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                try {
+                    registerTree(path);
+                } catch (IOException e) {
+                    System.err.println("Failed to watch " + path + ": " + e.getMessage());
+                }
+                rescan(path);
+            }
+        } else if (isSave(path)) {
+            index(path);
+        }
+    }
+
+    private void rescan(Path directory) {
+        try {
+            importDirectory(directory);
+        } catch (IOException e) {
+            System.err.println("Failed to import " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private void registerTree(Path directory) throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path subdirectory : (Iterable<Path>) walk.filter(Files::isDirectory)::iterator) {
+                WatchKey key = subdirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, subdirectory);
+            }
+        }
+    }
+
+    private static boolean isSave(Path file) {
+        Path name = file.getFileName();
+        return name != null && name.toString().toLowerCase(Locale.ROOT).endsWith(SAVE_EXTENSION)
+                && Files.isRegularFile(file);
+    }
+
+    /**
+     * What became of one imported file.
+     */
+    private enum Outcome {
+        IMPORTED,
+        FINISHED,
+        INVALID
+    }
+
+    /**
+     * Data Transfer Object for the outcome of a directory import.
+     *
+     * @param imported the number of games added to the index
+     * @param finished the number of finished games that were skipped
+     * @param invalid the number of files that could not be read or parsed
+     * @param elapsed the time the import took
+     */
+    public record ImportResult(int imported, int finished, int invalid, Duration elapsed) {
+    }
+}
@@ -0,0 +1,152 @@
+package application.saves;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import application.game.Player;
+
+/**
+ * Lightweight parser for the {@code [Game Status]} section of saved game files.
+ * <p>
+ * The file is scanned once, byte by byte, and only the values of the known keys inside the section are decoded;
+ * the scan stops at the next section header. Lines are {@code key = value} or {@code key : value} pairs, keys and
+ * values are trimmed, and lines starting with {@code ;} or {@code #} are comments. Unknown keys are ignored, and
+ * the last occurrence of a repeated key wins. The file is read as UTF-8.
+ * </p>
+ * <p>
+ * A game without a {@code [Game Status]} section or with a move that is not a {@link Player.Move} is rejected.
+ * A game with a {@code Winner} key is returned, but reported as {@linkplain SavedGame#isFinished() finished}.
+ * </p>
+ */
+public final class SavedGameParser {
+    /**
+     * The name of the section that holds the game state.
+     */
+    public static final String SECTION = "Game Status";
+
+    private static final byte[] SECTION_BYTES = SECTION.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PLAYER_1 = key("Player1");
+    private static final byte[] PLAYER_2 = key("Player2");
+    private static final byte[] PLAYER_1_MOVE = key("Player1Move");
+    private static final byte[] PLAYER_2_MOVE = key("Player2Move");
+    private static final byte[] WINNER = key("Winner");
+
+    private SavedGameParser() {
+    }
+
+    /**
+     * Reads and parses a saved game file.
+     *
+     * @param file the file to read
+     * @return the game stored in the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file has no {@code [Game Status]} section or holds an invalid move
+     */
+    public static SavedGame parse(Path file) throws IOException {
+        return parse(file, Files.readAllBytes(file));
+    }
+
+    /**
+     * Parses the content of a saved game file.
+     *
+     * @param file the file the content was read from
+     * @param content the bytes of the file
+     * @return the game stored in the content
+     * @throws IllegalArgumentException if the content has no {@code [Game Status]} section or holds an invalid move
+     */
+    public static SavedGame parse(Path file, byte[] content) {
+        String player1 = null;
+        String player2 = null;
+        String player1Move = null;
+        String player2Move = null;
+        String winner = null;
+        boolean sectionFound = false;
+
+        int position = hasByteOrderMark(content) ? 3 : 0;
+        while (position < content.length) {
+            int lineEnd = position;
+            while (lineEnd < content.length && content[lineEnd] != '\n' && content[lineEnd] != '\r') {
+                lineEnd++;
+            }
+            int start = skipBlanks(content, position, lineEnd);
+            int end = trimBlanks(content, start, lineEnd);
+            position = lineEnd + 1;
+
+            if (start == end || content[start] == ';' || content[start] == '#') {
+                continue;
+            }
+            if (content[start] == '[') {
+                if (sectionFound) {
+                    break;
+                }
+                int nameEnd = content[end - 1] == ']' ? end - 1 : end;
+                int nameStart = skipBlanks(content, start + 1, nameEnd);
+                sectionFound = equalsAt(content, nameStart, trimBlanks(content, nameStart, nameEnd), SECTION_BYTES);
+                continue;
+            }
+            if (!sectionFound) {
+                continue;
+            }
+
+            int separator = start;
+            while (separator < end && content[separator] != '=' && content[separator] != ':') {
+                separator++;
+            }
+            int keyEnd = trimBlanks(content, start, separator);
+            int valueStart = separator < end ? skipBlanks(content, separator + 1, end) : end;
+
+            if (equalsAt(content, start, keyEnd, PLAYER_1)) {
+                player1 = decode(content, valueStart, end);
+            } else if (equalsAt(content, start, keyEnd, PLAYER_2)) {
+                player2 = decode(content, valueStart, end);
+            } else if (equalsAt(content, start, keyEnd, PLAYER_1_MOVE)) {
+                player1Move = decode(content, valueStart, end);
+            } else if (equalsAt(content, start, keyEnd, PLAYER_2_MOVE)) {
+                player2Move = decode(content, valueStart, end);
+            } else if (equalsAt(content, start, keyEnd, WINNER)) {
+                winner = decode(content, valueStart, end);
+            }
+        }
+
+        if (!sectionFound) {
+            throw new IllegalArgumentException("No [" + SECTION + "] section");
+        }
+        return new SavedGame(file, player1, player2, parseMove(player1Move), parseMove(player2Move), winner);
+    }
+
+    private static Player.Move parseMove(String move) {
+        return move == null || move.isEmpty() ? null : Player.Move.valueOf(move);
+    }
+
+    private static boolean hasByteOrderMark(byte[] content) {
+        return content.length >= 3 && content[0] == (byte) 0xEF && content[1] == (byte) 0xBB && content[2] == (byte) 0xBF;
+    }
+
+    private static int skipBlanks(byte[] content, int from, int to) {
+        while (from < to && (content[from] == ' ' || content[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimBlanks(byte[] content, int from, int to) {
+        while (to > from && (content[to - 1] == ' ' || content[to - 1] == '\t')) {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean equalsAt(byte[] content, int from, int to, byte[] expected) {
+        return Arrays.equals(content, from, to, expected, 0, expected.length);
+    }
+
+    private static String decode(byte[] content, int from, int to) {
+        return new String(content, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] key(String name) {
+        return name.getBytes(StandardCharsets.US_ASCII);
+    }
+}
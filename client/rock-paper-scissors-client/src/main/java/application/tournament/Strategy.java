@@ -0,0 +1,76 @@
+package application.tournament;
+
+import java.util.SplittableRandom;
+import application.game.Player;
+
+/**
+ * Enum representing the move strategies an AI player can use in a tournament.
+ * A strategy only sees the previous round, so it can be evaluated without allocating.
+ */
+public enum Strategy {
+    /**
+     * Picks a move uniformly at random, like {@code generateAIMove()} in the server sketch.
+     */
+    RANDOM {
+        @Override
+        Player.Move nextMove(SplittableRandom random, Player.Move ownLast, Player.Move opponentLast) {
+            return MOVES[random.nextInt(MOVES.length)];
+        }
+    },
+
+    /**
+     * Always plays ROCK.
+     */
+    ROCK {
+        @Override
+        Player.Move nextMove(SplittableRandom random, Player.Move ownLast, Player.Move opponentLast) {
+            return Player.Move.ROCK;
+        }
+    },
+
+    /**
+     * Plays ROCK, PAPER and SCISSORS in turn, starting with ROCK.
+     */
+    CYCLE {
+        @Override
+        Player.Move nextMove(SplittableRandom random, Player.Move ownLast, Player.Move opponentLast) {
+            return ownLast == null ? Player.Move.ROCK : beating(ownLast);
+        }
+    },
+
+    /**
+     * Repeats the previous move of the opponent, opening with a random move.
+     */
+    COPY {
+        @Override
+        Player.Move nextMove(SplittableRandom random, Player.Move ownLast, Player.Move opponentLast) {
+            return opponentLast == null ? RANDOM.nextMove(random, null, null) : opponentLast;
+        }
+    },
+
+    /**
+     * Plays the move that beats the previous move of the opponent, opening with a random move.
+     */
+    BEAT_LAST {
+        @Override
+        Player.Move nextMove(SplittableRandom random, Player.Move ownLast, Player.Move opponentLast) {
+            return opponentLast == null ? RANDOM.nextMove(random, null, null) : beating(opponentLast);
+        }
+    };
+
+    private static final Player.Move[] MOVES = Player.Move.values();
+
+    /**
+     * Chooses the move for the next round.
+     *
+     * @param random the random number generator of the calling worker
+     * @param ownLast the previous move of this player, or {@code null} in the first round
+     * @param opponentLast the previous move of the opponent, or {@code null} in the first round
+     * @return the move to play
+     */
+    abstract Player.Move nextMove(SplittableRandom random, Player.Move ownLast, Player.Move opponentLast);
+
+    private static Player.Move beating(Player.Move move) {
+        return MOVES[(move.ordinal() + 1) % MOVES.length];
+    }
+}
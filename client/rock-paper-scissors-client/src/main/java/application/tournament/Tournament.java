@@ -0,0 +1,111 @@
+package application.tournament;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import application.game.GameRules;
+import application.history.RoundLog;
+
+/**
+ * Headless engine that plays AI vs AI rounds between strategies without the board.
+ * <p>
+ * Rounds are decided by the outcome table of {@link application.game.RulesEngine#CLASSIC}, the Java port of the
+ * sketch rules, and spread over the cores of a {@link ForkJoinPool} by {@link TournamentTask}. Each worker counts
+ * outcomes in a local array indexed by the outcome codes of {@link GameRules}, and the counts are merged when the
+ * tasks are joined. The same seed always gives the same counts, whatever the parallelism.
+ * </p>
+ */
+public class Tournament {
+    /**
+     * The number of rounds below which a task is no longer split.
+     */
+    public static final long DEFAULT_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final long threshold;
+
+    /**
+     * Creates an engine that runs on the common fork/join pool.
+     */
+    public Tournament() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates an engine that runs on the given pool.
+     *
+     * @param pool the pool the rounds are played on
+     * @param threshold the number of rounds below which a task is no longer split
+     */
+    public Tournament(ForkJoinPool pool, long threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Plays a number of rounds between two strategies.
+     *
+     * @param strategy1 the strategy of the first player
+     * @param strategy2 the strategy of the second player
+     * @param rounds the number of rounds to play
+     * @param seed the seed of the random number generators
+     * @return the counted outcomes and the time the rounds took
+     */
+    public TournamentResult play(Strategy strategy1, Strategy strategy2, long rounds, long seed) {
+        return play(strategy1, strategy2, rounds, seed, null);
+    }
+
+    /**
+     * Plays a number of rounds between two strategies and records every round in a log.
+     * The workers append their rounds in batches, with the strategy names as player names.
+     *
+     * @param strategy1 the strategy of the first player
+     * @param strategy2 the strategy of the second player
+     * @param rounds the number of rounds to play
+     * @param seed the seed of the random number generators
+     * @param roundLog the log to record the rounds in, or {@code null} to only count them
+     * @return the counted outcomes and the time the rounds took
+     * @throws java.io.UncheckedIOException if the rounds cannot be written to the log
+     */
+    public TournamentResult play(Strategy strategy1, Strategy strategy2, long rounds, long seed, RoundLog roundLog) {
+        long start = System.nanoTime();
+        long[] outcomes = pool.invoke(new TournamentTask(strategy1, strategy2, new SplittableRandom(seed), rounds, threshold, roundLog));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        return new TournamentResult(strategy1, strategy2, rounds, outcomes[GameRules.DRAW],
+                outcomes[GameRules.PLAYER_1_WINS], outcomes[GameRules.PLAYER_2_WINS], elapsed);
+    }
+
+    /**
+     * Plays every pair of the given strategies against each other and prints the results.
+     * <p>
+     * Usage: {@code Tournament [rounds] [seed] [strategy...]}. Without strategies, RANDOM plays against RANDOM.
+     * The parallelism follows the common pool and can be set with
+     * {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism}.
+     * </p>
+     *
+     * @param args the number of rounds per pair, the seed and the strategies, all optional
+     */
+    public static void main(String[] args) {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        Strategy[] strategies = args.length > 2
+                ? Arrays.stream(args, 2, args.length).map(Strategy::valueOf).toArray(Strategy[]::new)
+                : new Strategy[] {Strategy.RANDOM, Strategy.RANDOM};
+
+        Tournament tournament = new Tournament();
+        System.out.printf("%,d rounds per pair on %d workers%n", rounds, ForkJoinPool.commonPool().getParallelism());
+        for (int i = 0; i < strategies.length; i++) {
+            for (int j = i + 1; j < strategies.length; j++) {
+                TournamentResult result = tournament.play(strategies[i], strategies[j], rounds, seed);
+                System.out.printf("%-9s vs %-9s  P1 %6.2f%%  P2 %6.2f%%  draw %6.2f%%  %,.0f rounds/s%n",
+                        result.strategy1(), result.strategy2(), result.player1WinRate() * 100,
+                        result.player2WinRate() * 100, result.drawRate() * 100, result.roundsPerSecond());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package application.tournament;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a tournament between two strategies.
+ *
+ * @param strategy1 the strategy of the first player
+ * @param strategy2 the strategy of the second player
+ * @param rounds the number of rounds played
+ * @param draws the number of drawn rounds
+ * @param player1Wins the number of rounds won by the first player
+ * @param player2Wins the number of rounds won by the second player
+ * @param elapsed the wall-clock time the tournament took
+ */
+public record TournamentResult(
+        Strategy strategy1,
+        Strategy strategy2,
+        long rounds,
+        long draws,
+        long player1Wins,
+        long player2Wins,
+        Duration elapsed
+) {
+    /**
+     * Returns the share of rounds won by the first player.
+     *
+     * @return the win rate of the first player between 0 and 1
+     */
+    public double player1WinRate() {
+        return rate(player1Wins);
+    }
+
+    /**
+     * Returns the share of rounds won by the second player.
+     *
+     * @return the win rate of the second player between 0 and 1
+     */
+    public double player2WinRate() {
+        return rate(player2Wins);
+    }
+
+    /**
+     * Returns the share of drawn rounds.
+     *
+     * @return the draw rate between 0 and 1
+     */
+    public double drawRate() {
+        return rate(draws);
+    }
+
+    /**
+     * Returns the throughput of the tournament.
+     *
+     * @return the number of rounds played per second of wall-clock time
+     */
+    public double roundsPerSecond() {
+        long nanos = Math.max(1, elapsed.toNanos());
+        return rounds * 1e9 / nanos;
+    }
+
+    private double rate(long count) {
+        return rounds == 0 ? 0 : (double) count / rounds;
+    }
+}
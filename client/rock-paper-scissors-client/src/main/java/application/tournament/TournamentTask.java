@@ -0,0 +1,94 @@
+package application.tournament;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.GameRules;
+import application.game.Player;
+import application.game.RulesEngine;
+import application.history.RoundLog;
+
+/**
+ * Plays a share of the rounds of a tournament, splitting it in halves until it is small enough to play directly.
+ * <p>
+ * Every split hands a {@link SplittableRandom#split() split} generator to the first half before the second half
+ * continues with the parent generator. The generators therefore only depend on the position in the split tree,
+ * not on the thread that runs a task, and a run is reproducible for the same seed and threshold.
+ * </p>
+ * <p>
+ * The result is an array of outcome counts indexed by the codes of {@link GameRules}. If a {@link RoundLog} is
+ * given, every leaf also records its rounds in batches of {@value #LOG_BATCH_SIZE}, named after the strategies.
+ * </p>
+ */
+class TournamentTask extends RecursiveTask<long[]> {
+    static final int LOG_BATCH_SIZE = 4096;
+    private static final RulesEngine RULES = RulesEngine.CLASSIC;
+
+    private final Strategy strategy1;
+    private final Strategy strategy2;
+    private final SplittableRandom random;
+    private final long rounds;
+    private final long threshold;
+    private final RoundLog roundLog;
+
+    TournamentTask(Strategy strategy1, Strategy strategy2, SplittableRandom random, long rounds, long threshold,
+                   RoundLog roundLog) {
+        this.strategy1 = strategy1;
+        this.strategy2 = strategy2;
+        this.random = random;
+        this.rounds = rounds;
+        this.threshold = threshold;
+        this.roundLog = roundLog;
+    }
+
+    @Override
+    protected long[] compute() {
+        if (rounds <= threshold) {
+            return play();
+        }
+
+        long half = rounds / 2;
+        TournamentTask first = new TournamentTask(strategy1, strategy2, random.split(), half, threshold, roundLog);
+        TournamentTask second = new TournamentTask(strategy1, strategy2, random, rounds - half, threshold, roundLog);
+        first.fork();
+        long[] outcomes = second.compute();
+        long[] firstOutcomes = first.join();
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += firstOutcomes[i];
+        }
+        return outcomes;
+    }
+
+    private long[] play() {
+        long[] outcomes = new long[3];
+        RoundLog.Batch batch = roundLog == null ? null : new RoundLog.Batch(LOG_BATCH_SIZE);
+        String name1 = strategy1.name();
+        String name2 = strategy2.name();
+        Player.Move last1 = null;
+        Player.Move last2 = null;
+
+        try {
+            for (long round = 0; round < rounds; round++) {
+                Player.Move move1 = strategy1.nextMove(random, last1, last2);
+                Player.Move move2 = strategy2.nextMove(random, last2, last1);
+                int result = RULES.outcome(move1, move2);
+                outcomes[result]++;
+                if (batch != null
+                        && batch.add(System.currentTimeMillis(), GameMode.AI_VS_AI, name1, name2, move1, move2, GameResult.fromCode(result))) {
+                    roundLog.append(batch);
+                }
+                last1 = move1;
+                last2 = move2;
+            }
+            if (batch != null) {
+                roundLog.append(batch);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outcomes;
+    }
+}
@@ -5,8 +5,10 @@ module rock.paper.scissors.client {
     requires javafx.base;
     requires javafx.graphics;
     requires static lombok;
-    requires ini4j;
+    requires java.management;
+    requires jdk.httpserver;
 
     opens application.game to javafx.fxml;
     exports application.game;
+    exports application.metrics;
 }
\ No newline at end of file
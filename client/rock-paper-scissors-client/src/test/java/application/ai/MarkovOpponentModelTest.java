@@ -0,0 +1,96 @@
+package application.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+
+public class MarkovOpponentModelTest {
+
+    @Test
+    void predict_UnknownPlayer_ShouldReturnNull() {
+        // Arrange
+        MarkovOpponentModel model = new MarkovOpponentModel(2, 16);
+
+        // Act & Assert
+        assertNull(model.predict("Alice"));
+    }
+
+    @Test
+    void predict_CyclingPlayer_ShouldPredictNextMoveOfCycle() {
+        // Arrange
+        MarkovOpponentModel model = new MarkovOpponentModel(2, 16);
+        Player.Move[] cycle = {Player.Move.ROCK, Player.Move.ROCK, Player.Move.PAPER, Player.Move.SCISSORS};
+
+        // Act
+        for (int round = 0; round < 40; round++) {
+            model.record("Alice", cycle[round % cycle.length]);
+        }
+
+        // Assert
+        assertEquals(Player.Move.ROCK, model.predict("Alice"));
+        model.record("Alice", Player.Move.ROCK);
+        assertEquals(Player.Move.ROCK, model.predict("Alice"));
+        model.record("Alice", Player.Move.ROCK);
+        assertEquals(Player.Move.PAPER, model.predict("Alice"));
+    }
+
+    @Test
+    void counterMove_PlayerAlwaysPlaysRock_ShouldPlayPaper() {
+        // Arrange
+        MarkovOpponentModel model = new MarkovOpponentModel(3, 16);
+        for (int round = 0; round < 10; round++) {
+            model.record("Bob", Player.Move.ROCK);
+        }
+
+        // Act
+        Player.Move move = model.counterMove("Bob", new SplittableRandom(1));
+
+        // Assert
+        assertEquals(Player.Move.PAPER, move);
+    }
+
+    @Test
+    void predict_PlayerChangesHabit_ShouldFollowRecentMoves() {
+        // Arrange
+        MarkovOpponentModel model = new MarkovOpponentModel(0, 16);
+        for (int round = 0; round < 10_000; round++) {
+            model.record("Carol", Player.Move.ROCK);
+        }
+
+        // Act
+        for (int round = 0; round < MarkovOpponentModel.MAX_COUNT; round++) {
+            model.record("Carol", Player.Move.SCISSORS);
+        }
+
+        // Assert
+        assertEquals(Player.Move.SCISSORS, model.predict("Carol"));
+    }
+
+    @Test
+    void record_MorePlayersThanTracked_ShouldForgetLeastRecentlySeenPlayer() {
+        // Arrange
+        MarkovOpponentModel model = new MarkovOpponentModel(1, 2);
+        model.record("Alice", Player.Move.ROCK);
+        model.record("Bob", Player.Move.PAPER);
+        model.record("Alice", Player.Move.ROCK);
+
+        // Act
+        model.record("Carol", Player.Move.SCISSORS);
+
+        // Assert
+        assertEquals(2, model.trackedPlayers());
+        assertEquals(Player.Move.ROCK, model.predict("Alice"));
+        assertNull(model.predict("Bob"));
+        assertEquals(Player.Move.SCISSORS, model.predict("Carol"));
+    }
+
+    @Test
+    void constructor_OrderAboveMaximum_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new MarkovOpponentModel(MarkovOpponentModel.MAX_ORDER + 1, 16));
+    }
+}
@@ -0,0 +1,202 @@
+package application.communication;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.fazecast.jSerialComm.SerialPortEvent;
+import com.fazecast.jSerialComm.SerialPortMessageListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+public class EventDrivenSerialCommunicationTest {
+    private static final byte[] DELIMITER = {'|'};
+
+    private SerialPort serialPort;
+    private EventDrivenSerialCommunication communication;
+    private SerialPortMessageListener listener;
+
+    @BeforeEach
+    void setUp() {
+        serialPort = mock(SerialPort.class);
+        communication = new EventDrivenSerialCommunication(serialPort, DELIMITER, 2);
+
+        ArgumentCaptor<SerialPortMessageListener> captor = ArgumentCaptor.forClass(SerialPortMessageListener.class);
+        verify(serialPort).addDataListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @Test
+    void constructor_AllOk_ShouldListenForDelimitedMessages() {
+        // Assert
+        verify(serialPort).openPort();
+        assertArrayEquals(DELIMITER, listener.getMessageDelimiter());
+        assertTrue(listener.delimiterIndicatesEndOfMessage());
+        assertEquals(SerialPort.LISTENING_EVENT_DATA_RECEIVED,
+                listener.getListeningEvents() & SerialPort.LISTENING_EVENT_DATA_RECEIVED);
+    }
+
+    @Test
+    void receiveFrame_MessageDelivered_ShouldReturnFrameWithoutDelimiter() throws IOException {
+        // Arrange
+        byte[] destination = new byte[16];
+        deliver("1,ROCK,SCISSORS|");
+
+        // Act
+        int frameLength = communication.receiveFrame(DELIMITER, destination);
+
+        // Assert
+        assertEquals("1,ROCK,SCISSORS", new String(destination, 0, frameLength, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void receiveFrame_MessageDeliveredWhileWaiting_ShouldReturnFrame() throws Exception {
+        // Arrange
+        byte[] destination = new byte[16];
+        CompletableFuture<Integer> frameLength = CompletableFuture.supplyAsync(() -> {
+            try {
+                return communication.receiveFrame(DELIMITER, destination, Duration.ofSeconds(5));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // Act
+        deliver("BIN|");
+
+        // Assert
+        assertEquals(3, frameLength.get(5, TimeUnit.SECONDS));
+        assertEquals("BIN", new String(destination, 0, 3, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void receiveFrame_NoMessage_ShouldThrowReadTimeoutException() {
+        // Act & Assert
+        assertThrows(ReadTimeoutException.class,
+                () -> communication.receiveFrame(DELIMITER, new byte[16], Duration.ofMillis(100)));
+    }
+
+    @Test
+    void receiveFrame_Cancelled_ShouldThrowInterruptedIOException() {
+        // Arrange
+        communication.cancelReceive();
+
+        // Act & Assert
+        assertThrows(InterruptedIOException.class,
+                () -> communication.receiveFrame(DELIMITER, new byte[16], Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void receiveFrame_OtherDelimiter_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> communication.receiveFrame(new byte[]{'\n'}, new byte[16]));
+    }
+
+    @Test
+    void receiveFrame_PortDisconnected_ShouldThrowIOException() {
+        // Arrange
+        SerialPortEvent event = mock(SerialPortEvent.class);
+        when(event.getEventType()).thenReturn(SerialPort.LISTENING_EVENT_PORT_DISCONNECTED);
+        listener.serialEvent(event);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> communication.receiveFrame(DELIMITER, new byte[16]));
+    }
+
+    @Test
+    void serialEvent_QueueFull_ShouldWaitForConsumer() throws Exception {
+        // Arrange
+        byte[] destination = new byte[16];
+        deliver("0,ROCK,ROCK|");
+        deliver("0,PAPER,PAPER|");
+        CompletableFuture<Void> blockedDelivery = CompletableFuture.runAsync(() -> deliver("2,ROCK,PAPER|"));
+
+        // Act
+        Thread.sleep(200);
+        boolean doneBeforeConsuming = blockedDelivery.isDone();
+        communication.receiveFrame(DELIMITER, destination);
+        blockedDelivery.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(doneBeforeConsuming);
+        int frameLength = communication.receiveFrame(DELIMITER, destination);
+        assertEquals("0,PAPER,PAPER", new String(destination, 0, frameLength, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void sendBytes_AllOk_ShouldWriteToPort() throws IOException {
+        // Arrange
+        byte[] data = "xROCK\n".getBytes(StandardCharsets.US_ASCII);
+        when(serialPort.writeBytes(any(byte[].class), anyInt(), anyInt())).thenReturn(5);
+
+        // Act
+        communication.sendBytes(data, 1, 5);
+
+        // Assert
+        verify(serialPort).writeBytes(eq(data), eq(5), eq(1));
+    }
+
+    @Test
+    void sendBytes_WriteFails_ShouldThrowIOException() {
+        // Arrange
+        when(serialPort.writeBytes(any(byte[].class), anyInt(), anyInt())).thenReturn(-1);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> communication.sendMessage("ROCK\n"));
+    }
+
+    @Test
+    void discardInput_FramesAndPartialFrameBuffered_ShouldDropFramesAndRestartListener() throws IOException {
+        // Arrange
+        deliver("0,ROCK,ROCK|");
+        byte[] destination = new byte[16];
+
+        // Act
+        communication.discardInput();
+        deliver("2,ROCK,PAPER|");
+        int frameLength = communication.receiveFrame(DELIMITER, destination, Duration.ofMillis(200));
+
+        // Assert
+        InOrder order = inOrder(serialPort);
+        order.verify(serialPort).removeDataListener();
+        order.verify(serialPort).flushIOBuffers();
+        order.verify(serialPort).addDataListener(listener);
+        assertEquals("2,ROCK,PAPER", new String(destination, 0, frameLength, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void close_AllOk_ShouldStopListeningAndClosePort() {
+        // Act
+        communication.close();
+
+        // Assert
+        verify(serialPort).removeDataListener();
+        verify(serialPort).closePort();
+    }
+
+    private void deliver(String message) {
+        SerialPortEvent event = mock(SerialPortEvent.class);
+        when(event.getEventType()).thenReturn(SerialPort.LISTENING_EVENT_DATA_RECEIVED);
+        when(event.getReceivedData()).thenReturn(Arrays.copyOf(message.getBytes(StandardCharsets.US_ASCII), message.length()));
+        listener.serialEvent(event);
+    }
+}
@@ -0,0 +1,172 @@
+package application.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class FrameDecoderTest {
+    private static final byte[] PIPE = "|".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void readFrame_FramesSplitAcrossReads_ShouldReassembleFrames() throws IOException {
+        // Arrange
+        FrameDecoder frameDecoder = new FrameDecoder(new OneByteInputStream("DRAW,ROCK,ROCK|AI,PAPER,ROCK|"));
+        byte[] destination = new byte[32];
+
+        // Act
+        int firstLength = frameDecoder.readFrame(PIPE, destination);
+        String firstFrame = new String(destination, 0, firstLength, StandardCharsets.US_ASCII);
+        int secondLength = frameDecoder.readFrame(PIPE, destination);
+        String secondFrame = new String(destination, 0, secondLength, StandardCharsets.US_ASCII);
+
+        // Assert
+        assertEquals("DRAW,ROCK,ROCK", firstFrame);
+        assertEquals("AI,PAPER,ROCK", secondFrame);
+        assertEquals(0, frameDecoder.buffered());
+    }
+
+    @Test
+    void readFrame_NoDelimiterWithinTimeout_ShouldThrowReadTimeoutExceptionAndKeepBytes() throws IOException {
+        // Arrange
+        InputStream slicedStream = mock(InputStream.class);
+        when(slicedStream.read(any(byte[].class), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    byte[] buffer = invocation.getArgument(0);
+                    buffer[invocation.<Integer>getArgument(1)] = 'D';
+                    return 1;
+                })
+                .thenThrow(new InterruptedIOException("Read slice elapsed"));
+        FrameDecoder frameDecoder = new FrameDecoder(slicedStream);
+        long start = System.nanoTime();
+
+        // Act
+        assertThrows(ReadTimeoutException.class,
+                () -> frameDecoder.readFrame(PIPE, new byte[32], TimeUnit.MILLISECONDS.toNanos(20)));
+
+        // Assert
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1, frameDecoder.buffered());
+    }
+
+    @Test
+    void readFrame_Cancelled_ShouldThrowInterruptedIOException() throws IOException {
+        // Arrange
+        InputStream slicedStream = mock(InputStream.class);
+        when(slicedStream.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new InterruptedIOException("Read slice elapsed"));
+        FrameDecoder frameDecoder = new FrameDecoder(slicedStream);
+
+        // Act
+        frameDecoder.cancel();
+        InterruptedIOException exception = assertThrows(InterruptedIOException.class, () -> frameDecoder.readFrame(PIPE, new byte[32]));
+
+        // Assert
+        assertEquals("Receive was cancelled", exception.getMessage());
+    }
+
+    @Test
+    void readFrame_FramesWrapAroundRing_ShouldReturnFramesInOrder() throws IOException {
+        // Arrange
+        StringBuilder stream = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            stream.append("frame").append(i).append("\r\n");
+        }
+        FrameDecoder frameDecoder = new FrameDecoder(
+                new ByteArrayInputStream(stream.toString().getBytes(StandardCharsets.US_ASCII)), 16);
+        byte[] destination = new byte[16];
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            int length = frameDecoder.readFrame("\r\n".getBytes(StandardCharsets.US_ASCII), destination);
+            assertEquals("frame" + i, new String(destination, 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void readFrame_FrameLongerThanBuffer_ShouldThrowIOException() {
+        // Arrange
+        FrameDecoder frameDecoder = new FrameDecoder(
+                new ByteArrayInputStream("0123456789ABCDEF0123|".getBytes(StandardCharsets.US_ASCII)), 16);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> frameDecoder.readFrame(PIPE, new byte[64]));
+    }
+
+    @Test
+    void readFrame_NoiseLongerThanBuffer_ShouldDropNoiseAndReadLaterFrames() throws IOException {
+        // Arrange
+        FrameDecoder frameDecoder = new FrameDecoder(
+                new ByteArrayInputStream("0123456789ABCDEFtail|DRAW|".getBytes(StandardCharsets.US_ASCII)), 16);
+        byte[] destination = new byte[64];
+
+        // Act
+        assertThrows(FrameTooLongException.class, () -> frameDecoder.readFrame(PIPE, destination));
+        int buffered = frameDecoder.buffered();
+        int tailLength = frameDecoder.readFrame(PIPE, destination);
+        String tail = new String(destination, 0, tailLength, StandardCharsets.US_ASCII);
+        int length = frameDecoder.readFrame(PIPE, destination);
+        String frame = new String(destination, 0, length, StandardCharsets.US_ASCII);
+
+        // Assert
+        assertEquals(0, buffered);
+        assertEquals("tail", tail);
+        assertEquals("DRAW", frame);
+    }
+
+    @Test
+    void readFrame_FrameLongerThanDestination_ShouldDropFrameAndReadNextFrame() throws IOException {
+        // Arrange
+        FrameDecoder frameDecoder = new FrameDecoder(
+                new ByteArrayInputStream("0123456789|DRAW|".getBytes(StandardCharsets.US_ASCII)));
+        byte[] destination = new byte[4];
+
+        // Act
+        assertThrows(FrameTooLongException.class, () -> frameDecoder.readFrame(PIPE, destination));
+        int length = frameDecoder.readFrame(PIPE, destination);
+
+        // Assert
+        assertEquals("DRAW", new String(destination, 0, length, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void readFrame_StreamEndsBeforeDelimiter_ShouldThrowIOException() {
+        // Arrange
+        String expectedExceptionMessage = "No data received from server";
+        FrameDecoder frameDecoder = new FrameDecoder(
+                new ByteArrayInputStream("DRAW,ROCK".getBytes(StandardCharsets.US_ASCII)));
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> frameDecoder.readFrame(PIPE, new byte[16]));
+
+        assertEquals(expectedExceptionMessage, exception.getMessage());
+    }
+
+    private static class OneByteInputStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+
+        OneByteInputStream(String data) {
+            delegate = new ByteArrayInputStream(data.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return delegate.read(buffer, offset, Math.min(1, length));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package application.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import application.controller.GameController;
+import application.controller.RetryPolicy;
+import application.dto.GameRequestDto;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+
+public class PooledCommunicationTest {
+
+    @Test
+    void playRounds_FourBoards_ShouldSpreadRoundsEvenly() throws IOException {
+        // Arrange
+        PooledCommunication pooledCommunication = new PooledCommunication(List.of(
+                new ServerEmulator(1, 0), new ServerEmulator(2, 0), new ServerEmulator(3, 0), new ServerEmulator(4, 0)));
+        GameController gameController = new GameController(pooledCommunication, WireFormat.BINARY);
+        List<GameRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            requests.add(new GameRequestDto(GameMode.MAN_VS_MAN, Player.Move.values()[i % 3], Player.Move.ROCK));
+        }
+
+        // Act
+        List<GameResponseDto> responses = gameController.playRounds(requests);
+
+        // Assert
+        assertEquals(WireFormat.BINARY, gameController.getWireFormat());
+        assertEquals(400, responses.size());
+        for (long completed : pooledCommunication.completedCounts()) {
+            assertTrue(completed >= 90, "Board answered only " + completed + " rounds");
+        }
+        gameController.close();
+    }
+
+    @Test
+    void sendMessage_BoardFails_ShouldTakeBoardOutOfRotation() throws IOException {
+        // Arrange
+        Communication failingBoard = mock(Communication.class);
+        doThrow(new IOException("Port disconnected")).when(failingBoard).sendBytes(any(byte[].class), anyInt(), anyInt());
+        PooledCommunication pooledCommunication = new PooledCommunication(List.of(failingBoard, new ServerEmulator(1, 0)));
+
+        // Act
+        assertThrows(IOException.class, () -> pooledCommunication.sendMessage("MAN_VS_MAN,ROCK,PAPER\n"));
+        assertThrows(IOException.class, () -> pooledCommunication.receiveMessageUntil("|"));
+        pooledCommunication.sendMessage("MAN_VS_MAN,ROCK,PAPER\n");
+
+        // Assert
+        assertEquals(1, pooledCommunication.healthyCount());
+        assertEquals("Player 2,ROCK,PAPER", pooledCommunication.receiveMessageUntil("|"));
+    }
+
+    @Test
+    void receiveMessageUntil_HandshakeWithOldBoard_ShouldFallBackToCsv() throws IOException {
+        // Arrange
+        Communication oldBoard = mock(Communication.class);
+        PooledCommunication pooledCommunication = new PooledCommunication(List.of(new ServerEmulator(1, 0), oldBoard));
+        GameController gameController = new GameController(pooledCommunication, WireFormat.BINARY);
+        when(oldBoard.receiveFrame(any(byte[].class), any(byte[].class))).thenReturn(0);
+
+        // Act
+        WireFormat wireFormat = gameController.negotiateWireFormat();
+
+        // Assert
+        assertEquals(WireFormat.CSV, wireFormat);
+    }
+
+    @Test
+    void receiveFrame_BoardMissesTimeout_ShouldKeepBoardAndReadLateAnswer() throws IOException {
+        // Arrange
+        ServerEmulator board = spy(new ServerEmulator(1, 0));
+        doThrow(new ReadTimeoutException("Late frame")).doCallRealMethod()
+                .when(board).receiveFrame(any(byte[].class), any(byte[].class), any(Duration.class));
+        PooledCommunication pooledCommunication = new PooledCommunication(List.of(board));
+        byte[] frame = new byte[64];
+        pooledCommunication.sendMessage("MAN_VS_MAN,ROCK,PAPER\n");
+
+        // Act
+        assertThrows(ReadTimeoutException.class,
+                () -> pooledCommunication.receiveFrame(new byte[]{'|'}, frame, Duration.ofMillis(50)));
+        int frameLength = pooledCommunication.receiveFrame(new byte[]{'|'}, frame, Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(1, pooledCommunication.healthyCount());
+        assertEquals("Player 2,ROCK,PAPER", new String(frame, 0, frameLength).trim());
+    }
+
+    @Test
+    void receiveResult_OneReceiveTimesOut_ShouldPlayNextRoundOnSameBoard() throws IOException {
+        // Arrange
+        ServerEmulator board = spy(new ServerEmulator(1, 0));
+        doThrow(new ReadTimeoutException("Late frame")).doCallRealMethod()
+                .when(board).receiveFrame(any(byte[].class), any(byte[].class), any(Duration.class));
+        PooledCommunication pooledCommunication = new PooledCommunication(List.of(board));
+        GameController gameController = new GameController(pooledCommunication);
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.PAPER);
+        GameResponseDto retried = gameController.receiveResult();
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.SCISSORS, Player.Move.PAPER);
+        GameResponseDto next = gameController.receiveResult();
+
+        // Assert
+        assertEquals(1, pooledCommunication.healthyCount());
+        assertEquals(GameResponseDto.of(GameResult.PLAYER_2, Player.Move.ROCK, Player.Move.PAPER), retried);
+        assertEquals(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.SCISSORS, Player.Move.PAPER), next);
+        gameController.close();
+    }
+
+    @Test
+    void receiveResult_BoardStopsAnswering_ShouldTakeItOutOfRotationUntilProbeAnswered() throws Exception {
+        // Arrange
+        ServerEmulator hungBoard = spy(new ServerEmulator(1, 0));
+        doNothing().when(hungBoard).sendBytes(any(byte[].class), anyInt(), anyInt());
+        PooledCommunication pooledCommunication = new PooledCommunication(
+                List.of(hungBoard, new ServerEmulator(2, 0)), Duration.ofMillis(20));
+        GameController gameController = new GameController(pooledCommunication);
+        gameController.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(50), Duration.ofMillis(10), Duration.ofMillis(10)));
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.PAPER);
+            assertEquals(GameResponseDto.of(GameResult.PLAYER_2, Player.Move.ROCK, Player.Move.PAPER),
+                    gameController.receiveResult());
+        }
+        int healthyWhileHung = pooledCommunication.healthyCount();
+        doCallRealMethod().when(hungBoard).sendBytes(any(byte[].class), anyInt(), anyInt());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pooledCommunication.healthyCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(1, healthyWhileHung);
+        assertEquals(2, pooledCommunication.healthyCount());
+        gameController.close();
+    }
+}
@@ -0,0 +1,76 @@
+package application.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RecordingCommunicationTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void receiveMessageUntil_EmulatorRound_ShouldPassThroughAndRecordRequestAndResponse() throws IOException {
+        // Arrange
+        Path logFile = directory.resolve("session.rec");
+        RecordingCommunication recording = new RecordingCommunication(new ServerEmulator(1, 0), logFile);
+
+        // Act
+        recording.sendMessage("MAN_VS_MAN,ROCK,PAPER\n");
+        String response = recording.receiveMessageUntil("|");
+        recording.close();
+
+        // Assert
+        assertEquals("Player 2,ROCK,PAPER", response);
+        assertEquals(2, recording.events());
+        long payloadBytes = "MAN_VS_MAN,ROCK,PAPER\n".length() + response.length();
+        assertTrue(Files.size(logFile) <= 13 + 2 * 7 + payloadBytes, "Log has " + Files.size(logFile) + " bytes");
+        assertEquals(response, new ReplayCommunication(logFile, ReplayCommunication.MAX_SPEED).receiveMessageUntil("|"));
+    }
+
+    @Test
+    void receiveFrame_DelegateTimesOut_ShouldRecordTimeoutAndRethrow() throws IOException {
+        // Arrange
+        Communication delegate = mock(Communication.class);
+        when(delegate.receiveFrame(any(byte[].class), any(byte[].class), any(Duration.class)))
+                .thenThrow(new ReadTimeoutException("timeout"));
+        RecordingCommunication recording = new RecordingCommunication(delegate, directory.resolve("timeout.rec"));
+
+        // Act & Assert
+        assertThrows(ReadTimeoutException.class,
+                () -> recording.receiveFrame(new byte[] {'|'}, new byte[64], Duration.ofMillis(10)));
+
+        assertEquals(1, recording.events());
+        recording.close();
+        verify(delegate).close();
+    }
+
+    @Test
+    void receiveMessage_DelegateTimesOut_ShouldRecordTimeoutThatReplays() throws IOException {
+        // Arrange
+        Communication delegate = mock(Communication.class);
+        when(delegate.receiveMessage()).thenThrow(new ReadTimeoutException("timeout"));
+        Path logFile = directory.resolve("message-timeout.rec");
+        RecordingCommunication recording = new RecordingCommunication(delegate, logFile);
+
+        // Act
+        assertThrows(ReadTimeoutException.class, recording::receiveMessage);
+        recording.close();
+
+        // Assert
+        assertEquals(1, recording.events());
+        ReplayCommunication replay = new ReplayCommunication(logFile, ReplayCommunication.MAX_SPEED);
+        assertThrows(ReadTimeoutException.class, replay::receiveMessage);
+        assertTrue(replay.isExhausted());
+    }
+}
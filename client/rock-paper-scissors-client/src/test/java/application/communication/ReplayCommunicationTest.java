@@ -0,0 +1,129 @@
+package application.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import application.controller.GameController;
+import application.dto.GameRequestDto;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReplayCommunicationTest {
+    private static final byte[] DELIMITER = {'|'};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void playRounds_RecordedSession_ShouldReturnRecordedResponses() throws IOException {
+        // Arrange
+        Path logFile = directory.resolve("session.rec");
+        List<GameRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(new GameRequestDto(GameMode.AI_VS_AI, Player.Move.ROCK, Player.Move.ROCK));
+        }
+        GameController recordingController = new GameController(
+                new RecordingCommunication(new ServerEmulator(7, 0), logFile), WireFormat.BINARY);
+        List<GameResponseDto> recorded = recordingController.playRounds(requests);
+        recordingController.close();
+
+        ReplayCommunication replay = new ReplayCommunication(logFile, ReplayCommunication.MAX_SPEED);
+        GameController replayController = new GameController(replay, WireFormat.BINARY);
+
+        // Act
+        List<GameResponseDto> replayed = replayController.playRounds(requests);
+
+        // Assert
+        assertEquals(recorded, replayed);
+        assertEquals(0, replay.mismatchedSends());
+        assertTrue(replay.isExhausted());
+        replayController.close();
+    }
+
+    @Test
+    void receiveFrame_RealSpeed_ShouldReproduceRecordedLatency() throws IOException {
+        // Arrange
+        Path logFile = recordPacedRound();
+        ReplayCommunication realSpeed = new ReplayCommunication(logFile, ReplayCommunication.REAL_SPEED);
+        ReplayCommunication maxSpeed = new ReplayCommunication(logFile, ReplayCommunication.MAX_SPEED);
+
+        // Act
+        long realNanos = timeRound(realSpeed);
+        long maxNanos = timeRound(maxSpeed);
+
+        // Assert
+        assertTrue(realNanos >= Duration.ofMillis(30).toNanos(), "Real speed took " + realNanos + " ns");
+        assertTrue(maxNanos < Duration.ofMillis(10).toNanos(), "Max speed took " + maxNanos + " ns");
+    }
+
+    @Test
+    void sendMessage_DifferentRequest_ShouldCountMismatch() throws IOException {
+        // Arrange
+        ReplayCommunication replay = new ReplayCommunication(recordPacedRound(), ReplayCommunication.MAX_SPEED);
+
+        // Act
+        replay.sendMessage("MAN_VS_MAN,PAPER,PAPER\n");
+        replay.sendMessage("MAN_VS_MAN,ROCK,ROCK\n");
+
+        // Assert
+        assertEquals(2, replay.mismatchedSends());
+    }
+
+    @Test
+    void receiveFrame_RecordedTimeout_ShouldThrowReadTimeoutException() throws IOException {
+        // Arrange
+        Path logFile = directory.resolve("timeout.rec");
+        RecordingCommunication recording = new RecordingCommunication(new ServerEmulator(1, 0), logFile);
+        assertThrows(ReadTimeoutException.class,
+                () -> recording.receiveFrame(DELIMITER, new byte[64], Duration.ofMillis(10)));
+        recording.close();
+        ReplayCommunication replay = new ReplayCommunication(logFile, ReplayCommunication.REAL_SPEED);
+
+        // Act & Assert
+        assertThrows(ReadTimeoutException.class, () -> replay.receiveFrame(DELIMITER, new byte[64], Duration.ofSeconds(1)));
+        assertThrows(EOFException.class, () -> replay.receiveFrame(DELIMITER, new byte[64]));
+    }
+
+    @Test
+    void constructor_NotARecording_ShouldThrowIOException() throws IOException {
+        // Arrange
+        Path logFile = Files.writeString(directory.resolve("other.rec"), "not a recording");
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                () -> new ReplayCommunication(logFile, ReplayCommunication.REAL_SPEED));
+
+        assertEquals("Not a communication recording: " + logFile, exception.getMessage());
+    }
+
+    private Path recordPacedRound() throws IOException {
+        Path logFile = directory.resolve("paced.rec");
+        RecordingCommunication recording = new RecordingCommunication(new ServerEmulator(1, 9600), logFile);
+        recording.sendMessage("MAN_VS_MAN,ROCK,PAPER\n");
+        recording.receiveFrame(DELIMITER, new byte[64]);
+        recording.close();
+        return logFile;
+    }
+
+    private static long timeRound(ReplayCommunication replay) throws IOException {
+        long start = System.nanoTime();
+        replay.sendMessage("MAN_VS_MAN,ROCK,PAPER\n");
+        byte[] frame = new byte[64];
+        int length = replay.receiveFrame(DELIMITER, frame);
+        long elapsed = System.nanoTime() - start;
+        assertEquals("Player 2,ROCK,PAPER", new String(frame, 0, length));
+        return elapsed;
+    }
+}
@@ -3,6 +3,7 @@ package application.communication;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -51,7 +52,7 @@ public class SerialCommunicationTest {
         // Arrange
         String expectedExceptionMessage = "No data received from server";
 
-        when(mockInputStream.read(any(byte[].class))).thenReturn(-1);
+        when(mockInputStream.read(any(byte[].class), anyInt(), anyInt())).thenReturn(-1);
 
         // Act & Assert
         IOException exception = assertThrows(IOException.class, () -> serialCommunication.receiveMessage());
@@ -59,6 +60,31 @@ public class SerialCommunicationTest {
         assertEquals(expectedExceptionMessage, exception.getMessage());
     }
 
+    @Test
+    void setBaudRate_PortAcceptsRate_ShouldSwitchPort() throws IOException {
+        // Arrange
+        when(serialPort.setBaudRate(1_000_000)).thenReturn(true);
+        when(serialPort.getBaudRate()).thenReturn(1_000_000);
+
+        // Act
+        serialCommunication.setBaudRate(1_000_000);
+
+        // Assert
+        verify(serialPort).setBaudRate(1_000_000);
+        assertEquals(1_000_000, serialCommunication.baudRate());
+    }
+
+    @Test
+    void setBaudRate_PortRejectsRate_ShouldThrowIOException() {
+        // Arrange
+        when(serialPort.setBaudRate(2_000_000)).thenReturn(false);
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> serialCommunication.setBaudRate(2_000_000));
+
+        assertEquals("Serial port does not accept 2000000 baud", exception.getMessage());
+    }
+
     @Test
     void close_AllOk_ShouldClosePort() throws IOException {
         // Act
@@ -76,11 +102,33 @@ public class SerialCommunicationTest {
         String expectedExceptionMessage = "No data received from server";
         String delimiter = "\n";
 
-        when(mockInputStream.read(any(byte[].class))).thenReturn(-1);
+        when(mockInputStream.read(any(byte[].class), anyInt(), anyInt())).thenReturn(-1);
 
         // Act & Assert
         IOException exception = assertThrows(IOException.class, () -> serialCommunication.receiveMessageUntil(delimiter));
 
         assertEquals(expectedExceptionMessage, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void receiveMessageUntil_TwoFramesInOneRead_ShouldKeepLeftoverForNextFrame() throws IOException {
+        // Arrange
+        byte[] data = "DRAW,ROCK,ROCK|Player 1,PAPER,ROCK|".getBytes();
+
+        when(mockInputStream.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+            byte[] target = invocation.getArgument(0);
+            int offset = invocation.getArgument(1);
+            System.arraycopy(data, 0, target, offset, data.length);
+            return data.length;
+        }).thenReturn(-1);
+
+        // Act
+        String firstMessage = serialCommunication.receiveMessageUntil("|");
+        String secondMessage = serialCommunication.receiveMessageUntil("|");
+
+        // Assert
+        assertEquals("DRAW,ROCK,ROCK", firstMessage);
+        assertEquals("Player 1,PAPER,ROCK", secondMessage);
+        verify(mockInputStream, times(1)).read(any(byte[].class), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,199 @@
+package application.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import application.dto.GameFrameCodec;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerEmulatorTest {
+    private ServerEmulator serverEmulator;
+
+    @BeforeEach
+    void setUp() {
+        serverEmulator = new ServerEmulator(42, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serverEmulator.close();
+    }
+
+    @Test
+    void sendMessage_ManVsMan_ShouldAnswerLikeSketch() throws IOException {
+        // Act
+        serverEmulator.sendMessage("MAN_VS_MAN,ROCK,SCISSORS\n");
+        serverEmulator.sendMessage("MAN_VS_MAN,PAPER,PAPER\n");
+        serverEmulator.sendMessage("MAN_VS_MAN,ROCK,PAPER\n");
+
+        // Assert
+        assertEquals("Player 1,ROCK,SCISSORS", serverEmulator.receiveMessageUntil("|"));
+        assertEquals("DRAW,PAPER,PAPER", serverEmulator.receiveMessageUntil("|"));
+        assertEquals("Player 2,ROCK,PAPER", serverEmulator.receiveMessageUntil("|"));
+    }
+
+    @Test
+    void sendMessage_ManVsAi_ShouldKeepPlayerMoveAndNameAiAsWinner() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            // Act
+            serverEmulator.sendMessage("MAN_VS_AI,ROCK,ROCK\n");
+            String[] response = serverEmulator.receiveMessageUntil("|").split(",");
+
+            // Assert
+            assertEquals("ROCK", response[1]);
+            String expectedResult = switch (response[2]) {
+                case "ROCK" -> "DRAW";
+                case "PAPER" -> "AI";
+                default -> "Player 1";
+            };
+            assertEquals(expectedResult, response[0]);
+        }
+    }
+
+    @Test
+    void sendMessage_Handshake_ShouldAcceptBinaryFraming() throws IOException {
+        // Act
+        serverEmulator.sendMessage("PROTO,BIN\n");
+
+        // Assert
+        assertEquals("BIN", serverEmulator.receiveMessageUntil("|"));
+    }
+
+    @Test
+    void sendBytes_TaggedBinaryRequest_ShouldEchoTag() throws IOException {
+        // Arrange
+        byte tag = GameFrameCodec.encodeTag(42);
+        byte[] request = {tag, GameFrameCodec.encodeRequest(GameMode.MAN_VS_MAN, Player.Move.PAPER, Player.Move.ROCK), '\n'};
+        byte[] response = new byte[4];
+
+        // Act
+        serverEmulator.sendMessage(GameFrameCodec.TAG_HANDSHAKE_REQUEST);
+        String handshakeReply = serverEmulator.receiveMessageUntil("|");
+        serverEmulator.sendBytes(request, 0, request.length);
+        int length = serverEmulator.receiveFrame(new byte[]{'|'}, response);
+
+        // Assert
+        assertEquals(GameFrameCodec.TAG_HANDSHAKE_ACCEPTED, handshakeReply);
+        assertEquals(2, length);
+        assertEquals(tag, response[0]);
+        assertEquals(GameFrameCodec.encodeResponse(GameResult.PLAYER_1, Player.Move.PAPER, Player.Move.ROCK), response[1]);
+    }
+
+    @Test
+    void sendMessage_Ping_ShouldEchoSequenceNumber() throws IOException {
+        // Act
+        serverEmulator.sendMessage("PING,4711\n");
+
+        // Assert
+        assertEquals("PONG,4711", serverEmulator.receiveMessageUntil("|"));
+    }
+
+    @Test
+    void sendMessage_SupportedBaudRate_ShouldEchoRequestAndSwitchAfterwards() throws IOException {
+        // Arrange
+        ServerEmulator pacedEmulator = new ServerEmulator(42, 9600);
+
+        // Act
+        pacedEmulator.sendMessage("BAUD,1000000\n");
+        String reply = pacedEmulator.receiveMessageUntil("|");
+        pacedEmulator.setBaudRate(1_000_000);
+        pacedEmulator.sendMessage("PING,1\n");
+
+        // Assert
+        assertEquals("BAUD,1000000", reply);
+        assertEquals("PONG,1", pacedEmulator.receiveMessageUntil("|"));
+        assertEquals(1_000_000, pacedEmulator.baudRate());
+    }
+
+    @Test
+    void sendMessage_UnsupportedBaudRate_ShouldRefuse() throws IOException {
+        // Arrange
+        ServerEmulator pacedEmulator = new ServerEmulator(42, 9600);
+
+        // Act
+        pacedEmulator.sendMessage("BAUD,123\n");
+
+        // Assert
+        assertEquals("NO", pacedEmulator.receiveMessageUntil("|"));
+        assertEquals(9600, pacedEmulator.baudRate());
+    }
+
+    @Test
+    void sendMessage_UnknownMode_ShouldAnswerEmptyFrame() throws IOException {
+        // Act
+        serverEmulator.sendMessage("UNKNOWN\n");
+
+        // Assert
+        assertEquals("", serverEmulator.receiveMessageUntil("|"));
+    }
+
+    @Test
+    void sendMessage_UnknownMove_ShouldAnswerEmptyFrame() throws IOException {
+        // Act
+        serverEmulator.sendMessage("MAN_VS_MAN,ROCK,LIZARD\n");
+        serverEmulator.sendMessage("MAN_VS_AI\n");
+
+        // Assert
+        assertEquals("", serverEmulator.receiveMessageUntil("|"));
+        assertEquals("", serverEmulator.receiveMessageUntil("|"));
+    }
+
+    @Test
+    void sendBytes_InvalidBinaryRequestAndOverlongLine_ShouldAnswerEmptyFrames() throws IOException {
+        // Arrange
+        byte[] invalidRequest = {(byte) (GameFrameCodec.BINARY_FLAG | 0x03), '\n'};
+
+        // Act
+        serverEmulator.sendBytes(invalidRequest, 0, invalidRequest.length);
+        serverEmulator.sendMessage("MAN_VS_MAN,SCISSORS,SCISSORS,SCISSORS\n");
+        serverEmulator.sendMessage("AI_VS_AI\n");
+
+        // Assert
+        assertEquals("", serverEmulator.receiveMessageUntil("|"));
+        assertEquals("", serverEmulator.receiveMessageUntil("|"));
+        assertTrue(serverEmulator.receiveMessageUntil("|").contains(","));
+    }
+
+    @Test
+    void sendMessage_InvalidLinesAtFastRate_ShouldFallBackToDefaultRate() throws IOException {
+        // Arrange
+        ServerEmulator pacedEmulator = new ServerEmulator(42, 9600);
+        pacedEmulator.sendMessage("BAUD,115200\n");
+        pacedEmulator.receiveMessageUntil("|");
+        pacedEmulator.setBaudRate(115_200);
+        pacedEmulator.sendMessage("PING,1\n");
+        pacedEmulator.receiveMessageUntil("|");
+
+        // Act
+        pacedEmulator.sendMessage("MAN_VS_MAN,ROCK,LIZARD\n");
+        pacedEmulator.sendMessage("MAN_VS_AI,SPOCK\n");
+
+        // Assert
+        assertEquals("", pacedEmulator.receiveMessageUntil("|"));
+        assertEquals("", pacedEmulator.receiveMessageUntil("|"));
+        assertEquals(9600, pacedEmulator.serverBaudRate());
+    }
+
+    @Test
+    void receiveMessageUntil_BaudRatePacing_ShouldDelayResponse() throws IOException {
+        // Arrange
+        ServerEmulator pacedEmulator = new ServerEmulator(42, 9600);
+        long startNanos = System.nanoTime();
+
+        // Act
+        pacedEmulator.sendMessage("MAN_VS_MAN,ROCK,SCISSORS\n");
+        pacedEmulator.receiveMessageUntil("|");
+        long elapsedNanos = System.nanoTime() - startNanos;
+        pacedEmulator.close();
+
+        // Assert
+        long expectedNanos = (25L + 23L) * 10_000_000_000L / 9600;
+        assertTrue(elapsedNanos >= expectedNanos, "Round trip took " + elapsedNanos + " ns");
+    }
+}
@@ -0,0 +1,435 @@
+package application.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import application.communication.FrameTooLongException;
+import application.communication.ReadTimeoutException;
+import application.communication.ServerEmulator;
+import application.dto.GameRequestDto;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import application.metrics.ClientMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class GameControllerEmulatorTest {
+    private GameController gameController;
+
+    @AfterEach
+    void tearDown() {
+        gameController.close();
+    }
+
+    @Test
+    void receiveResult_CsvFraming_ShouldReturnWinner() throws IOException {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(1, 0));
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.SCISSORS);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertEquals(WireFormat.CSV, gameController.getWireFormat());
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS), response);
+    }
+
+    @Test
+    void receiveResult_BinaryFraming_ShouldNegotiateAndReturnSameResult() throws IOException {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(1, 0), WireFormat.BINARY);
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.PAPER, Player.Move.PAPER);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertEquals(WireFormat.BINARY, gameController.getWireFormat());
+        assertEquals(new GameResponseDto(GameResult.DRAW, Player.Move.PAPER, Player.Move.PAPER), response);
+    }
+
+    @Test
+    void playRounds_BinaryFraming_ShouldMatchResponsesToRequestsInOrder() throws IOException {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(7, 0), WireFormat.BINARY);
+        List<GameRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Player.Move move1 = Player.Move.values()[i % 3];
+            Player.Move move2 = Player.Move.values()[i / 3 % 3];
+            requests.add(new GameRequestDto(GameMode.values()[i % 2], move1, move2));
+        }
+
+        // Act
+        List<GameResponseDto> responses = gameController.playRounds(requests);
+
+        // Assert
+        assertEquals(requests.size(), responses.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).player1Move(), responses.get(i).player1Move());
+            if (requests.get(i).mode() == GameMode.MAN_VS_MAN) {
+                assertEquals(requests.get(i).player2Move(), responses.get(i).player2Move());
+            }
+        }
+    }
+
+    @Test
+    void playRoundAsync_AiVsAi_ShouldCompleteWithResponse() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(3, 0));
+
+        // Act
+        GameResponseDto response = gameController.playRoundAsync(GameMode.AI_VS_AI, Player.Move.ROCK, Player.Move.ROCK).get();
+
+        // Assert
+        assertEquals(response.gameResult() == GameResult.DRAW, response.player1Move() == response.player2Move());
+    }
+
+    @Test
+    void receiveResult_FirstRequestLost_ShouldRetryAndReturnResult() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 0));
+        doNothing().doCallRealMethod().when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofMillis(50)));
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.SCISSORS, Player.Move.PAPER);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.SCISSORS, Player.Move.PAPER), response);
+        verify(serverEmulator, times(2)).sendBytes(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void receiveResult_ResponseBuriedInLineNoise_ShouldResyncAndRetry() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 0));
+        doThrow(new FrameTooLongException("Frame exceeds buffer capacity")).doCallRealMethod()
+                .when(serverEmulator).receiveFrame(any(byte[].class), any(byte[].class), any(Duration.class));
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofMillis(50)));
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.SCISSORS);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS), response);
+        verify(serverEmulator, times(2)).sendBytes(any(byte[].class), anyInt(), anyInt());
+        verify(serverEmulator).discardInput();
+    }
+
+    @Test
+    void receiveResult_ServerNeverAnswers_ShouldThrowReadTimeoutExceptionAfterAllAttempts() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 0));
+        doNothing().when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(50), Duration.ofMillis(10), Duration.ofMillis(10)));
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.ROCK);
+
+        // Assert
+        assertThrows(ReadTimeoutException.class, () -> gameController.receiveResult());
+        verify(serverEmulator, times(2)).sendBytes(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void playRoundAsync_ManyConcurrentCallers_ShouldMatchEveryResponseToItsRound() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(5, 0), WireFormat.BINARY);
+        Player.Move[] moves = Player.Move.values();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<CompletableFuture<GameResponseDto>>> submitted = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            Player.Move move1 = moves[i % 3];
+            Player.Move move2 = moves[i / 3 % 3];
+            submitted.add(callers.submit(() -> gameController.playRoundAsync(GameMode.MAN_VS_MAN, move1, move2)));
+        }
+
+        // Assert
+        for (int i = 0; i < submitted.size(); i++) {
+            GameResponseDto response = submitted.get(i).get().get(5, TimeUnit.SECONDS);
+            assertEquals(moves[i % 3], response.player1Move());
+            assertEquals(moves[i / 3 % 3], response.player2Move());
+        }
+        assertTrue(gameController.isMultiplexing());
+        callers.shutdown();
+    }
+
+    @Test
+    void playRoundAsync_TaggedRequestLost_ShouldResendAndComplete() throws Exception {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 0));
+        doCallRealMethod().doCallRealMethod().doNothing().doCallRealMethod()
+                .when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        gameController = new GameController(serverEmulator, WireFormat.BINARY);
+        gameController.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofMillis(50)));
+
+        // Act
+        GameResponseDto response = gameController.playRoundAsync(GameMode.MAN_VS_MAN, Player.Move.ROCK, Player.Move.PAPER)
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_2, Player.Move.ROCK, Player.Move.PAPER), response);
+        assertTrue(gameController.isMultiplexing());
+        verify(serverEmulator, times(4)).sendBytes(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void playRoundAsync_CsvServer_ShouldPlayRoundsOneAfterAnother() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(2, 0));
+
+        // Act
+        CompletableFuture<GameResponseDto> first = gameController.playRoundAsync(GameMode.MAN_VS_MAN, Player.Move.PAPER, Player.Move.ROCK);
+        CompletableFuture<GameResponseDto> second = gameController.playRoundAsync(GameMode.MAN_VS_MAN, Player.Move.ROCK, Player.Move.PAPER);
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.PAPER, Player.Move.ROCK), first.get(5, TimeUnit.SECONDS));
+        assertSame(GameResponseDto.of(GameResult.PLAYER_2, Player.Move.ROCK, Player.Move.PAPER), second.get(5, TimeUnit.SECONDS));
+        assertFalse(gameController.isMultiplexing());
+    }
+
+    @Test
+    void playAgainstAiMoveAsync_CsvServer_ShouldPlayClientMoveAndRecordManVsAiRound() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(2, 0));
+        ClientMetrics metrics = ClientMetrics.global();
+        long manVsAiBefore = metrics.latency(GameMode.MAN_VS_AI).count();
+        long manVsManBefore = metrics.latency(GameMode.MAN_VS_MAN).count();
+
+        // Act
+        GameResponseDto response = gameController.playAgainstAiMoveAsync(Player.Move.ROCK, Player.Move.PAPER).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_2, Player.Move.ROCK, Player.Move.PAPER), response);
+        assertEquals(manVsAiBefore + 1, metrics.latency(GameMode.MAN_VS_AI).count());
+        assertEquals(manVsManBefore, metrics.latency(GameMode.MAN_VS_MAN).count());
+    }
+
+    @Test
+    void playAgainstAiMoveAsync_TaggedServer_ShouldPlayClientMoveAndRecordManVsAiRound() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(2, 0), WireFormat.BINARY);
+        gameController.playRoundAsync(GameMode.AI_VS_AI, Player.Move.ROCK, Player.Move.ROCK).get(5, TimeUnit.SECONDS);
+        ClientMetrics metrics = ClientMetrics.global();
+        long manVsAiBefore = metrics.latency(GameMode.MAN_VS_AI).count();
+
+        // Act
+        GameResponseDto response = gameController.playAgainstAiMoveAsync(Player.Move.SCISSORS, Player.Move.PAPER).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(gameController.isMultiplexing());
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.SCISSORS, Player.Move.PAPER), response);
+        assertEquals(manVsAiBefore + 1, metrics.latency(GameMode.MAN_VS_AI).count());
+    }
+
+    @Test
+    void pingAsync_SerializedRounds_ShouldMeasureRoundTripAndMarkLinkAlive() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(1, 0));
+        CompletableFuture<GameResponseDto> round = gameController.playRoundAsync(GameMode.MAN_VS_MAN, Player.Move.ROCK, Player.Move.ROCK);
+
+        // Act
+        Duration roundTripTime = gameController.pingAsync().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(round.isDone());
+        assertFalse(roundTripTime.isNegative());
+        assertEquals(LinkMonitor.State.ALIVE, gameController.getLinkMonitor().state());
+        assertEquals(roundTripTime, gameController.getLinkMonitor().smoothedRtt());
+    }
+
+    @Test
+    void pingAsync_MultiplexedRounds_ShouldBeAnsweredNextToRounds() throws Exception {
+        // Arrange
+        gameController = new GameController(new ServerEmulator(1, 0), WireFormat.BINARY);
+        gameController.playRoundAsync(GameMode.AI_VS_AI, Player.Move.ROCK, Player.Move.ROCK).get(5, TimeUnit.SECONDS);
+        List<CompletableFuture<GameResponseDto>> rounds = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            rounds.add(gameController.playRoundAsync(GameMode.MAN_VS_MAN, Player.Move.PAPER, Player.Move.ROCK));
+        }
+        CompletableFuture<Duration> ping = gameController.pingAsync();
+
+        // Assert
+        assertTrue(gameController.isMultiplexing());
+        assertFalse(ping.get(5, TimeUnit.SECONDS).isNegative());
+        for (CompletableFuture<GameResponseDto> round : rounds) {
+            assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.PAPER, Player.Move.ROCK), round.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void startHeartbeat_ServerStopsAnswering_ShouldReportLinkDown() throws Exception {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 0));
+        doCallRealMethod().doNothing().when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(1, Duration.ofMillis(50), Duration.ZERO, Duration.ZERO));
+        List<LinkMonitor.State> states = new CopyOnWriteArrayList<>();
+        gameController.getLinkMonitor().addListener(states::add);
+
+        // Act
+        gameController.startHeartbeat(Duration.ofMillis(10));
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gameController.getLinkMonitor().state() != LinkMonitor.State.DOWN && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(LinkMonitor.State.ALIVE, LinkMonitor.State.DEGRADED, LinkMonitor.State.DOWN), states);
+    }
+
+    @Test
+    void receiveResult_LateHeartbeatReplyQueued_ShouldSkipItAndReturnRoundResult() throws Exception {
+        // Arrange
+        ServerEmulator serverEmulator = new ServerEmulator(1, 0);
+        gameController = new GameController(serverEmulator);
+        gameController.setAdaptiveReadTimeout(true);
+        serverEmulator.sendMessage("PING,7\n");
+
+        // Act
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.SCISSORS, Player.Move.PAPER);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.SCISSORS, Player.Move.PAPER), response);
+        assertEquals(LinkMonitor.State.ALIVE, gameController.getLinkMonitor().state());
+    }
+
+    @Test
+    void negotiateBaudRate_ServerSupportsFastestRate_ShouldSwitchToIt() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = new ServerEmulator(1, 9600);
+        gameController = new GameController(serverEmulator, WireFormat.BINARY);
+
+        // Act
+        int baudRate = gameController.negotiateBaudRate();
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.SCISSORS);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertEquals(1_000_000, baudRate);
+        assertEquals(1_000_000, serverEmulator.baudRate());
+        assertEquals(1_000_000, serverEmulator.serverBaudRate());
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS), response);
+    }
+
+    @Test
+    void negotiateBaudRate_FastRateGarbled_ShouldFallBackToNextRate() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = new ServerEmulator(1, 9600, 115_200);
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(1, Duration.ofMillis(200), Duration.ZERO, Duration.ZERO));
+
+        // Act
+        int baudRate = gameController.negotiateBaudRate(1_000_000, 115_200);
+        gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.PAPER, Player.Move.ROCK);
+        GameResponseDto response = gameController.receiveResult();
+
+        // Assert
+        assertEquals(115_200, baudRate);
+        assertEquals(115_200, serverEmulator.baudRate());
+        assertEquals(115_200, serverEmulator.serverBaudRate());
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.PAPER, Player.Move.ROCK), response);
+    }
+
+    @Test
+    void negotiateBaudRate_FirstRequestSwallowedByReset_ShouldResendAndSwitch() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 9600));
+        doNothing().doCallRealMethod().when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(200), Duration.ofMillis(10), Duration.ofMillis(50)));
+
+        // Act
+        int baudRate = gameController.negotiateBaudRate(115_200);
+
+        // Assert
+        assertEquals(115_200, baudRate);
+        assertEquals(115_200, serverEmulator.serverBaudRate());
+    }
+
+    @Test
+    void negotiateBaudRate_FirmwareWithoutNegotiation_ShouldStayAtCurrentRateAfterAllAttempts() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 9600));
+        doNothing().when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        gameController = new GameController(serverEmulator);
+        gameController.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(50), Duration.ofMillis(10), Duration.ofMillis(10)));
+
+        // Act
+        int baudRate = gameController.negotiateBaudRate(1_000_000, 115_200);
+
+        // Assert
+        assertEquals(9600, baudRate);
+        assertEquals(9600, serverEmulator.baudRate());
+        verify(serverEmulator, times(2)).sendBytes(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void negotiateBaudRate_LinkWithoutBaudRate_ShouldReturnZero() throws IOException {
+        // Arrange
+        ServerEmulator serverEmulator = spy(new ServerEmulator(1, 0));
+        gameController = new GameController(serverEmulator);
+
+        // Act
+        int baudRate = gameController.negotiateBaudRate();
+
+        // Assert
+        assertEquals(0, baudRate);
+        verify(serverEmulator, times(0)).sendMessage(any());
+    }
+
+    @Test
+    void negotiateBaudRate_LinkGoesDown_ShouldFallBackToDefaultRate() throws Exception {
+        // Arrange
+        ServerEmulator serverEmulator = new ServerEmulator(1, 9600);
+        gameController = new GameController(serverEmulator);
+        gameController.negotiateBaudRate();
+
+        // Act
+        for (int i = 0; i < LinkMonitor.DOWN_AFTER_MISSES; i++) {
+            gameController.getLinkMonitor().recordMiss();
+        }
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (serverEmulator.baudRate() != 9600 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(9600, serverEmulator.baudRate());
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import application.dto.GameResponseDto;
+import application.game.GameResult;
 import application.game.Player;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.AfterEach;
@@ -41,7 +42,7 @@ public class GameControllerTest {
         GameResponseDto response = gameController.receiveResult();
 
         assertNotNull(response, "Response should not be null");
-        assertEquals("Player 1", response.gameResult(), "Expected Player 1 to win with ROCK vs SCISSORS");
+        assertEquals(GameResult.PLAYER_1, response.gameResult(), "Expected Player 1 to win with ROCK vs SCISSORS");
         assertEquals(Player.Move.ROCK, response.player1Move(), "Player 1's move should be ROCK");
         assertEquals(Player.Move.SCISSORS, response.player2Move(), "Player 2's move should be SCISSORS");
     }
@@ -58,7 +59,7 @@ public class GameControllerTest {
         GameResponseDto response = gameController.receiveResult();
 
         assertNotNull(response, "Response should not be null");
-        assertEquals("DRAW", response.gameResult(), "Expected a draw when both moves are PAPER");
+        assertEquals(GameResult.DRAW, response.gameResult(), "Expected a draw when both moves are PAPER");
         assertEquals(Player.Move.PAPER, response.player1Move(), "Player 1's move should be PAPER");
         assertEquals(Player.Move.PAPER, response.player2Move(), "Player 2's move should be PAPER");
     }
@@ -0,0 +1,65 @@
+package application.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LinkMonitorTest {
+
+    @Test
+    void recordRoundTrip_Samples_ShouldSmoothLikeRfc6298() {
+        // Arrange
+        LinkMonitor linkMonitor = new LinkMonitor();
+
+        // Act
+        linkMonitor.recordRoundTrip(Duration.ofMillis(80));
+        linkMonitor.recordRoundTrip(Duration.ofMillis(160));
+
+        // Assert
+        assertEquals(Duration.ofMillis(90), linkMonitor.smoothedRtt());
+        assertEquals(Duration.ofMillis(50), linkMonitor.rttVariation());
+        assertEquals(LinkMonitor.State.ALIVE, linkMonitor.state());
+    }
+
+    @Test
+    void recordMiss_MissesInRow_ShouldDegradeThenGoDownAndRecoverOnAnswer() {
+        // Arrange
+        LinkMonitor linkMonitor = new LinkMonitor();
+        List<LinkMonitor.State> states = new ArrayList<>();
+        linkMonitor.addListener(states::add);
+
+        // Act
+        for (int i = 0; i < LinkMonitor.DOWN_AFTER_MISSES + 1; i++) {
+            linkMonitor.recordMiss();
+        }
+        linkMonitor.recordAnswer();
+        linkMonitor.recordAnswer();
+
+        // Assert
+        assertEquals(List.of(LinkMonitor.State.DEGRADED, LinkMonitor.State.DOWN, LinkMonitor.State.ALIVE), states);
+        assertNull(linkMonitor.smoothedRtt());
+    }
+
+    @Test
+    void suggestedReadTimeout_Samples_ShouldScaleEstimateWithinBounds() {
+        // Arrange
+        LinkMonitor linkMonitor = new LinkMonitor();
+        Duration minimum = Duration.ofMillis(100);
+        Duration maximum = Duration.ofSeconds(1);
+
+        // Act
+        Duration withoutSamples = linkMonitor.suggestedReadTimeout(minimum, maximum);
+        linkMonitor.recordRoundTrip(Duration.ofMillis(40));
+        Duration estimated = linkMonitor.suggestedReadTimeout(minimum, maximum);
+        Duration floored = linkMonitor.suggestedReadTimeout(Duration.ofMillis(500), maximum);
+
+        // Assert
+        assertEquals(maximum, withoutSamples);
+        assertEquals(Duration.ofMillis(240), estimated);
+        assertEquals(Duration.ofMillis(500), floored);
+    }
+}
@@ -0,0 +1,29 @@
+package application.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+
+    @Test
+    void backoff_RepeatedAttempts_ShouldDoubleUpToMaximum() {
+        // Arrange
+        RetryPolicy retryPolicy = new RetryPolicy(5, Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofMillis(300));
+
+        // Act & Assert
+        assertEquals(Duration.ofMillis(100), retryPolicy.backoff(1));
+        assertEquals(Duration.ofMillis(200), retryPolicy.backoff(2));
+        assertEquals(Duration.ofMillis(300), retryPolicy.backoff(3));
+        assertEquals(Duration.ofMillis(300), retryPolicy.backoff(4));
+    }
+
+    @Test
+    void constructor_NoAttempts_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(0, Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(1)));
+    }
+}
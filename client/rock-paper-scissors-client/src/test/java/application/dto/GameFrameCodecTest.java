@@ -0,0 +1,144 @@
+package application.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+
+public class GameFrameCodecTest {
+
+    @Test
+    void encodeRequest_AllCombinations_ShouldBeBinaryAndDecodable() {
+        for (GameMode mode : GameMode.values()) {
+            for (Player.Move move1 : Player.Move.values()) {
+                for (Player.Move move2 : Player.Move.values()) {
+                    // Act
+                    byte request = GameFrameCodec.encodeRequest(mode, move1, move2);
+
+                    // Assert
+                    assertTrue(GameFrameCodec.isBinary(request));
+                    assertTrue(request != '\n' && request != '|');
+                    assertEquals(mode, GameFrameCodec.decodeMode(request));
+                    assertEquals(move1, GameFrameCodec.decodeMove(request, 2));
+                    assertEquals(move2, GameFrameCodec.decodeMove(request, 4));
+                }
+            }
+        }
+    }
+
+    @Test
+    void encodeTag_AllTags_ShouldBeBinaryAndDecodable() {
+        for (int tag = 0; tag < GameFrameCodec.TAG_COUNT; tag++) {
+            // Act
+            byte tagByte = GameFrameCodec.encodeTag(tag);
+
+            // Assert
+            assertTrue(GameFrameCodec.isBinary(tagByte));
+            assertTrue(tagByte != '\n' && tagByte != '|');
+            assertEquals(tag, GameFrameCodec.decodeTag(tagByte));
+        }
+    }
+
+    @Test
+    void encodeTag_TagOutOfRange_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> GameFrameCodec.encodeTag(GameFrameCodec.TAG_COUNT));
+    }
+
+    @Test
+    void isTagged_TagAndResponseByte_ShouldBeTagged() {
+        // Arrange
+        byte[] frame = {GameFrameCodec.encodeTag(5), GameFrameCodec.encodeResponse(GameResult.DRAW, Player.Move.ROCK, Player.Move.ROCK)};
+        byte[] textFrame = "A,".getBytes(StandardCharsets.US_ASCII);
+
+        // Act & Assert
+        assertTrue(GameFrameCodec.isTagged(frame, 2));
+        assertFalse(GameFrameCodec.isTagged(frame, 1));
+        assertFalse(GameFrameCodec.isTagged(textFrame, 2));
+    }
+
+    @Test
+    void decodeResponse_EncodedResponse_ShouldReturnSharedInstance() {
+        // Arrange
+        byte response = GameFrameCodec.encodeResponse(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS);
+
+        // Act
+        GameResponseDto gameResponseDto = GameFrameCodec.decodeResponse(response);
+
+        // Assert
+        assertEquals(new GameResponseDto(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS), gameResponseDto);
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS), gameResponseDto);
+    }
+
+    @Test
+    void encodeTextRequest_ManVsMan_ShouldWriteCsvLine() {
+        // Arrange
+        byte[] destination = new byte[GameFrameCodec.MAX_TEXT_REQUEST_LENGTH + 1];
+
+        // Act
+        int end = GameFrameCodec.encodeTextRequest(GameMode.MAN_VS_MAN, Player.Move.SCISSORS, Player.Move.SCISSORS, destination, 1);
+
+        // Assert
+        assertEquals("MAN_VS_MAN,SCISSORS,SCISSORS\n", new String(destination, 1, end - 1, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void decodeTextResponse_AiWins_ShouldReturnSecondPlayerWin() {
+        // Arrange
+        byte[] frame = "\r\nAI,ROCK,PAPER ".getBytes(StandardCharsets.US_ASCII);
+
+        // Act
+        GameResponseDto gameResponseDto = GameFrameCodec.decodeTextResponse(frame, frame.length);
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_2, Player.Move.ROCK, Player.Move.PAPER), gameResponseDto);
+    }
+
+    @Test
+    void decodeTextResponse_UnknownMove_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        byte[] frame = "DRAW,ROCK,LIZARD".getBytes(StandardCharsets.US_ASCII);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> GameFrameCodec.decodeTextResponse(frame, frame.length));
+    }
+
+    @Test
+    void decodeResponse_TextByte_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> GameFrameCodec.decodeResponse((byte) 'D'));
+    }
+
+    @Test
+    void encodePing_Sequence_ShouldWriteLineAnsweredByPong() {
+        // Arrange
+        byte[] line = new byte[GameFrameCodec.MAX_PING_LENGTH];
+        byte[] pong = "PONG,65535".getBytes(StandardCharsets.US_ASCII);
+
+        // Act
+        int length = GameFrameCodec.encodePing(65535, line, 0);
+
+        // Assert
+        assertEquals("PING,65535\n", new String(line, 0, length, StandardCharsets.US_ASCII));
+        assertTrue(GameFrameCodec.isPing(line, length - 1));
+        assertEquals(65535, GameFrameCodec.decodePong(pong, pong.length));
+    }
+
+    @Test
+    void decodePong_InvalidFrames_ShouldReturnMinusOne() {
+        for (String frame : new String[]{"PONG,", "PONG,x1", "PONG,65536", "PING,1", "DRAW,ROCK,ROCK", ""}) {
+            // Arrange
+            byte[] bytes = frame.getBytes(StandardCharsets.US_ASCII);
+
+            // Act & Assert
+            assertEquals(-1, GameFrameCodec.decodePong(bytes, bytes.length), frame);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package application.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class RulesEngineTest {
+
+    @Test
+    void outcome_ClassicRules_ShouldMatchSketchRules() {
+        // Arrange
+        RulesEngine rules = RulesEngine.CLASSIC;
+
+        // Act & Assert
+        assertEquals(GameRules.DRAW, rules.outcome(Player.Move.ROCK, Player.Move.ROCK));
+        assertEquals(GameRules.PLAYER_1_WINS, rules.outcome(Player.Move.ROCK, Player.Move.SCISSORS));
+        assertEquals(GameRules.PLAYER_2_WINS, rules.outcome(Player.Move.ROCK, Player.Move.PAPER));
+        assertEquals(GameRules.PLAYER_1_WINS, rules.outcome(Player.Move.PAPER, Player.Move.ROCK));
+        assertEquals(GameRules.PLAYER_2_WINS, rules.outcome(Player.Move.PAPER, Player.Move.SCISSORS));
+        assertEquals(GameRules.PLAYER_1_WINS, rules.outcome(Player.Move.SCISSORS, Player.Move.PAPER));
+        assertEquals(GameRules.PLAYER_2_WINS, rules.outcome(Player.Move.SCISSORS, Player.Move.ROCK));
+        for (Player.Move move : Player.Move.values()) {
+            assertEquals(move.name(), rules.moveName(move.ordinal()));
+        }
+    }
+
+    @Test
+    void outcome_RockPaperScissorsLizardSpock_ShouldFollowPublishedRules() {
+        // Arrange
+        RulesEngine rules = RulesEngine.ROCK_PAPER_SCISSORS_LIZARD_SPOCK;
+        int rock = rules.indexOf("ROCK");
+        int paper = rules.indexOf("PAPER");
+        int scissors = rules.indexOf("SCISSORS");
+        int lizard = rules.indexOf("LIZARD");
+        int spock = rules.indexOf("SPOCK");
+
+        // Act & Assert
+        assertEquals(List.of("ROCK", "PAPER", "SCISSORS", "LIZARD", "SPOCK"), rules.moveNames());
+        assertTrue(rules.beats(scissors, paper));
+        assertTrue(rules.beats(paper, rock));
+        assertTrue(rules.beats(rock, lizard));
+        assertTrue(rules.beats(lizard, spock));
+        assertTrue(rules.beats(spock, scissors));
+        assertTrue(rules.beats(scissors, lizard));
+        assertTrue(rules.beats(lizard, paper));
+        assertTrue(rules.beats(paper, spock));
+        assertTrue(rules.beats(spock, rock));
+        assertTrue(rules.beats(rock, scissors));
+        assertBalanced(rules);
+    }
+
+    @Test
+    void cyclic_SevenMoves_ShouldGiveEveryMoveThreeWinsAndThreeLosses() {
+        // Act
+        RulesEngine rules = RulesEngine.cyclic("A", "B", "C", "D", "E", "F", "G");
+
+        // Assert
+        assertEquals(7, rules.moveCount());
+        assertTrue(rules.beats(rules.indexOf("B"), rules.indexOf("A")));
+        assertFalse(rules.beats(rules.indexOf("A"), rules.indexOf("B")));
+        assertBalanced(rules);
+    }
+
+    @Test
+    void cyclic_EvenNumberOfMoves_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RulesEngine.cyclic("A", "B", "C", "D"));
+    }
+
+    @Test
+    void cyclic_RepeatedMoveName_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RulesEngine.cyclic("A", "B", "A"));
+    }
+
+    @Test
+    void indexOf_UnknownMove_ShouldReturnMinusOne() {
+        // Act & Assert
+        assertEquals(-1, RulesEngine.CLASSIC.indexOf("LIZARD"));
+    }
+
+    private static void assertBalanced(RulesEngine rules) {
+        int moveCount = rules.moveCount();
+        for (int move1 = 0; move1 < moveCount; move1++) {
+            int wins = 0;
+            for (int move2 = 0; move2 < moveCount; move2++) {
+                int outcome = rules.outcome(move1, move2);
+                int reverse = rules.outcome(move2, move1);
+                if (move1 == move2) {
+                    assertEquals(GameRules.DRAW, outcome);
+                } else {
+                    assertEquals(GameRules.PLAYER_1_WINS + GameRules.PLAYER_2_WINS, outcome + reverse);
+                }
+                wins += outcome == GameRules.PLAYER_1_WINS ? 1 : 0;
+            }
+            assertEquals(moveCount / 2, wins);
+        }
+    }
+}
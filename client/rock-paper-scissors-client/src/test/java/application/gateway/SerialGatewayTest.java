@@ -0,0 +1,134 @@
+package application.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import application.communication.ServerEmulator;
+import application.communication.SocketCommunication;
+import application.controller.GameController;
+import application.controller.RetryPolicy;
+import application.dto.GameRequestDto;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SerialGatewayTest {
+    private SerialGateway serialGateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serialGateway = new SerialGateway(new ServerEmulator(5, 0),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 16);
+        serialGateway.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        serialGateway.close();
+    }
+
+    @Test
+    void playRounds_ManyClients_ShouldRouteEachResponseToItsClient() throws Exception {
+        // Arrange
+        int clients = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int c = 0; c < clients; c++) {
+            Player.Move clientMove = Player.Move.values()[c % 3];
+            WireFormat wireFormat = c % 2 == 0 ? WireFormat.CSV : WireFormat.BINARY;
+            results.add(executor.submit(() -> playAsClient(clientMove, wireFormat)));
+        }
+
+        // Assert
+        for (Future<Integer> result : results) {
+            assertEquals(200, result.get());
+        }
+        executor.shutdown();
+        assertEquals(0, serialGateway.getInFlightCount());
+    }
+
+    @Test
+    void receiveResult_ServerDropsRequest_ShouldFailItAndKeepRoutingInStep() throws Exception {
+        // Arrange
+        serialGateway.close();
+        ServerEmulator serverEmulator = spy(new ServerEmulator(5, 0));
+        doNothing().doCallRealMethod().when(serverEmulator).sendBytes(any(byte[].class), anyInt(), anyInt());
+        serialGateway = new SerialGateway(serverEmulator, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                2, 16, Duration.ofMillis(100));
+        serialGateway.start();
+        GameController gameController = new GameController(
+                new SocketCommunication("localhost", serialGateway.getLocalPort()), WireFormat.CSV);
+        gameController.setRetryPolicy(new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofMillis(50)));
+
+        // Act
+        GameResponseDto response;
+        try {
+            gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.SCISSORS);
+            response = gameController.receiveResult();
+        } finally {
+            gameController.close();
+        }
+
+        // Assert
+        assertSame(GameResponseDto.of(GameResult.PLAYER_1, Player.Move.ROCK, Player.Move.SCISSORS), response);
+        assertEquals(0, serialGateway.getInFlightCount());
+    }
+
+    @Test
+    void receiveMessageUntil_EmptyAndBaudRateLines_ShouldBeRejectedByGateway() throws IOException {
+        // Arrange
+        SocketCommunication client = new SocketCommunication("localhost", serialGateway.getLocalPort());
+
+        // Act
+        List<String> responses = new ArrayList<>();
+        try {
+            client.sendMessage("BAUD,115200\n\nMAN_VS_MAN,ROCK,PAPER\n");
+            for (int i = 0; i < 3; i++) {
+                responses.add(client.receiveMessageUntil("|"));
+            }
+        } finally {
+            client.close();
+        }
+
+        // Assert
+        assertEquals(List.of("", "", "Player 2,ROCK,PAPER"), responses);
+    }
+
+    private int playAsClient(Player.Move clientMove, WireFormat wireFormat) throws IOException {
+        GameController gameController = new GameController(
+                new SocketCommunication("localhost", serialGateway.getLocalPort()), wireFormat);
+        List<GameRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(new GameRequestDto(GameMode.MAN_VS_MAN, clientMove, Player.Move.ROCK));
+        }
+
+        int matching = 0;
+        for (GameResponseDto response : gameController.playRounds(requests)) {
+            if (response.player1Move() == clientMove && response.player2Move() == Player.Move.ROCK) {
+                matching++;
+            }
+        }
+        gameController.close();
+        return matching;
+    }
+}
@@ -0,0 +1,182 @@
+package application.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RoundLogTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void lastRounds_SeveralPlayers_ShouldReturnMostRecentRoundsOfPlayer() throws IOException {
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Arrange
+            for (int i = 0; i < 10; i++) {
+                roundLog.append(1_000L + i, GameMode.MAN_VS_MAN, "Alice", i % 2 == 0 ? "Bob" : "Carol",
+                        Player.Move.ROCK, Player.Move.values()[i % 3], GameResult.DRAW);
+            }
+
+            // Act
+            List<RoundRecord> rounds = roundLog.lastRounds("Bob", 3);
+
+            // Assert
+            assertEquals(3, rounds.size());
+            assertEquals(Instant.ofEpochMilli(1_008), rounds.get(0).timestamp());
+            assertEquals(Instant.ofEpochMilli(1_006), rounds.get(1).timestamp());
+            assertEquals(Instant.ofEpochMilli(1_004), rounds.get(2).timestamp());
+            assertEquals("Alice", rounds.get(0).player1());
+            assertEquals(Player.Move.PAPER, rounds.get(2).player2Move());
+            assertEquals(10, roundLog.roundCount("Alice"));
+            assertEquals(List.of(), roundLog.lastRounds("Dave", 3));
+        }
+    }
+
+    @Test
+    void open_ExistingLog_ShouldRestoreRoundsAndIndex() throws IOException {
+        // Arrange
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            roundLog.append(42L, GameMode.MAN_VS_AI, "Zoë", "AI", Player.Move.SCISSORS, Player.Move.PAPER, GameResult.PLAYER_1);
+            roundLog.append(43L, GameMode.AI_VS_AI, "AI 1", "AI 2", Player.Move.ROCK, Player.Move.PAPER, GameResult.PLAYER_2);
+        }
+
+        // Act
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Assert
+            assertEquals(2, roundLog.size());
+            assertEquals(new RoundRecord(Instant.ofEpochMilli(42), GameMode.MAN_VS_AI, "Zoë", "AI",
+                    Player.Move.SCISSORS, Player.Move.PAPER, GameResult.PLAYER_1), roundLog.lastRounds("Zoë", 5).get(0));
+            assertEquals(GameResult.PLAYER_2, roundLog.get(1).gameResult());
+            assertEquals(1, roundLog.roundCount("AI 2"));
+        }
+    }
+
+    @Test
+    void open_UnflushedRounds_ShouldOnlySeeFlushedRounds() throws IOException {
+        try (RoundLog writer = RoundLog.open(directory)) {
+            // Arrange
+            writer.append(1L, GameMode.MAN_VS_MAN, "A", "B", Player.Move.ROCK, Player.Move.ROCK, GameResult.DRAW);
+            writer.flush();
+            writer.append(2L, GameMode.MAN_VS_MAN, "A", "C", Player.Move.ROCK, Player.Move.ROCK, GameResult.DRAW);
+
+            // Act
+            try (RoundLog reader = RoundLog.open(directory)) {
+                // Assert
+                assertEquals(1, reader.size());
+                assertEquals(1, reader.roundCount("B"));
+            }
+        }
+    }
+
+    @Test
+    void append_Batch_ShouldAppendAllRoundsInOrderAndEmptyBatch() throws IOException {
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Arrange
+            RoundLog.Batch batch = new RoundLog.Batch(3);
+            batch.add(1L, GameMode.AI_VS_AI, "X", "Y", Player.Move.ROCK, Player.Move.SCISSORS, GameResult.PLAYER_1);
+            batch.add(2L, GameMode.AI_VS_AI, "X", "Y", Player.Move.PAPER, Player.Move.SCISSORS, GameResult.PLAYER_2);
+            boolean full = batch.add(3L, GameMode.AI_VS_AI, "Y", "X", Player.Move.PAPER, Player.Move.PAPER, GameResult.DRAW);
+
+            // Act
+            roundLog.append(batch);
+
+            // Assert
+            assertTrue(full);
+            assertEquals(0, batch.size());
+            assertEquals(3, roundLog.size());
+            assertEquals("Y", roundLog.get(2).player1());
+            assertEquals(GameResult.PLAYER_2, roundLog.get(1).gameResult());
+            assertEquals(3, roundLog.roundCount("X"));
+        }
+    }
+
+    @Test
+    void lastRounds_MoreRoundsThanIndexed_ShouldReturnMostRecentIndexedRounds() throws IOException {
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Arrange
+            int rounds = RoundLog.MAX_INDEXED_ROUNDS + 10;
+            for (int i = 0; i < rounds; i++) {
+                roundLog.append(i, GameMode.MAN_VS_AI, "Alice", "AI", Player.Move.ROCK, Player.Move.PAPER, GameResult.PLAYER_2);
+            }
+
+            // Act
+            List<RoundRecord> lastRounds = roundLog.lastRounds("Alice", rounds);
+
+            // Assert
+            assertEquals(rounds, roundLog.roundCount("Alice"));
+            assertEquals(RoundLog.MAX_INDEXED_ROUNDS, lastRounds.size());
+            assertEquals(Instant.ofEpochMilli(rounds - 1), lastRounds.get(0).timestamp());
+            assertEquals(Instant.ofEpochMilli(10), lastRounds.get(RoundLog.MAX_INDEXED_ROUNDS - 1).timestamp());
+        }
+    }
+
+    @Test
+    void forEachResult_SeveralRounds_ShouldVisitPlayersAndResultsInOrder() throws IOException {
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Arrange
+            roundLog.append(1L, GameMode.MAN_VS_MAN, "Alice", "Bob", Player.Move.ROCK, Player.Move.SCISSORS, GameResult.PLAYER_1);
+            roundLog.append(2L, GameMode.MAN_VS_AI, "Bob", "AI", Player.Move.ROCK, Player.Move.ROCK, GameResult.DRAW);
+            List<String> visited = new ArrayList<>();
+
+            // Act
+            roundLog.forEachResult((player1, player2, result) -> visited.add(player1 + "-" + player2 + ":" + result));
+
+            // Assert
+            assertEquals(List.of("Alice-Bob:PLAYER_1", "Bob-AI:DRAW"), visited);
+        }
+    }
+
+    @Test
+    void append_MoreThanOneSegment_ShouldKeepEveryRound() throws IOException {
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Arrange
+            int rounds = RoundLog.SEGMENT_RECORDS + 10;
+            RoundLog.Batch batch = new RoundLog.Batch(4096);
+
+            // Act
+            for (int i = 0; i < rounds; i++) {
+                if (batch.add(i, GameMode.AI_VS_AI, "P", "Q", Player.Move.ROCK, Player.Move.PAPER, GameResult.PLAYER_2)) {
+                    roundLog.append(batch);
+                }
+            }
+            roundLog.append(batch);
+
+            // Assert
+            assertEquals(rounds, roundLog.size());
+            assertEquals(Instant.ofEpochMilli(rounds - 1), roundLog.lastRounds("Q", 1).get(0).timestamp());
+            assertEquals(Instant.ofEpochMilli(RoundLog.SEGMENT_RECORDS), roundLog.get(RoundLog.SEGMENT_RECORDS).timestamp());
+        }
+    }
+
+    @Test
+    void open_NotARoundLog_ShouldThrowIOException() throws IOException {
+        // Arrange
+        Files.write(directory.resolve("rounds.dat"), new byte[128]);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> RoundLog.open(directory));
+    }
+
+    @Test
+    void append_ClosedLog_ShouldThrowIOException() throws IOException {
+        // Arrange
+        RoundLog roundLog = RoundLog.open(directory);
+        roundLog.close();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> roundLog.append(1L, GameMode.MAN_VS_MAN, "A", "B",
+                Player.Move.ROCK, Player.Move.ROCK, GameResult.DRAW));
+    }
+}
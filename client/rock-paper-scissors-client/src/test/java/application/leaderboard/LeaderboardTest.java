@@ -0,0 +1,113 @@
+package application.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import application.game.GameResult;
+import org.junit.jupiter.api.Test;
+
+public class LeaderboardTest {
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    @Test
+    void intern_SameName_ShouldReturnSameId() {
+        // Act
+        int alice = leaderboard.intern("Alice");
+        int bob = leaderboard.intern("Bob");
+
+        // Assert
+        assertEquals(alice, leaderboard.intern("Alice"));
+        assertNotEquals(alice, bob);
+        assertEquals(2, leaderboard.size());
+        assertEquals(new Standing("Bob", Leaderboard.INITIAL_RATING, 0, 0, 0), leaderboard.standing("Bob"));
+        assertNull(leaderboard.standing("Carol"));
+    }
+
+    @Test
+    void record_WinBetweenEqualPlayers_ShouldMoveRatingsByHalfTheKFactor() {
+        // Act
+        leaderboard.record("Alice", "Bob", GameResult.PLAYER_1);
+
+        // Assert
+        Standing alice = leaderboard.standing("Alice");
+        Standing bob = leaderboard.standing("Bob");
+        assertEquals(Leaderboard.INITIAL_RATING + Leaderboard.K_FACTOR / 2, alice.rating(), 1e-9);
+        assertEquals(Leaderboard.INITIAL_RATING - Leaderboard.K_FACTOR / 2, bob.rating(), 1e-9);
+        assertEquals(1, alice.wins());
+        assertEquals(1, bob.losses());
+    }
+
+    @Test
+    void record_DrawAgainstStrongerPlayer_ShouldRaiseWeakerRating() {
+        // Arrange
+        leaderboard.record("Alice", "Bob", GameResult.PLAYER_1);
+
+        // Act
+        leaderboard.record("Alice", "Bob", GameResult.DRAW);
+
+        // Assert
+        Standing alice = leaderboard.standing("Alice");
+        Standing bob = leaderboard.standing("Bob");
+        assertTrue(bob.rating() > Leaderboard.INITIAL_RATING - Leaderboard.K_FACTOR / 2);
+        assertEquals(2 * Leaderboard.INITIAL_RATING, alice.rating() + bob.rating(), 1e-9);
+        assertEquals(1, alice.draws());
+        assertEquals(2, bob.rounds());
+    }
+
+    @Test
+    void record_SamePlayerOnBothSides_ShouldNotRateRound() {
+        // Act
+        leaderboard.record("AI", "AI", GameResult.PLAYER_1);
+
+        // Assert
+        assertEquals(new Standing("AI", Leaderboard.INITIAL_RATING, 0, 0, 0), leaderboard.standing("AI"));
+    }
+
+    @Test
+    void record_UnknownId_ShouldThrowException() {
+        // Arrange
+        int alice = leaderboard.intern("Alice");
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> leaderboard.record(alice, 1, GameResult.DRAW));
+    }
+
+    @Test
+    void top_AfterRandomRounds_ShouldMatchSortedStandings() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        GameResult[] results = GameResult.values();
+        int[] ids = new int[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = leaderboard.intern("player-" + i);
+        }
+        for (int round = 0; round < 100_000; round++) {
+            // the lower ids win more often, so the ranking is not random
+            int player1 = random.nextInt(ids.length);
+            int player2 = random.nextInt(ids.length);
+            GameResult result = random.nextInt(4) == 0 ? results[random.nextInt(results.length)]
+                    : player1 < player2 ? GameResult.PLAYER_1 : GameResult.PLAYER_2;
+            leaderboard.record(ids[player1], ids[player2], result);
+        }
+        List<Standing> expected = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            expected.add(leaderboard.standing("player-" + i));
+        }
+        expected.sort(Comparator.comparingDouble(Standing::rating).reversed());
+
+        // Act
+        List<Standing> top = leaderboard.top(50);
+
+        // Assert
+        assertEquals(expected.subList(0, 50), top);
+        assertEquals(expected, leaderboard.top(5000));
+        assertTrue(leaderboard.top(0).isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+package application.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import application.communication.ServerEmulator;
+import application.controller.GameController;
+import application.dto.GameResponseDto;
+import application.dto.WireFormat;
+import application.game.GameMode;
+import application.game.GameResult;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+
+public class LoadGeneratorTest {
+    private static final Map<GameMode, Integer> ALL_MODES = Map.of(
+            GameMode.MAN_VS_MAN, 1, GameMode.MAN_VS_AI, 1, GameMode.AI_VS_AI, 1);
+
+    @Test
+    void runAtRate_Emulator_ShouldReachTargetRateWithoutErrors() throws InterruptedException {
+        // Arrange
+        GameController controller = new GameController(new ServerEmulator(1, 0), WireFormat.BINARY);
+        LoadGenerator generator = new LoadGenerator(controller, ALL_MODES, 7);
+
+        // Act
+        LoadResult result;
+        try {
+            result = generator.runAtRate(200, Duration.ofMillis(500));
+        } finally {
+            controller.close();
+        }
+
+        // Assert
+        assertEquals(0, result.errors());
+        assertEquals(100, result.rounds());
+        assertEquals(100, result.responseTime().count());
+        assertTrue(result.roundsPerSecond() > 100, "achieved " + result.roundsPerSecond() + " rounds/s");
+    }
+
+    @Test
+    void runWithConcurrency_Emulator_ShouldPlayRoundsWithoutErrors() throws InterruptedException {
+        // Arrange
+        GameController controller = new GameController(new ServerEmulator(1, 0));
+        LoadGenerator generator = new LoadGenerator(controller, Map.of(GameMode.MAN_VS_AI, 1), 7);
+
+        // Act
+        LoadResult result;
+        try {
+            result = generator.runWithConcurrency(4, Duration.ofMillis(200));
+        } finally {
+            controller.close();
+        }
+
+        // Assert
+        assertEquals(0, result.errors());
+        assertTrue(result.rounds() > 0);
+        assertEquals(result.rounds(), result.serviceTime().count());
+        assertTrue(result.responseTime().count() >= result.rounds());
+    }
+
+    @Test
+    void runWithConcurrency_ResponseAgainstRules_ShouldCountInvalidRounds() throws InterruptedException {
+        // Arrange
+        GameController controller = mock(GameController.class);
+        when(controller.playRoundAsync(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(
+                GameResponseDto.of(GameResult.DRAW, Player.Move.ROCK, Player.Move.PAPER)));
+        LoadGenerator generator = new LoadGenerator(controller, Map.of(GameMode.AI_VS_AI, 1), 7);
+
+        // Act
+        LoadResult result = generator.runWithConcurrency(1, Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(0, result.rounds());
+        assertTrue(result.invalid() > 0);
+        assertEquals(result.invalid(), result.errors());
+    }
+
+    @Test
+    void runWithConcurrency_RoundsTimingOut_ShouldCountTimeouts() throws InterruptedException {
+        // Arrange
+        GameController controller = mock(GameController.class);
+        when(controller.playRoundAsync(any(), any(), any())).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+        LoadGenerator generator = new LoadGenerator(controller, ALL_MODES, 7);
+
+        // Act
+        LoadResult result = generator.runWithConcurrency(2, Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(0, result.rounds());
+        assertTrue(result.timeouts() > 0);
+        assertEquals(result.timeouts(), result.errors());
+    }
+
+    @Test
+    void constructor_NoPositiveWeight_ShouldThrowException() {
+        // Arrange
+        GameController controller = mock(GameController.class);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(controller, Map.of(GameMode.MAN_VS_MAN, 0), 7));
+    }
+
+    @Test
+    void parseMix_WeightedModes_ShouldReturnWeights() {
+        // Act
+        Map<GameMode, Integer> mix = LoadGenerator.parseMix("MAN_VS_MAN=3, AI_VS_AI");
+
+        // Assert
+        assertEquals(Map.of(GameMode.MAN_VS_MAN, 3, GameMode.AI_VS_AI, 1), mix);
+    }
+}
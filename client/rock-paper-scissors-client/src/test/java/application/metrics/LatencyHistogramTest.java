@@ -0,0 +1,79 @@
+package application.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void bucketIndex_AnyValue_ShouldLieWithinBucketBounds() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            // Act
+            int index = LatencyHistogram.bucketIndex(value);
+
+            // Assert
+            assertTrue(value <= LatencyHistogram.upperBound(index));
+            assertTrue(index == 0 || value > LatencyHistogram.upperBound(index - 1));
+        }
+    }
+
+    @Test
+    void valueAtPercentile_UniformLatencies_ShouldBeWithinBucketPrecision() {
+        // Arrange
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            latencyHistogram.record(micros * 1_000);
+        }
+
+        // Act
+        long p50 = latencyHistogram.valueAtPercentile(0.5);
+        long p999 = latencyHistogram.valueAtPercentile(0.999);
+
+        // Assert
+        assertEquals(1_000, latencyHistogram.count());
+        assertEquals(500_000, p50, 500_000 * 0.0625);
+        assertEquals(999_000, p999, 999_000 * 0.0625);
+    }
+
+    @Test
+    void record_ConcurrentThreads_ShouldCountEveryRecording() throws InterruptedException {
+        // Arrange
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    latencyHistogram.record(j);
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(40_000, latencyHistogram.count());
+        assertEquals(4L * 10_000 * 9_999 / 2, latencyHistogram.sumNanos());
+    }
+
+    @Test
+    void recordWithExpectedInterval_LatencyOfSeveralIntervals_ShouldBackFillOmittedRequests() {
+        // Arrange
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // Act
+        latencyHistogram.recordWithExpectedInterval(1_000, 100);
+        latencyHistogram.recordWithExpectedInterval(50, 100);
+
+        // Assert
+        assertEquals(11, latencyHistogram.count());
+        assertEquals(1_000 + 900 + 800 + 700 + 600 + 500 + 400 + 300 + 200 + 100 + 50, latencyHistogram.sumNanos());
+    }
+}
@@ -0,0 +1,60 @@
+package application.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import application.controller.GameController;
+import application.communication.ServerEmulator;
+import application.game.GameMode;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+
+public class PrometheusEndpointTest {
+
+    @Test
+    void render_PlayedRounds_ShouldExportCountersAndLatencies() throws IOException {
+        // Arrange
+        ClientMetrics metrics = ClientMetrics.global();
+        long roundsBefore = metrics.latency(GameMode.MAN_VS_MAN).count();
+        GameController gameController = new GameController(new ServerEmulator(1, 0));
+        for (int i = 0; i < 10; i++) {
+            gameController.sendModeAndMoves(GameMode.MAN_VS_MAN.name(), Player.Move.ROCK, Player.Move.PAPER);
+            gameController.receiveResult();
+        }
+        gameController.close();
+
+        // Act
+        String text = PrometheusEndpoint.render(metrics);
+
+        // Assert
+        assertEquals(roundsBefore + 10, metrics.latency(GameMode.MAN_VS_MAN).count());
+        assertTrue(text.contains("# TYPE rps_client_bytes_sent_total counter"));
+        assertTrue(text.contains("rps_client_round_latency_seconds{mode=\"MAN_VS_MAN\",quantile=\"0.99\"} "));
+        assertTrue(text.contains("rps_client_round_latency_seconds_count{mode=\"MAN_VS_MAN\"} " + (roundsBefore + 10)));
+    }
+
+    @Test
+    void start_HttpRequest_ShouldServeMetrics() throws IOException {
+        // Arrange
+        ClientMetrics metrics = new ClientMetrics();
+        metrics.recordParseFailure();
+
+        try (PrometheusEndpoint endpoint = PrometheusEndpoint.start(metrics, 0)) {
+            // Act
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + endpoint.getPort() + "/metrics").openConnection();
+            String body;
+            try (InputStream inputStream = connection.getInputStream()) {
+                body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            // Assert
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(body.contains("rps_client_parse_failures_total 1\n"));
+        }
+    }
+}
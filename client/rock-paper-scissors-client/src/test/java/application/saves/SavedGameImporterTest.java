@@ -0,0 +1,104 @@
+package application.saves;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SavedGameImporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void importDirectory_MixedSaves_ShouldIndexOnlyUnfinishedGames() throws IOException {
+        // Arrange
+        Path nested = Files.createDirectories(directory.resolve("2024"));
+        Path unfinished = save(directory.resolve("a.ini"), "Alice", "Bob", "ROCK", "", null);
+        Path nestedUnfinished = save(nested.resolve("b.INI"), "Carol", "Dave", "", "", null);
+        save(directory.resolve("c.ini"), "Alice", "Bob", "ROCK", "PAPER", "Bob");
+        Files.writeString(directory.resolve("d.ini"), "Player1 = Alice\n");
+        Files.writeString(directory.resolve("notes.txt"), "[Game Status]\n");
+
+        // Act
+        SavedGameImporter.ImportResult result;
+        try (SavedGameImporter importer = new SavedGameImporter(new ForkJoinPool(4))) {
+            result = importer.importDirectory(directory);
+
+            // Assert
+            assertEquals(2, result.imported());
+            assertEquals(1, result.finished());
+            assertEquals(1, result.invalid());
+            assertEquals(2, importer.size());
+            assertEquals(Player.Move.ROCK, importer.get(unfinished).player1Move());
+            assertEquals("Carol", importer.get(nestedUnfinished).player1());
+        }
+    }
+
+    @Test
+    void importDirectory_GameFinishedSinceLastImport_ShouldDropGame() throws IOException {
+        // Arrange
+        Path file = save(directory.resolve("a.ini"), "Alice", "Bob", "", "", null);
+        try (SavedGameImporter importer = new SavedGameImporter()) {
+            importer.importDirectory(directory);
+            save(file, "Alice", "Bob", "ROCK", "ROCK", "Draw");
+
+            // Act
+            importer.importDirectory(directory);
+
+            // Assert
+            assertNull(importer.get(file));
+            assertEquals(0, importer.size());
+        }
+    }
+
+    @Test
+    void watch_NewAndDeletedSaves_ShouldUpdateIndex() throws Exception {
+        try (SavedGameImporter importer = new SavedGameImporter()) {
+            // Arrange
+            importer.watch(directory);
+
+            // Act
+            Path file = save(directory.resolve("new.ini"), "Alice", "Bob", "PAPER", "", null);
+            Path nestedFile = Files.createDirectories(directory.resolve("later")).resolve("nested.ini");
+            save(nestedFile, "Carol", "Dave", "", "", null);
+
+            // Assert
+            awaitTrue(() -> importer.get(file) != null && importer.get(nestedFile) != null);
+            assertEquals(Player.Move.PAPER, importer.get(file).player1Move());
+
+            // Act
+            Files.delete(file);
+
+            // Assert
+            awaitTrue(() -> importer.get(file) == null);
+            assertEquals(1, importer.size());
+        }
+    }
+
+    private static Path save(Path file, String player1, String player2, String move1, String move2, String winner)
+            throws IOException {
+        String content = "[Game Status]\n"
+                + "Player1 = " + player1 + "\n"
+                + "Player2 = " + player2 + "\n"
+                + "Player1Move = " + move1 + "\n"
+                + "Player2Move = " + move2 + "\n"
+                + (winner == null ? "" : "Winner = " + winner + "\n");
+        return Files.writeString(file, content);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(20);
+        }
+    }
+}
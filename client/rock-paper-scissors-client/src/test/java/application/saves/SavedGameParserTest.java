@@ -0,0 +1,104 @@
+package application.saves;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import application.game.Player;
+import org.junit.jupiter.api.Test;
+
+public class SavedGameParserTest {
+    private static final Path FILE = Path.of("game.ini");
+
+    @Test
+    void parse_UnfinishedGame_ShouldReturnPlayersAndMoves() {
+        // Arrange
+        byte[] content = ("[Game Status]\n"
+                + "Player1 = Alice\n"
+                + "Player2 = Zoë\n"
+                + "Player1Move = PAPER\n"
+                + "Player2Move = \n").getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        SavedGame savedGame = SavedGameParser.parse(FILE, content);
+
+        // Assert
+        assertEquals(new SavedGame(FILE, "Alice", "Zoë", Player.Move.PAPER, null, null), savedGame);
+        assertFalse(savedGame.isFinished());
+    }
+
+    @Test
+    void parse_GameWithWinner_ShouldReportFinished() {
+        // Arrange
+        byte[] content = ("[Game Status]\r\n"
+                + "Player1 = Alice\r\n"
+                + "Player2 = Bob\r\n"
+                + "Player1Move = ROCK\r\n"
+                + "Player2Move = SCISSORS\r\n"
+                + "Winner = Alice\r\n").getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        SavedGame savedGame = SavedGameParser.parse(FILE, content);
+
+        // Assert
+        assertTrue(savedGame.isFinished());
+        assertEquals("Alice", savedGame.winner());
+        assertEquals(Player.Move.SCISSORS, savedGame.player2Move());
+    }
+
+    @Test
+    void parse_CommentsAndOtherSections_ShouldOnlyReadGameStatus() {
+        // Arrange
+        byte[] content = ("; saved by hand\n"
+                + "[Settings]\n"
+                + "Player1 = Mallory\n"
+                + "[ Game Status ]\n"
+                + "# the players\n"
+                + "\tPlayer1:Alice  \n"
+                + "Player2=Bob\n"
+                + "Round = 3\n"
+                + "[Other]\n"
+                + "Winner = Bob\n").getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        SavedGame savedGame = SavedGameParser.parse(FILE, content);
+
+        // Assert
+        assertEquals(new SavedGame(FILE, "Alice", "Bob", null, null, null), savedGame);
+    }
+
+    @Test
+    void parse_MissingSection_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        byte[] content = "Player1 = Alice\n".getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SavedGameParser.parse(FILE, content));
+    }
+
+    @Test
+    void parse_InvalidMove_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        byte[] content = "[Game Status]\nPlayer1Move = LIZARD\n".getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SavedGameParser.parse(FILE, content));
+    }
+
+    @Test
+    void parse_EmptySection_ShouldReturnGameWithoutPlayers() {
+        // Arrange
+        byte[] content = "﻿[Game Status]".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        SavedGame savedGame = SavedGameParser.parse(FILE, content);
+
+        // Assert
+        assertNull(savedGame.player1());
+        assertFalse(savedGame.isFinished());
+    }
+}
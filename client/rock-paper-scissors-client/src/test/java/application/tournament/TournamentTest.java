@@ -0,0 +1,70 @@
+package application.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+import application.game.GameResult;
+import application.history.RoundLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TournamentTest {
+
+    @Test
+    void play_SameSeedDifferentParallelism_ShouldCountSameOutcomes() {
+        // Arrange
+        ForkJoinPool singleWorker = new ForkJoinPool(1);
+        ForkJoinPool fourWorkers = new ForkJoinPool(4);
+
+        // Act
+        TournamentResult sequential = new Tournament(singleWorker, 1_000).play(Strategy.RANDOM, Strategy.BEAT_LAST, 100_000, 7);
+        TournamentResult parallel = new Tournament(fourWorkers, 1_000).play(Strategy.RANDOM, Strategy.BEAT_LAST, 100_000, 7);
+
+        // Assert
+        assertEquals(sequential.draws(), parallel.draws());
+        assertEquals(sequential.player1Wins(), parallel.player1Wins());
+        assertEquals(sequential.player2Wins(), parallel.player2Wins());
+        assertEquals(100_000, parallel.draws() + parallel.player1Wins() + parallel.player2Wins());
+        singleWorker.shutdown();
+        fourWorkers.shutdown();
+    }
+
+    @Test
+    void play_RandomVsRandom_ShouldWinAndDrawAboutOneThirdEach() {
+        // Act
+        TournamentResult result = new Tournament().play(Strategy.RANDOM, Strategy.RANDOM, 300_000, 1);
+
+        // Assert
+        assertEquals(1.0 / 3, result.player1WinRate(), 0.01);
+        assertEquals(1.0 / 3, result.player2WinRate(), 0.01);
+        assertEquals(1.0 / 3, result.drawRate(), 0.01);
+        assertTrue(result.roundsPerSecond() > 0);
+    }
+
+    @Test
+    void play_BeatLastVsRock_ShouldWinEveryRoundAfterTheFirst() {
+        // Act
+        TournamentResult result = new Tournament(ForkJoinPool.commonPool(), 1_000_000).play(Strategy.BEAT_LAST, Strategy.ROCK, 1_000, 3);
+
+        // Assert
+        assertTrue(result.player1Wins() >= 999);
+    }
+
+    @Test
+    void play_WithRoundLog_ShouldRecordEveryRound(@TempDir Path directory) throws IOException {
+        try (RoundLog roundLog = RoundLog.open(directory)) {
+            // Act
+            TournamentResult result = new Tournament(ForkJoinPool.commonPool(), 1_000).play(Strategy.CYCLE, Strategy.RANDOM, 10_000, 3, roundLog);
+
+            // Assert
+            assertEquals(10_000, roundLog.size());
+            assertEquals(10_000, roundLog.roundCount("CYCLE"));
+            assertEquals(result.player1Wins(), LongStream.range(0, roundLog.size()).mapToObj(roundLog::get)
+                    .filter(round -> round.gameResult() == GameResult.PLAYER_1).count());
+        }
+    }
+}
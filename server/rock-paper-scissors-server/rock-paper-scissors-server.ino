@@ -1,5 +1,39 @@
 #include <Arduino.h>
 
+const uint8_t BINARY_FLAG = 0x80; /**< Marks a request or response byte as a binary frame */
+const char PROTOCOL_HANDSHAKE[] = "PROTO,BIN"; /**< Handshake line sent by clients that support binary frames */
+const char PROTOCOL_ACCEPTED[] = "BIN"; /**< Handshake reply confirming binary frame support */
+const char TAG_HANDSHAKE[] = "PROTO,TAG"; /**< Handshake line sent by clients that tag their binary frames */
+const char TAG_ACCEPTED[] = "TAG"; /**< Handshake reply confirming tagged binary frame support */
+const char PING_PREFIX[] = "PING,"; /**< Start of a heartbeat line, followed by the sequence number */
+const char PONG_PREFIX[] = "PONG,"; /**< Start of a heartbeat reply, followed by the echoed sequence number */
+const char BAUD_PREFIX[] = "BAUD,"; /**< Start of a baud rate request, followed by the requested rate */
+const char BAUD_REFUSED[] = "NO"; /**< Reply to a baud rate request for an unsupported rate */
+const uint32_t DEFAULT_BAUD_RATE = 9600; /**< Baud rate after a reset and after every fallback */
+const uint32_t SUPPORTED_BAUD_RATES[] = {9600, 115200, 250000, 500000, 1000000}; /**< Rates a client may request */
+const uint32_t BAUD_VERIFY_MILLIS = 1000; /**< Time a new rate has to be confirmed by a heartbeat */
+const uint8_t MAX_INVALID_LINES = 2; /**< Invalid lines in a row after which a faster rate is abandoned */
+const int16_t NO_TAG = -1; /**< Marks a binary request that carries no correlation tag */
+const uint8_t LINE_CAPACITY = 32; /**< Longest request line accepted, excluding the terminator */
+
+char lineBuffer[LINE_CAPACITY + 1]; /**< Request line being received */
+uint8_t lineLength = 0; /**< Number of bytes received for the current line */
+bool lineOverflow = false; /**< Whether the current line exceeded LINE_CAPACITY */
+uint32_t baudRate = DEFAULT_BAUD_RATE; /**< Baud rate currently in use */
+bool baudPending = false; /**< Whether the current rate still awaits its verifying heartbeat */
+uint32_t baudSwitchedAt = 0; /**< Value of millis() when the current rate was set */
+uint8_t invalidLines = 0; /**< Invalid lines received in a row */
+
+/**
+ * @enum GameResult
+ * @brief Result codes used in binary response frames.
+ */
+enum GameResult {
+  RESULT_DRAW,
+  RESULT_PLAYER_1,
+  RESULT_PLAYER_2
+};
+
 /**
  * @enum GameMode
  * @brief Defines the possible game modes.
@@ -7,7 +41,8 @@
 enum GameMode {
   MAN_VS_MAN,
   MAN_VS_AI,
-  AI_VS_AI
+  AI_VS_AI,
+  INVALID_MODE /**< Returned for a mode name that is not known */
 };
 
 /**
@@ -17,7 +52,19 @@ enum GameMode {
 enum Move {
   ROCK,
   PAPER,
-  SCISSORS
+  SCISSORS,
+  INVALID_MOVE /**< Returned for a move name that is not known */
+};
+
+/**
+ * @brief Outcome of every pair of moves, indexed by the move of the first and of the second player.
+ *
+ * Same table as RulesEngine.CLASSIC on the client, so both sides decide rounds alike.
+ */
+const uint8_t OUTCOMES[3][3] = {
+  /* ROCK */     {RESULT_DRAW, RESULT_PLAYER_2, RESULT_PLAYER_1},
+  /* PAPER */    {RESULT_PLAYER_1, RESULT_DRAW, RESULT_PLAYER_2},
+  /* SCISSORS */ {RESULT_PLAYER_2, RESULT_PLAYER_1, RESULT_DRAW}
 };
 
 /**
@@ -79,19 +126,17 @@ class Game {
       Move move1 = player1.getMove();
       Move move2 = player2.getMove();
 
-      if (move1 == move2) {
-      return nullptr; /**< Draw condition */
-    }
+      if (move1 > SCISSORS || move2 > SCISSORS) {
+        return nullptr; /**< Invalid move */
+      }
 
-      switch (move1) {
-        case ROCK:
-          return (move2 == SCISSORS) ? &player1 : &player2;
-        case PAPER:
-          return (move2 == ROCK) ? &player1 : &player2;
-        case SCISSORS:
-          return (move2 == PAPER) ? &player1 : &player2;
+      switch (OUTCOMES[move1][move2]) {
+        case RESULT_PLAYER_1:
+          return &player1;
+        case RESULT_PLAYER_2:
+          return &player2;
         default:
-          return nullptr; /**< Invalid move */
+          return nullptr; /**< Draw condition */
       }
     }
 };
@@ -100,97 +145,285 @@ class Game {
  * @brief Initializes the game setup.
  */
 void setup() {
-  Serial.begin(9600);
+  Serial.begin(DEFAULT_BAUD_RATE);
   randomSeed(analogRead(0)); /**< Initialize random number generator */
 }
 
 /**
  * @brief Main loop where the game runs continuously.
+ *
+ * Consumes every byte that is already available without blocking, so requests that a client
+ * pipelined back-to-back are answered one after another as soon as their line is complete.
+ * Every line gets exactly one answer; lines that cannot be understood get an empty frame.
+ * A faster baud rate that is not confirmed by a heartbeat within BAUD_VERIFY_MILLIS is abandoned.
  */
 void loop() {
-  if (Serial.available() > 0) {
-    String input = Serial.readStringUntil('\n');
+  if (baudPending && millis() - baudSwitchedAt > BAUD_VERIFY_MILLIS) {
+    switchBaudRate(DEFAULT_BAUD_RATE);
+  }
 
-    int delimiterIndex1 = input.indexOf(',');
-    int delimiterIndex2 = input.indexOf(',', delimiterIndex1 + 1);
+  while (Serial.available() > 0) {
+    char c = Serial.read();
 
-    String modeString = input.substring(0, delimiterIndex1);
-    String move1String = input.substring(delimiterIndex1 + 1, delimiterIndex2);
-    String move2String = input.substring(delimiterIndex2 + 1);
+    if (c == '\n') {
+      if (!lineOverflow) {
+        lineBuffer[lineLength] = '\0';
+        handleLine(lineLength);
+      } else {
+        rejectLine();
+      }
+      lineLength = 0;
+      lineOverflow = false;
+    } else if (lineLength < LINE_CAPACITY) {
+      lineBuffer[lineLength++] = c;
+    } else {
+      lineOverflow = true; /**< Drop lines that do not fit into the buffer */
+    }
+  }
+}
 
-    GameMode mode = stringToGameMode(modeString);
-    Move player1Move;
-    Move player2Move;
+/**
+ * @brief Dispatches one complete request line to the matching handler.
+ * @param length The number of bytes in the line, excluding the '\n' terminator.
+ */
+void handleLine(uint8_t length) {
+  if (length == 1 && (lineBuffer[0] & BINARY_FLAG)) {
+    handleBinaryRequest((uint8_t) lineBuffer[0], NO_TAG);
+    return;
+  }
 
-    String result;
-    String response;
+  if (length == 2 && (lineBuffer[0] & BINARY_FLAG) && (lineBuffer[1] & BINARY_FLAG)) {
+    handleBinaryRequest((uint8_t) lineBuffer[1], (uint8_t) lineBuffer[0]);
+    return;
+  }
 
-    if (mode == MAN_VS_MAN) {
-      
-      player1Move = stringToMove(move1String);
-      player2Move = stringToMove(move2String);
+  if (strcmp(lineBuffer, PROTOCOL_HANDSHAKE) == 0) {
+    Serial.print(PROTOCOL_ACCEPTED);
+    Serial.print("|");
+    return;
+  }
 
-      Player player1("Player 1", player1Move);
-      Player player2("Player 2", player2Move);
+  if (strcmp(lineBuffer, TAG_HANDSHAKE) == 0) {
+    Serial.print(TAG_ACCEPTED);
+    Serial.print("|");
+    return;
+  }
 
-      Game game(player1, player2);
-      Player* winner = game.play();
+  if (strncmp(lineBuffer, PING_PREFIX, sizeof(PING_PREFIX) - 1) == 0) {
+    baudPending = false; /**< A heartbeat at the new rate confirms it */
+    invalidLines = 0;
+    Serial.print(PONG_PREFIX);
+    Serial.print(lineBuffer + sizeof(PING_PREFIX) - 1); /**< Echo the sequence number */
+    Serial.print("|");
+    return;
+  }
 
-      response = convertResponse(winner, player1Move, player2Move);
+  if (strncmp(lineBuffer, BAUD_PREFIX, sizeof(BAUD_PREFIX) - 1) == 0) {
+    handleBaudRequest(strtoul(lineBuffer + sizeof(BAUD_PREFIX) - 1, nullptr, 10));
+    return;
+  }
 
-    } else if (mode == MAN_VS_AI) {
-      
-      player1Move = stringToMove(move1String);
-      Move aiMove = generateAIMove();
+  handleTextRequest(String(lineBuffer));
+}
 
-      Player player("Player 1", player1Move);
-      Player ai("AI", aiMove);
-      
-      Game game(player, ai);
-      Player* winner = game.play();
-      
-      response = convertResponse(winner, player1Move, aiMove);
+/**
+ * @brief Answers a baud rate request and switches to the requested rate if it is supported.
+ *
+ * The request line is echoed at the current rate before switching. The new rate has to be confirmed
+ * by a heartbeat within BAUD_VERIFY_MILLIS, otherwise the server falls back to DEFAULT_BAUD_RATE.
+ * @param requested The requested baud rate.
+ */
+void handleBaudRequest(uint32_t requested) {
+  bool supported = false;
+  for (uint8_t i = 0; i < sizeof(SUPPORTED_BAUD_RATES) / sizeof(SUPPORTED_BAUD_RATES[0]); i++) {
+    supported = supported || SUPPORTED_BAUD_RATES[i] == requested;
+  }
+  if (!supported) {
+    Serial.print(BAUD_REFUSED);
+    Serial.print("|");
+    return;
+  }
 
-    } else if (mode == AI_VS_AI) {
-      
-      Move ai1Move = generateAIMove();
-      Move ai2Move = generateAIMove();
+  Serial.print(lineBuffer);
+  Serial.print("|");
+  switchBaudRate(requested);
+  baudPending = requested != DEFAULT_BAUD_RATE;
+}
 
-      Player ai1("Player 1", ai1Move);
-      Player ai2("Player 2", ai2Move);
+/**
+ * @brief Switches the serial port to another baud rate after the pending output has been sent.
+ * @param rate The new baud rate.
+ */
+void switchBaudRate(uint32_t rate) {
+  Serial.flush();
+  Serial.end();
+  Serial.begin(rate);
+  baudRate = rate;
+  baudPending = false;
+  baudSwitchedAt = millis();
+  invalidLines = 0;
+  lineLength = 0;
+  lineOverflow = false;
+}
 
-      Game game(ai1, ai2);
-      Player* winner = game.play();
-      
-      response = convertResponse(winner, ai1Move, ai2Move);
-    }
+/**
+ * @brief Answers a line that could not be understood with an empty frame and counts it.
+ *
+ * The empty frame keeps the answers in step with the requests, so a client can tell a garbled
+ * request apart from a lost one and send it again.
+ */
+void rejectLine() {
+  Serial.print("|");
+  countInvalidLine();
+}
 
-    Serial.print(response);
-    Serial.print("|");
-    delay(2000);
+/**
+ * @brief Counts a line that could not be understood, and falls back to DEFAULT_BAUD_RATE
+ * once MAX_INVALID_LINES arrive in a row at a faster rate.
+ */
+void countInvalidLine() {
+  if (baudRate != DEFAULT_BAUD_RATE && ++invalidLines >= MAX_INVALID_LINES) {
+    switchBaudRate(DEFAULT_BAUD_RATE);
+  }
+}
+
+/**
+ * @brief Parses a CSV request line, plays the round and writes the CSV response frame.
+ *
+ * A line with an unknown mode, or without a known move for every human player, is rejected.
+ * @param input The request line, e.g. "MAN_VS_AI,ROCK,SCISSORS".
+ */
+void handleTextRequest(String input) {
+  int delimiterIndex1 = input.indexOf(',');
+  int delimiterIndex2 = input.indexOf(',', delimiterIndex1 + 1);
+
+  String modeString = input.substring(0, delimiterIndex1);
+  String move1String = input.substring(delimiterIndex1 + 1, delimiterIndex2);
+  String move2String = input.substring(delimiterIndex2 + 1);
+
+  GameMode mode = stringToGameMode(modeString);
+  if (mode == INVALID_MODE
+      || (mode != AI_VS_AI && stringToMove(move1String) == INVALID_MOVE)
+      || (mode == MAN_VS_MAN && stringToMove(move2String) == INVALID_MOVE)) {
+    rejectLine();
+    return;
+  }
+  invalidLines = 0;
+
+  Move player1Move;
+  Move player2Move;
+
+  String result;
+  String response;
+
+  if (mode == MAN_VS_MAN) {
+    
+    player1Move = stringToMove(move1String);
+    player2Move = stringToMove(move2String);
+
+    Player player1("Player 1", player1Move);
+    Player player2("Player 2", player2Move);
+
+    Game game(player1, player2);
+    Player* winner = game.play();
+
+    response = convertResponse(winner, player1Move, player2Move);
+
+  } else if (mode == MAN_VS_AI) {
+    
+    player1Move = stringToMove(move1String);
+    Move aiMove = generateAIMove();
+
+    Player player("Player 1", player1Move);
+    Player ai("AI", aiMove);
+    
+    Game game(player, ai);
+    Player* winner = game.play();
+    
+    response = convertResponse(winner, player1Move, aiMove);
+
+  } else if (mode == AI_VS_AI) {
+    
+    Move ai1Move = generateAIMove();
+    Move ai2Move = generateAIMove();
+
+    Player ai1("Player 1", ai1Move);
+    Player ai2("Player 2", ai2Move);
+
+    Game game(ai1, ai2);
+    Player* winner = game.play();
+    
+    response = convertResponse(winner, ai1Move, ai2Move);
+  }
+
+  Serial.print(response);
+  Serial.print("|");
+}
+
+/**
+ * @brief Decodes a binary request byte, plays the round and writes the binary response frame.
+ *
+ * Request bits: 1 . m2 m2 m1 m1 mode mode. Response bits: 1 . m2 m2 m1 m1 result result,
+ * followed by the '|' delimiter. A tagged request is preceded by a tag byte with the binary flag set,
+ * which is echoed in front of the response byte so the client can match responses to requests.
+ * @param request The encoded request byte.
+ * @param tag The tag byte of the request, or NO_TAG for an untagged request.
+ */
+void handleBinaryRequest(uint8_t request, int16_t tag) {
+  uint8_t modeCode = request & 0x03;
+  uint8_t move1Code = (request >> 2) & 0x03;
+  uint8_t move2Code = (request >> 4) & 0x03;
+
+  if (modeCode > AI_VS_AI || move1Code > SCISSORS || move2Code > SCISSORS) {
+    rejectLine(); /**< Invalid request, answered untagged */
+    return;
+  }
+  invalidLines = 0;
+
+  GameMode mode = static_cast<GameMode>(modeCode);
+  Move player1Move = (mode == AI_VS_AI) ? generateAIMove() : static_cast<Move>(move1Code);
+  Move player2Move = (mode == MAN_VS_MAN) ? static_cast<Move>(move2Code) : generateAIMove();
+
+  Player player1("Player 1", player1Move);
+  Player player2("Player 2", player2Move);
+
+  Game game(player1, player2);
+  Player* winner = game.play();
+
+  uint8_t result = RESULT_DRAW;
+  if (winner != nullptr) {
+    result = (winner->getMove() == player1Move) ? RESULT_PLAYER_1 : RESULT_PLAYER_2;
+  }
+
+  if (tag != NO_TAG) {
+    Serial.write((uint8_t) tag);
   }
+  Serial.write(BINARY_FLAG | result | (player1Move << 2) | (player2Move << 4));
+  Serial.write('|');
 }
 
 /**
  * @brief Converts a string to a Move enum.
  * @param moveString The move as a string ("ROCK", "PAPER", "SCISSORS").
- * @return The corresponding Move enum value.
+ * @return The corresponding Move enum value, or INVALID_MOVE for any other string.
  */
 Move stringToMove(String moveString) {
   if (moveString == "ROCK") return ROCK;
   if (moveString == "PAPER") return PAPER;
   if (moveString == "SCISSORS") return SCISSORS;
+  return INVALID_MOVE;
 }
 
 /**
  * @brief Converts a string to a GameMode enum.
  * @param modeString The game mode as a string ("MAN_VS_MAN", "MAN_VS_AI", "AI_VS_AI").
- * @return The corresponding GameMode enum value.
+ * @return The corresponding GameMode enum value, or INVALID_MODE for any other string.
  */
 GameMode stringToGameMode(String modeString) {
   if (modeString == "MAN_VS_MAN") return MAN_VS_MAN;
   if (modeString == "MAN_VS_AI") return MAN_VS_AI;
   if (modeString == "AI_VS_AI") return AI_VS_AI;
+  return INVALID_MODE;
 }
 
 /**